@@ -41,11 +41,34 @@ public class ElephantBackendApplication {
 		.addConfigOption("forgotPasswordEmailHtmlFile", "ForgotPasswordEmail.html")
 		.addConfigOption("friendEmailHtmlFile", "FriendEmailHtmlFile.html")
 		.addConfigOption("inviteEmailHtmlFile", "InviteEmailHtmlFile.html")
+		.addConfigOption("emailDispatchWorkers", 4)
+		.addConfigOption("emailDispatchBatchSize", 100)
+		.addConfigOption("emailMaxAttempts", 8)
+		.addConfigOption("emailRetryBaseSeconds", 30)
+		.addConfigOption("srsRelearnMinutes", 10)
+		.addConfigOption("srsDueCardsMax", 100)
+		.addConfigOption("srsDeckProbeMax", 2000)
+		.addConfigOption("answerBatchMax", 1000)
+		.addConfigOption("userSearchMax", 100)
 		.build();
 
 	public static final PropertiesHandler AI_INTEGRATION = PropertiesHandler
 		.builder()
 		.addConfigOption("chatGptApiKey", "")
+		.addConfigOption("chatGptApiUrl", "https://api.openai.com/v1/chat/completions")
+		.addConfigOption("aiCacheDirectory", "ai-cache")
+		.addConfigOption("aiCacheMaxEntries", 1000)
+		.addConfigOption("aiCacheTtlHours", 24)
+		.addConfigOption("aiGlobalRequestsPerMinute", 120)
+		.addConfigOption("aiUserRequestsPerMinute", 10)
+		.addConfigOption("aiMaxConcurrentCalls", 16)
+		.addConfigOption("aiCircuitFailureThreshold", 5)
+		.addConfigOption("aiCircuitOpenSeconds", 30)
+		.addConfigOption("aiDeckChunkTerms", 25)
+		.addConfigOption("aiDeckParallelism", 4)
+		.addConfigOption("aiDeckMaxTerms", 200)
+		.addConfigOption("aiStreamIdleSeconds", 30)
+		.addConfigOption("aiStreamDeadlineSeconds", 240)
 		.setFileName("ai-integration.properties")
 		.build();
 
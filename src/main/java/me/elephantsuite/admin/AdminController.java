@@ -25,4 +25,22 @@ public class AdminController {
 	public Response resetTos(@RequestBody AdminRequest.AuthRequest request) {
 		return service.resetTos(request);
 	}
+
+	// outbox queue depth and send latency
+	@PostMapping(path = "emailOutbox")
+	public Response getEmailOutboxStats(@RequestBody AdminRequest.AuthRequest request) {
+		return service.getEmailOutboxStats(request);
+	}
+
+	// AI prompt cache size and hit, miss and coalesced counts
+	@PostMapping(path = "aiCache")
+	public Response getAiCacheStats(@RequestBody AdminRequest.AuthRequest request) {
+		return service.getAiCacheStats(request);
+	}
+
+	// AI circuit breaker state, calls in flight and rejections
+	@PostMapping(path = "aiUpstream")
+	public Response getAiUpstreamStats(@RequestBody AdminRequest.AuthRequest request) {
+		return service.getAiUpstreamStats(request);
+	}
 }
@@ -3,6 +3,9 @@ package me.elephantsuite.admin;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
+import me.elephantsuite.ai.PromptCache;
+import me.elephantsuite.ai.guard.AIUpstreamGuard;
+import me.elephantsuite.email.outbox.EmailDispatcher;
 import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
 import me.elephantsuite.response.exception.InvalidPasswordException;
@@ -28,6 +31,13 @@ public class AdminService {
 	private final BCryptPasswordEncoder encoder;
 
 	private final UserConfigRepositoryService userConfigService;
+
+	private final EmailDispatcher emailDispatcher;
+
+	private final PromptCache promptCache;
+
+	private final AIUpstreamGuard upstreamGuard;
+
 	public Response refreshUserConfigs(AdminRequest.AuthRequest request) {
 		validateRequest(request);
 
@@ -43,6 +53,8 @@ public class AdminService {
 			userService.saveUser(user1);
 		});
 
+		userService.invalidateAllUserStatuses();
+
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Refreshed User Configs!")
@@ -62,6 +74,8 @@ public class AdminService {
 			userService.saveUser(elephantUser);
 		});
 
+		userService.invalidateAllUserStatuses();
+
 		return ResponseBuilder
 				.create()
 				.addResponse(ResponseStatus.SUCCESS, "Reset TOS for all users!")
@@ -69,6 +83,36 @@ public class AdminService {
 
 	}
 
+	public Response getEmailOutboxStats(AdminRequest.AuthRequest request) {
+		validateRequest(request);
+
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved Email Outbox Stats!")
+			.addObject("stats", emailDispatcher.getStats())
+			.build();
+	}
+
+	public Response getAiCacheStats(AdminRequest.AuthRequest request) {
+		validateRequest(request);
+
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved AI Cache Stats!")
+			.addObject("stats", promptCache.getStats())
+			.build();
+	}
+
+	public Response getAiUpstreamStats(AdminRequest.AuthRequest request) {
+		validateRequest(request);
+
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved AI Upstream Stats!")
+			.addObject("stats", upstreamGuard.getStats())
+			.build();
+	}
+
 	private void validateRequest(AdminRequest.AuthRequest request) {
 		long id = request.getId();
 		String password = request.getPassword();
@@ -1,54 +1,235 @@
 package me.elephantsuite.ai;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.ai.guard.AIUpstreamGuard;
 import me.elephantsuite.response.exception.APIException;
 import org.springframework.stereotype.Service;
 
+/**
+ * Talks to the chat completions API over one shared {@link HttpClient}, so connections are reused between calls.
+ * Requests are sent with {@code sendAsync} and complete on the client's threads rather than a servlet thread.
+ * Streamed completions are read line by line on a small pool of their own, since reading the body blocks. A stream
+ * fails once it has been silent for aiStreamIdleSeconds or has run for aiStreamDeadlineSeconds, and the body is closed
+ * so the reader stops.
+ * Every call goes through {@link AIUpstreamGuard}, and the client and readers run on threads dedicated to AI calls, so a
+ * slow upstream can't take threads from the rest of the backend.
+ */
+@Service
 public class ChatGPTService {
 
-	private static final String API_URL = "https://api.openai.com/v1/chat/completions";
-	private static String API_KEY;
+	public static final String MODEL = "gpt-3.5-turbo";
 
-	static {
-		API_KEY = ElephantBackendApplication.AI_INTEGRATION.getConfigOption("chatGptApiKey");
-		if (API_KEY == null) {
-			API_KEY = System.getenv("CHATGPT_API_KEY");
-		}
-	}
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
 
 	private static final Gson GSON = new GsonBuilder()
 		.serializeNulls()
-		.setPrettyPrinting()
 		.create();
 
-	public static JsonElement sendMessage(String prompt) throws IOException, InterruptedException {
-		ElephantBackendApplication.LOGGER.info("Key: " + API_KEY);
+	// only bounds the time until the response headers arrive, the body is bounded by the stream watchdog
+	private static final Duration STREAM_TIMEOUT = Duration.ofSeconds(30);
+
+	// stands in for the body of a stream that was aborted before its body arrived
+	private static final InputStream ABORTED = InputStream.nullInputStream();
+
+	private static final String STREAM_DATA_PREFIX = "data:";
+
+	private static final String STREAM_DONE = "[DONE]";
+
+	private final AIUpstreamGuard guard;
+
+	private final ExecutorService clientExecutor;
+
+	private final ExecutorService streamReaders;
+
+	private final ScheduledExecutorService streamWatchdog;
+
+	private final HttpClient client;
+
+	public ChatGPTService(AIUpstreamGuard guard) {
+		int threads = ElephantBackendApplication.AI_INTEGRATION.getInt("aiMaxConcurrentCalls");
+
+		this.guard = guard;
+		this.clientExecutor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("ai-http-%d").setDaemon(true).build());
+		// the bulkhead caps streams in flight at the same number, so a stream never waits for a reader
+		this.streamReaders = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("ai-stream-%d").setDaemon(true).build());
+		this.streamWatchdog = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("ai-stream-watchdog").setDaemon(true).build());
+		this.client = HttpClient
+			.newBuilder()
+			.connectTimeout(CONNECT_TIMEOUT)
+			.executor(clientExecutor)
+			.build();
+	}
+
+	public CompletableFuture<JsonElement> sendMessage(String prompt) {
+		return guard.call(() -> client
+			.sendAsync(buildRequest(prompt, false), HttpResponse.BodyHandlers.ofString())
+			.exceptionally(ChatGPTService::toApiException)
+			.thenApply(response -> {
+				if (response.statusCode() == 200) {
+					return JsonParser.parseString(response.body());
+				}
+
+				ElephantBackendApplication.LOGGER.error("ChatGPT API returned " + response.statusCode() + ": " + response.body());
+				throw toApiException(response.statusCode(), response.body());
+			}));
+	}
+
+	/**
+	 * Streams a completion, passing every piece of content to {@code onContent} as the server sends it. The consumer is
+	 * always called from the same thread for one stream. The future completes once the stream has ended, or fails with
+	 * an {@link APIException} when the stream goes idle or runs past its deadline. Cancelling the future stops reading
+	 * the stream.
+	 */
+	public CompletableFuture<Void> streamMessage(String prompt, Consumer<String> onContent) {
+		return guard.call(() -> startStream(prompt, onContent));
+	}
+
+	private CompletableFuture<Void> startStream(String prompt, Consumer<String> onContent) {
+		CompletableFuture<Void> stream = new CompletableFuture<>();
+		long idleSeconds = ElephantBackendApplication.AI_INTEGRATION.getLong("aiStreamIdleSeconds");
+		long deadlineSeconds = ElephantBackendApplication.AI_INTEGRATION.getLong("aiStreamDeadlineSeconds");
+		long started = System.nanoTime();
+		AtomicLong lastRead = new AtomicLong(started);
+		AtomicReference<InputStream> body = new AtomicReference<>();
+
+		CompletableFuture<HttpResponse<InputStream>> sent = client.sendAsync(buildRequest(prompt, true), HttpResponse.BodyHandlers.ofInputStream());
+
+		ScheduledFuture<?> watchdog = streamWatchdog.scheduleWithFixedDelay(() -> {
+			long now = System.nanoTime();
+
+			if (now - lastRead.get() >= TimeUnit.SECONDS.toNanos(idleSeconds)) {
+				stream.completeExceptionally(new APIException("The ChatGPT API stream sent nothing for " + idleSeconds + " seconds"));
+			} else if (now - started >= TimeUnit.SECONDS.toNanos(deadlineSeconds)) {
+				stream.completeExceptionally(new APIException("The ChatGPT API stream did not finish within " + deadlineSeconds + " seconds"));
+			}
+		}, 1, 1, TimeUnit.SECONDS);
+
+		stream.whenComplete((unused, throwable) -> {
+			watchdog.cancel(false);
 
-		if (API_KEY == null || API_KEY.isEmpty()) {
-			System.getenv().forEach((s, s2) -> {
-				if (s.toLowerCase().contains("chat")) {
-					API_KEY = s2;
+			// closing the body makes a read blocked on the upstream fail, which frees the reader thread
+			if (throwable != null) {
+				sent.cancel(true);
+				closeQuietly(body.getAndSet(ABORTED));
+			}
+		});
+
+		sent
+			.exceptionally(ChatGPTService::toApiException)
+			.thenAcceptAsync(response -> readStream(response, onContent, stream, body, lastRead), streamReaders)
+			.whenComplete((unused, throwable) -> {
+				if (throwable == null) {
+					stream.complete(null);
+				} else {
+					stream.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
 				}
 			});
+
+		return stream;
+	}
+
+	private static void readStream(HttpResponse<InputStream> response, Consumer<String> onContent, CompletableFuture<Void> stream, AtomicReference<InputStream> body, AtomicLong lastRead) {
+		InputStream in = response.body();
+
+		// the stream was aborted while waiting for the response
+		if (!body.compareAndSet(null, in)) {
+			closeQuietly(in);
+			return;
+		}
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			if (response.statusCode() != 200) {
+				String error = reader.lines().collect(Collectors.joining("\n"));
+				ElephantBackendApplication.LOGGER.error("ChatGPT API returned " + response.statusCode() + ": " + error);
+				throw toApiException(response.statusCode(), error);
+			}
+
+			String line;
+
+			while (!stream.isDone() && (line = reader.readLine()) != null) {
+				lastRead.set(System.nanoTime());
+
+				if (!line.startsWith(STREAM_DATA_PREFIX)) {
+					continue;
+				}
+
+				String data = line.substring(STREAM_DATA_PREFIX.length()).trim();
+
+				if (data.equals(STREAM_DONE)) {
+					break;
+				}
+
+				String content = getDeltaContent(JsonParser.parseString(data).getAsJsonObject());
+
+				if (content != null) {
+					onContent.accept(content);
+				}
+			}
+		} catch (IOException e) {
+			// an aborted stream already failed with the reason it was aborted
+			if (!stream.isDone()) {
+				ElephantBackendApplication.LOGGER.error("Could not read the ChatGPT API stream", e);
+			}
+
+			throw new APIException("Could not read the ChatGPT API stream: " + e.getMessage());
+		}
+	}
+
+	private static void closeQuietly(InputStream in) {
+		if (in == null) {
+			return;
 		}
 
-		ElephantBackendApplication.LOGGER.info("New Key: " + API_KEY);
+		try {
+			in.close();
+		} catch (IOException e) {
+			ElephantBackendApplication.LOGGER.debug("Could not close the ChatGPT API stream", e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		streamWatchdog.shutdownNow();
+		streamReaders.shutdownNow();
+		clientExecutor.shutdownNow();
+	}
+
+	private HttpRequest buildRequest(String prompt, boolean stream) {
 		JsonObject object = new JsonObject();
-		object.addProperty("model", "gpt-3.5-turbo");
+		object.addProperty("model", MODEL);
 		JsonArray messages = new JsonArray();
 		JsonObject promptObj = new JsonObject();
 		promptObj.addProperty("role", "user");
@@ -56,35 +237,70 @@ public class ChatGPTService {
 		messages.add(promptObj);
 		object.add("messages", messages);
 
+		if (stream) {
+			object.addProperty("stream", true);
+		}
+
 		String body = GSON.toJson(object);
 
-		HttpClient client = HttpClient.newHttpClient();
-		HttpRequest request = HttpRequest.newBuilder()
-			.uri(URI.create(API_URL))
+		return HttpRequest.newBuilder()
+			.uri(URI.create(ElephantBackendApplication.AI_INTEGRATION.getConfigOption("chatGptApiUrl")))
+			.timeout(stream ? STREAM_TIMEOUT : REQUEST_TIMEOUT)
 			.header("Content-Type", "application/json")
-			.header("Authorization", "Bearer " + API_KEY)
+			.header("Authorization", "Bearer " + getApiKey())
 			.POST(HttpRequest.BodyPublishers.ofString(body))
 			.build();
+	}
 
-		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+	// choices[0].delta.content of a stream chunk, null for chunks without content (role only, finish reason)
+	private static String getDeltaContent(JsonObject chunk) {
+		JsonArray choices = chunk.getAsJsonArray("choices");
 
-		if (response.statusCode() == 200) {
-			return JsonParser.parseString(response.body());
-		} else {
-			ElephantBackendApplication.LOGGER.error(JsonParser.parseString(response.body()));
-			throw new APIException(JsonParser.parseReader(new StringReader(response.body())).getAsJsonObject());
+		if (choices == null || choices.isEmpty()) {
+			return null;
 		}
+
+		JsonObject delta = choices.get(0).getAsJsonObject().getAsJsonObject("delta");
+
+		if (delta == null || !delta.has("content") || delta.get("content").isJsonNull()) {
+			return null;
+		}
+
+		return delta.get("content").getAsString();
 	}
 
-	public static void main(String[] args) {
+	private static String getApiKey() {
+		if (ElephantBackendApplication.AI_INTEGRATION.hasConfigOption("chatGptApiKey")) {
+			return ElephantBackendApplication.AI_INTEGRATION.getConfigOption("chatGptApiKey");
+		}
+
+		return System.getenv("CHATGPT_API_KEY");
+	}
+
+	// error bodies are usually a JSON object, but proxies and gateways in front of the API answer with HTML or nothing
+	static APIException toApiException(int statusCode, String body) {
 		try {
-			JsonElement response = sendMessage("Hi!");
-			System.out.println(GSON.toJson(response));
-		} catch (Exception e) {
-			e.printStackTrace();
+			JsonElement error = JsonParser.parseString(body);
+
+			if (error.isJsonObject()) {
+				return new APIException(statusCode, error.getAsJsonObject());
+			}
+		} catch (JsonParseException e) {
+			// not JSON, falls through to the generic message
 		}
+
+		return new APIException(statusCode, "ChatGPT API returned " + statusCode);
 	}
 
+	// timeouts and connection failures surface as an APIException like any other API error
+	private static <T> HttpResponse<T> toApiException(Throwable throwable) {
+		Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
 
+		if (cause instanceof IOException) {
+			ElephantBackendApplication.LOGGER.error("Could not reach the ChatGPT API", cause);
+			throw new APIException("Could not reach the ChatGPT API: " + cause.getMessage());
+		}
 
+		throw new CompletionException(cause);
+	}
 }
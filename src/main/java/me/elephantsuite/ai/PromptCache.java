@@ -0,0 +1,241 @@
+package me.elephantsuite.ai;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.hash.Hashing;
+import me.elephantsuite.ElephantBackendApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches AI completions by model and normalized prompt (case and whitespace folded), so the same deck topic and term
+ * count asked by a whole class costs one upstream call.
+ *
+ * <p>Concurrent misses for the same key share one in-flight call. Entries expire after a TTL, the cache is bounded
+ * in size, and every entry is mirrored to a file in the cache directory so the cache survives restarts.
+ */
+@Component
+public class PromptCache {
+
+	private static final Duration TTL = Duration.ofHours(ElephantBackendApplication.AI_INTEGRATION.getLong("aiCacheTtlHours"));
+
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final Path directory = Paths.get(ElephantBackendApplication.AI_INTEGRATION.getConfigOption("aiCacheDirectory"));
+
+	private final Cache<String, CachedCompletion> completions = CacheBuilder
+		.newBuilder()
+		.maximumSize(ElephantBackendApplication.AI_INTEGRATION.getLong("aiCacheMaxEntries"))
+		.expireAfterWrite(TTL.toMillis(), TimeUnit.MILLISECONDS)
+		.<String, CachedCompletion>removalListener(notification -> {
+			// replaced entries are rewritten by put, everything else leaves the cache for good
+			if (notification.getCause() != RemovalCause.REPLACED) {
+				deleteFile(notification.getKey());
+			}
+		})
+		.build();
+
+	private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Returns the cached completion for the prompt, joins the call already running for it, or starts one with
+	 * {@code loader}. Failed calls are not cached.
+	 */
+	public CompletableFuture<String> get(String model, String prompt, Function<String, CompletableFuture<String>> loader) {
+		String key = key(model, prompt);
+		String cached = getIfPresent(key);
+
+		if (cached != null) {
+			hits.increment();
+			return CompletableFuture.completedFuture(cached);
+		}
+
+		CompletableFuture<String> created = new CompletableFuture<>();
+		CompletableFuture<String> existing = inFlight.putIfAbsent(key, created);
+
+		if (existing != null) {
+			coalesced.increment();
+			return existing;
+		}
+
+		misses.increment();
+
+		CompletableFuture<String> call;
+
+		try {
+			call = loader.apply(prompt);
+		} catch (RuntimeException e) {
+			call = CompletableFuture.failedFuture(e);
+		}
+
+		call.whenComplete((content, throwable) -> {
+			if (throwable == null) {
+				put(key, content);
+			}
+
+			inFlight.remove(key, created);
+
+			if (throwable == null) {
+				created.complete(content);
+			} else {
+				created.completeExceptionally(throwable);
+			}
+		});
+
+		return created;
+	}
+
+	public String getIfPresent(String model, String prompt) {
+		String cached = getIfPresent(key(model, prompt));
+
+		if (cached != null) {
+			hits.increment();
+		}
+
+		return cached;
+	}
+
+	public void put(String model, String prompt, String content) {
+		put(key(model, prompt), content);
+	}
+
+	public PromptCacheStats getStats() {
+		return new PromptCacheStats(completions.size(), hits.sum(), misses.sum(), coalesced.sum());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadFromDisk() {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+
+		int loaded = 0;
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path file : files) {
+				// left over from a write that never finished
+				if (file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+					Files.deleteIfExists(file);
+					continue;
+				}
+
+				CachedCompletion completion = readFile(file);
+				String key = file.getFileName().toString();
+
+				if (completion == null || completion.isExpired()) {
+					Files.deleteIfExists(file);
+					continue;
+				}
+
+				completions.put(key, completion);
+				loaded++;
+			}
+		} catch (IOException e) {
+			ElephantBackendApplication.LOGGER.error("Could not load AI prompt cache from \"" + directory + "\"", e);
+		}
+
+		ElephantBackendApplication.LOGGER.info("Loaded " + loaded + " cached AI completions");
+	}
+
+	private String getIfPresent(String key) {
+		CachedCompletion completion = completions.getIfPresent(key);
+
+		// entries loaded from disk count their age from when they were first cached, not from the load
+		if (completion == null || completion.isExpired()) {
+			return null;
+		}
+
+		return completion.content();
+	}
+
+	// written to a temporary file and moved over the entry's file, so a crash never leaves a half written entry behind
+	private void put(String key, String content) {
+		CachedCompletion completion = new CachedCompletion(System.currentTimeMillis(), content);
+		completions.put(key, completion);
+
+		Path temporary = null;
+
+		try {
+			Files.createDirectories(directory);
+			temporary = Files.createTempFile(directory, key + ".", TEMPORARY_SUFFIX);
+			Files.writeString(temporary, completion.createdAt() + "\n" + content, StandardCharsets.UTF_8);
+			Files.move(temporary, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			ElephantBackendApplication.LOGGER.warn("Could not persist AI completion " + key, e);
+			deleteTemporary(temporary);
+		}
+	}
+
+	private static void deleteTemporary(Path temporary) {
+		if (temporary == null) {
+			return;
+		}
+
+		try {
+			Files.deleteIfExists(temporary);
+		} catch (IOException e) {
+			ElephantBackendApplication.LOGGER.warn("Could not delete " + temporary, e);
+		}
+	}
+
+	private void deleteFile(String key) {
+		try {
+			Files.deleteIfExists(directory.resolve(key));
+		} catch (IOException e) {
+			ElephantBackendApplication.LOGGER.warn("Could not delete cached AI completion " + key, e);
+		}
+	}
+
+	// first line is the creation time in epoch millis, the rest is the completion
+	private static CachedCompletion readFile(Path file) {
+		try {
+			String text = Files.readString(file, StandardCharsets.UTF_8);
+			int newline = text.indexOf('\n');
+
+			if (newline == -1) {
+				return null;
+			}
+
+			return new CachedCompletion(Long.parseLong(text.substring(0, newline)), text.substring(newline + 1));
+		} catch (IOException | NumberFormatException e) {
+			return null;
+		}
+	}
+
+	// the sha-256 of the normalized key, doubles as the file name
+	private static String key(String model, String prompt) {
+		String normalized = model + "\n" + prompt.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+		return Hashing.sha256().hashString(normalized, StandardCharsets.UTF_8).toString();
+	}
+
+	private record CachedCompletion(long createdAt, String content) {
+
+		boolean isExpired() {
+			return System.currentTimeMillis() - createdAt > TTL.toMillis();
+		}
+	}
+}
@@ -0,0 +1,4 @@
+package me.elephantsuite.ai;
+
+// counters are for this instance since startup, size is the number of cached completions
+public record PromptCacheStats(long size, long hits, long misses, long coalesced) {}
@@ -0,0 +1,88 @@
+package me.elephantsuite.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import me.elephantsuite.registration.RegistrationService;
+
+/**
+ * Parses {@code term - definition} lines out of a completion, either all at once with {@link #parseAll(String)} or
+ * incrementally as chunks of a stream arrive. Lines that are not a term and a definition (intros, blank lines, lines
+ * with tags) are skipped instead of failing the whole deck.
+ *
+ * <p>Not thread safe, one instance per completion.
+ */
+public class TermLineParser {
+
+	// list markers the model likes to put in front of a line: "-", "*", bullets, "1.", "2)"
+	private static final Pattern BULLET = Pattern.compile("^(?:[-*\\u2022]+|\\d+[.)])\\s*");
+
+	private final StringBuilder buffer = new StringBuilder();
+
+	// feeds the next chunk, returns the terms of every line the chunk completed
+	public List<ParsedTerm> accept(String chunk) {
+		buffer.append(chunk);
+
+		List<ParsedTerm> terms = new ArrayList<>();
+		int newline;
+
+		while ((newline = buffer.indexOf("\n")) != -1) {
+			parseLine(buffer.substring(0, newline)).ifPresent(terms::add);
+			buffer.delete(0, newline + 1);
+		}
+
+		return terms;
+	}
+
+	// parses whatever is left after the last newline, call once the stream has ended
+	public List<ParsedTerm> finish() {
+		List<ParsedTerm> terms = new ArrayList<>();
+		parseLine(buffer.toString()).ifPresent(terms::add);
+		buffer.setLength(0);
+
+		return terms;
+	}
+
+	public static List<ParsedTerm> parseAll(String completion) {
+		TermLineParser parser = new TermLineParser();
+		List<ParsedTerm> terms = parser.accept(completion);
+		terms.addAll(parser.finish());
+
+		return terms;
+	}
+
+	public static Optional<ParsedTerm> parseLine(String line) {
+		String stripped = BULLET.matcher(line.trim()).replaceFirst("").trim();
+
+		// prefer a spaced dash so hyphenated terms like "X-ray - ..." stay whole
+		int separator = stripped.indexOf(" - ");
+		int separatorLength = 3;
+
+		if (separator == -1) {
+			separator = stripped.indexOf('-');
+			separatorLength = 1;
+		}
+
+		if (separator == -1) {
+			separator = stripped.indexOf(':');
+			separatorLength = 1;
+		}
+
+		if (separator <= 0) {
+			return Optional.empty();
+		}
+
+		String term = stripped.substring(0, separator).trim();
+		String definition = stripped.substring(separator + separatorLength).trim();
+
+		if (term.isEmpty() || definition.isEmpty() || RegistrationService.isInvalidName(term) || RegistrationService.isInvalidName(definition)) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new ParsedTerm(term, List.of(definition)));
+	}
+
+	public record ParsedTerm(String term, List<String> definitions) {}
+}
@@ -0,0 +1,114 @@
+package me.elephantsuite.ai.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Splits a deck into parts and sends the prompts of the parts with at most {@code parallelism} calls in flight, starting
+ * the next part as soon as one finishes. A part that fails is left out of the result, the calls only fail when every
+ * part failed.
+ */
+final class DeckPartCalls {
+
+	private final List<String> prompts;
+
+	private final Function<String, CompletableFuture<String>> call;
+
+	private final String[] responses;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private final AtomicInteger remaining;
+
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	private final CompletableFuture<List<String>> result = new CompletableFuture<>();
+
+	private DeckPartCalls(List<String> prompts, Function<String, CompletableFuture<String>> call) {
+		this.prompts = prompts;
+		this.call = call;
+		this.responses = new String[prompts.size()];
+		this.remaining = new AtomicInteger(prompts.size());
+	}
+
+	// the responses of the parts that succeeded, in the order of the prompts
+	static CompletableFuture<List<String>> callAll(List<String> prompts, int parallelism, Function<String, CompletableFuture<String>> call) {
+		if (prompts.isEmpty()) {
+			return CompletableFuture.completedFuture(List.of());
+		}
+
+		DeckPartCalls calls = new DeckPartCalls(prompts, call);
+		int inFlight = Math.min(Math.max(1, parallelism), prompts.size());
+
+		for (int i = 0; i < inFlight; i++) {
+			calls.startNext();
+		}
+
+		return calls.result;
+	}
+
+	// the number of terms asked for in each part, no part asks for more than chunkTerms and the remainder goes to the first parts
+	static int[] getPartSizes(int numberOfTerms, int chunkTerms) {
+		int chunk = Math.max(1, chunkTerms);
+		int parts = Math.max(1, (numberOfTerms + chunk - 1) / chunk);
+		int[] sizes = new int[parts];
+
+		for (int part = 0; part < parts; part++) {
+			sizes[part] = numberOfTerms / parts + (part < numberOfTerms % parts ? 1 : 0);
+		}
+
+		return sizes;
+	}
+
+	private void startNext() {
+		int part = next.getAndIncrement();
+
+		if (part >= prompts.size()) {
+			return;
+		}
+
+		CompletableFuture<String> response;
+
+		try {
+			response = call.apply(prompts.get(part));
+		} catch (RuntimeException e) {
+			response = CompletableFuture.failedFuture(e);
+		}
+
+		response.whenComplete((text, throwable) -> {
+			if (throwable == null) {
+				responses[part] = text;
+			} else {
+				failure.compareAndSet(null, throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+			}
+
+			startNext();
+
+			// the last decrement sees every response written before the others
+			if (remaining.decrementAndGet() == 0) {
+				finish();
+			}
+		});
+	}
+
+	private void finish() {
+		List<String> succeeded = new ArrayList<>(responses.length);
+
+		for (String response : responses) {
+			if (response != null) {
+				succeeded.add(response);
+			}
+		}
+
+		if (succeeded.isEmpty() && failure.get() != null) {
+			result.completeExceptionally(failure.get());
+		} else {
+			result.complete(succeeded);
+		}
+	}
+}
@@ -1,14 +1,17 @@
 package me.elephantsuite.ai.controller;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.AllArgsConstructor;
 import me.elephantsuite.answers.controller.ElephantAnswersRequest;
 import me.elephantsuite.response.api.Response;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping(path = "ai")
@@ -18,12 +21,18 @@ public class ElephantAIController {
 	private ElephantAIService elephantAIService;
 
 	@PostMapping(path = "sendMessage")
-	public Response createAnswer(@RequestBody ElephantAIRequest.SendMessage request) {
+	public CompletableFuture<Response> createAnswer(@RequestBody ElephantAIRequest.SendMessage request) {
 		return elephantAIService.sendMessage(request);
 	}
 
 	@PostMapping(path = "createDeck")
-	public Response createDeck(@RequestBody ElephantAIRequest.CreateDeck request) {
+	public CompletableFuture<Response> createDeck(@RequestBody ElephantAIRequest.CreateDeck request) {
 		return elephantAIService.createDeck(request);
 	}
+
+	// server-sent events: "deck", then "cards" as they are generated, then "done" or "error"
+	@PostMapping(path = "createDeck/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamDeck(@RequestBody ElephantAIRequest.CreateDeck request) {
+		return elephantAIService.streamDeck(request);
+	}
 }
@@ -1,153 +1,296 @@
 package me.elephantsuite.ai.controller;
 
-import static me.elephantsuite.deck.controller.DeckService.convertToCards;
 import static me.elephantsuite.deck.controller.DeckService.hasInvalidTag;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.google.gson.JsonObject;
 import lombok.AllArgsConstructor;
 import me.elephantsuite.ElephantBackendApplication;
 import me.elephantsuite.ai.ChatGPTService;
+import me.elephantsuite.ai.PromptCache;
+import me.elephantsuite.ai.TermLineParser;
+import me.elephantsuite.ai.guard.AIUpstreamGuard;
 import me.elephantsuite.deck.Deck;
 import me.elephantsuite.deck.DeckRepositoryService;
-import me.elephantsuite.deck.DeckVisibility;
 import me.elephantsuite.deck.card.Card;
-import me.elephantsuite.deck.card.CardService;
 import me.elephantsuite.deck.controller.DeckRequest;
-import me.elephantsuite.deck.controller.DeckService;
-import me.elephantsuite.registration.RegistrationService;
 import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
+import me.elephantsuite.response.exception.AIUnavailableException;
+import me.elephantsuite.response.exception.APIException;
 import me.elephantsuite.response.exception.InvalidTagInputException;
 import me.elephantsuite.response.util.ResponseStatus;
-import me.elephantsuite.response.util.ResponseUtil;
-import me.elephantsuite.stats.medal.MedalService;
-import me.elephantsuite.stats.medal.MedalType;
-import me.elephantsuite.user.ElephantUser;
-import me.elephantsuite.user.ElephantUserService;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @AllArgsConstructor
 public class ElephantAIService {
 
+	private static final int STREAM_BATCH_SIZE = 10;
+
+	private static final long STREAM_TIMEOUT_MILLIS = 5 * 60 * 1000;
+
 	private final String deckPromptString = "write an unordered list (without a dash preceding) of [NUMBER] terms and extremely concise definitions regarding [TOPIC] where each term can have multiple incredibly concise definitions if necessary. Write only the terms and definitions in the form outlined below:\n\nterm -  definition, definition #2 (optional), ...\n Please prefix each term with a \"-\". Please make sure that each term and definition are seperated by a \"-\", not a colon";
 
+	private final String deckPartPromptString = "\nThis list is part [PART] of [PARTS]. Split [TOPIC] into [PARTS] distinct subtopics and only write terms about subtopic number [PART], so that no term appears in another part.";
+
 	private DeckRepositoryService service;
 
-	private ElephantUserService userService;
+	private ChatGPTService chatGPTService;
 
-	private CardService cardService;
+	private GeneratedDeckWriter deckWriter;
 
-	private MedalService medalService;
+	private PromptCache promptCache;
 
-	public Response sendMessage(ElephantAIRequest.SendMessage request) {
-		String prompt = request.getPrompt();
+	private AIUpstreamGuard upstreamGuard;
 
-		String message = getResponse(prompt);
+	public CompletableFuture<Response> sendMessage(ElephantAIRequest.SendMessage request) {
+		String prompt = request.getPrompt();
 
-		return ResponseBuilder.create()
+		return getResponse(prompt).thenApply(message -> ResponseBuilder.create()
 			.addResponse(ResponseStatus.SUCCESS, "Created Chat!")
 			.addObject("message", message)
-			.build();
+			.build());
 	}
 
-	public Response createDeck(ElephantAIRequest.CreateDeck request) {
-		long userId = request.getUserId();
-		String topic = request.getTopic();
-		int numberOfTerms = request.getTermNumber();
+	/**
+	 * Generates a deck in one call, or for more than aiDeckChunkTerms terms in parts of at most aiDeckChunkTerms terms,
+	 * each asked for its own slice of the topic, with at most aiDeckParallelism parts in flight. The user is charged one
+	 * request per part up front. Parts that fail are left out and the response is DEFER instead of SUCCESS, with the
+	 * number of failed parts and of terms asked for and generated. Terms are merged ignoring case and the deck is saved
+	 * in one transaction.
+	 */
+	public CompletableFuture<Response> createDeck(ElephantAIRequest.CreateDeck request) {
+		checkTermNumber(request.getTermNumber());
 
-		String query = deckPromptString.replace("[NUMBER]", String.valueOf(numberOfTerms)).replace("[TOPIC]", topic);
-
-		String response = getResponse(query);
+		int numberOfTerms = request.getTermNumber();
+		int chunkTerms = ElephantBackendApplication.AI_INTEGRATION.getInt("aiDeckChunkTerms");
+		int parallelism = ElephantBackendApplication.AI_INTEGRATION.getInt("aiDeckParallelism");
+		int[] partSizes = DeckPartCalls.getPartSizes(numberOfTerms, chunkTerms);
 
-		ElephantBackendApplication.LOGGER.info(response);
+		upstreamGuard.checkUser(request.getUserId(), partSizes.length);
 
-		List<String> terms = Arrays.asList(response.split("\n"));
+		List<String> prompts = new ArrayList<>(partSizes.length);
 
-		terms = terms.subList(1, terms.size());
+		if (partSizes.length == 1) {
+			prompts.add(getDeckPrompt(request.getTopic(), numberOfTerms));
+		} else {
+			for (int part = 0; part < partSizes.length; part++) {
+				prompts.add(getDeckPrompt(request.getTopic(), partSizes[part]) + getDeckPartPrompt(request.getTopic(), part + 1, partSizes.length));
+			}
+		}
 
-		ElephantBackendApplication.LOGGER.info("Terms: " + terms);
+		long start = System.currentTimeMillis();
 
-		terms = terms
-			.stream()
-			.map(String::trim)
-			.map(s -> s.substring(s.indexOf(" ") + 1))
-			.map(String::trim)
-			.toList();
+		return DeckPartCalls
+			.callAll(prompts, parallelism, this::getResponse)
+			.thenApply(responses -> {
+				ElephantBackendApplication.LOGGER.info("Generated " + numberOfTerms + " terms about \"" + request.getTopic() + "\" in " + responses.size() + " of " + prompts.size() + " part(s), at most " + parallelism + " at a time, in " + (System.currentTimeMillis() - start) + "ms");
+				return createDeck(request, responses, prompts.size() - responses.size());
+			});
+	}
 
-		ElephantBackendApplication.LOGGER.info("Terms After: " + terms);
+	private Response createDeck(ElephantAIRequest.CreateDeck request, List<String> responses, int failedParts) {
+		// keyed by the lower cased term so parts that overlap don't produce duplicate cards
+		Map<String, TermLineParser.ParsedTerm> merged = new LinkedHashMap<>();
 
-		Map<String, List<String>> keyToDefinitions = new HashMap<>();
+		for (String response : responses) {
+			TermLineParser.parseAll(response).forEach(term -> merged.putIfAbsent(term.term().toLowerCase(Locale.ROOT), term));
+		}
 
-		terms.forEach(s -> {
-			ElephantBackendApplication.LOGGER.info(s);
-			String term = s.substring(0, s.indexOf("-")).trim();
-			String def = s.substring(s.indexOf("-") + 1).trim();
-			keyToDefinitions.put(term, List.of(def));
-		});
+		Map<String, List<String>> keyToDefinitions = new LinkedHashMap<>();
+		merged.values().forEach(term -> keyToDefinitions.put(term.term(), term.definitions()));
 
-		DeckRequest.CreateDeck createDeck = new DeckRequest.CreateDeck(keyToDefinitions, userId, topic, request.getDeckVisibility());
+		DeckRequest.CreateDeck createDeck = new DeckRequest.CreateDeck(keyToDefinitions, request.getUserId(), request.getTopic(), request.getDeckVisibility());
+		Deck deck = registerDeck(createDeck);
 
-		return registerDeck(createDeck);
+		return ResponseBuilder
+			.create()
+			.addResponse(failedParts == 0 ? ResponseStatus.SUCCESS : ResponseStatus.DEFER, failedParts == 0 ? "Created Deck!" : "Created Deck, Some Parts Failed!")
+			.addObject("user", deck.getAuthor())
+			.addObject("deck", deck)
+			.addObject("requestedTerms", request.getTermNumber())
+			.addObject("generatedTerms", keyToDefinitions.size())
+			.addObject("failedParts", failedParts)
+			.build();
 	}
 
-	public Response registerDeck(DeckRequest.CreateDeck request) {
-		Map<String, List<String>> terms = request.getTerms();
-		long authorId = request.getAuthorId();
-		String name = request.getName();
-		DeckVisibility visibility = request.getVisibility();
-
-		ElephantUser user = ResponseUtil.checkUserValid(authorId, userService);
-
+	// every part costs a request of the user's and of the global budget, so a deck can only be so large
+	private static void checkTermNumber(int termNumber) {
+		int max = ElephantBackendApplication.AI_INTEGRATION.getInt("aiDeckMaxTerms");
 
-		if (RegistrationService.isInvalidName(name)) {
-			throw new InvalidTagInputException(name);
+		if (termNumber < 1 || termNumber > max) {
+			throw new IllegalArgumentException("termNumber must be between 1 and " + max + ", was " + termNumber);
 		}
+	}
 
-		String error = hasInvalidTag(terms);
+	/**
+	 * Streams the generation of a deck as server-sent events. The deck is saved empty first ("deck" event), then cards
+	 * are parsed while the completion streams in and saved every {@link #STREAM_BATCH_SIZE} terms ("cards" events).
+	 * The stream ends with a "done" event holding the full deck, or an "error" event. Either way every card sent so far
+	 * stays in the deck.
+	 */
+	public SseEmitter streamDeck(ElephantAIRequest.CreateDeck request) {
+		checkTermNumber(request.getTermNumber());
+		upstreamGuard.checkUser(request.getUserId());
+		// don't leave an empty deck behind when the stream would be refused anyway
+		upstreamGuard.checkAvailable();
 
-		if (error != null) {
-			throw new InvalidTagInputException(error);
-		}
+		Deck deck = deckWriter.createEmptyDeck(request.getUserId(), request.getTopic(), request.getDeckVisibility());
+		long deckId = deck.getId();
 
-		Deck deck = new Deck(null, user, name, visibility);
+		SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
 
-		List<Card> cards = convertToCards(terms, deck ,cardService);
+		sendEvent(emitter, "deck", ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.DEFER, "Created Deck, Generating Cards!")
+			.addObject("deck", deck)
+			.build());
+
+		String prompt = getDeckPrompt(request);
+		String cached = promptCache.getIfPresent(ChatGPTService.MODEL, prompt);
+
+		TermLineParser parser = new TermLineParser();
+		List<TermLineParser.ParsedTerm> batch = new ArrayList<>();
+		StringBuilder completion = new StringBuilder();
+
+		// a cached completion is replayed through the same parser, so the client sees the same events
+		CompletableFuture<Void> generation = cached != null
+			? CompletableFuture.runAsync(() -> batch.addAll(parser.accept(cached)))
+			: chatGPTService.streamMessage(prompt, content -> {
+				// a cancelled stream completes on another thread while the last piece may still be handled here
+				synchronized (parser) {
+					completion.append(content);
+					batch.addAll(parser.accept(content));
+
+					if (batch.size() >= STREAM_BATCH_SIZE) {
+						flushCards(emitter, deckId, batch);
+					}
+				}
+			});
+
+		// stop reading the upstream once nobody is listening anymore
+		emitter.onTimeout(() -> generation.cancel(true));
+		emitter.onError(throwable -> generation.cancel(true));
+		emitter.onCompletion(() -> generation.cancel(true));
+
+		generation
+			.whenComplete((unused, throwable) -> {
+				Throwable failure = throwable;
+
+				// whatever was parsed before a failure is still saved
+				synchronized (parser) {
+					try {
+						batch.addAll(parser.finish());
+						flushCards(emitter, deckId, batch);
+					} catch (RuntimeException e) {
+						failure = failure == null ? e : failure;
+					}
+				}
+
+				if (failure instanceof CancellationException) {
+					ElephantBackendApplication.LOGGER.info("Deck generation for deck " + deckId + " stopped, the client disconnected");
+				} else if (failure != null) {
+					Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+					ElephantBackendApplication.LOGGER.error("Deck generation for deck " + deckId + " failed", cause);
+
+					sendEvent(emitter, "error", toErrorResponse(cause));
+				} else {
+					if (cached == null) {
+						promptCache.put(ChatGPTService.MODEL, prompt, completion.toString());
+					}
+
+					sendEvent(emitter, "done", ResponseBuilder
+						.create()
+						.addResponse(ResponseStatus.SUCCESS, "Created Deck!")
+						.addObject("deck", service.getDeckById(deckId))
+						.build());
+				}
+
+				emitter.complete();
+			});
+
+		return emitter;
+	}
 
-		deck.setCards(cards);
+	private void flushCards(SseEmitter emitter, long deckId, List<TermLineParser.ParsedTerm> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
 
-		user.getDecks().add(deck);
+		List<Card> cards = deckWriter.appendCards(deckId, batch);
+		batch.clear();
 
-		deck = service.saveDeck(deck);
+		sendEvent(emitter, "cards", ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.DEFER, "Generated Cards!")
+			.addObject("cards", cards)
+			.build());
+	}
 
-		// user = userService.saveUser(user);
+	private static Response toErrorResponse(Throwable cause) {
+		if (cause instanceof APIException apiException) {
+			return apiException.toResponse();
+		}
 
-		// medalService.updateEntityMedals(user.getDecks(), user.getElephantUserStatistics(), MedalType.FLIP_MASTER, new int[]{2, 8, 16, 64});
+		if (cause instanceof AIUnavailableException unavailableException) {
+			return unavailableException.toResponse();
+		}
 
 		return ResponseBuilder
 			.create()
-			.addResponse(ResponseStatus.SUCCESS, "Created Deck!")
-			.addObject("user", user)
-			.addObject("deck", deck)
+			.addResponse(ResponseStatus.FAILURE, "Deck generation failed, kept the cards generated so far")
+			.addException(cause)
 			.build();
 	}
 
+	// the client may have gone away, generation and persistence go on without it
+	private static void sendEvent(SseEmitter emitter, String name, Response response) {
+		try {
+			emitter.send(SseEmitter.event().name(name).data(response));
+		} catch (IOException | IllegalStateException e) {
+			ElephantBackendApplication.LOGGER.debug("Could not send \"" + name + "\" event, client disconnected", e);
+		}
+	}
 
+	private String getDeckPrompt(ElephantAIRequest.CreateDeck request) {
+		return getDeckPrompt(request.getTopic(), request.getTermNumber());
+	}
 
-	private static String getResponse(String prompt) {
-		JsonObject object = null;
-		try {
-			object = ChatGPTService.sendMessage(prompt).getAsJsonObject();
-		} catch (IOException | InterruptedException e) {
-			throw new RuntimeException(e);
+	private String getDeckPrompt(String topic, int numberOfTerms) {
+		return deckPromptString.replace("[NUMBER]", String.valueOf(numberOfTerms)).replace("[TOPIC]", topic);
+	}
+
+	private String getDeckPartPrompt(String topic, int part, int parts) {
+		return deckPartPromptString.replace("[PART]", String.valueOf(part)).replace("[PARTS]", String.valueOf(parts)).replace("[TOPIC]", topic);
+	}
+
+	private Deck registerDeck(DeckRequest.CreateDeck request) {
+		Map<String, List<String>> terms = request.getTerms();
+
+		String error = hasInvalidTag(terms);
+
+		if (error != null) {
+			throw new InvalidTagInputException(error);
 		}
 
-		return object.get("choices").getAsJsonArray().get(0).getAsJsonObject().get("message").getAsJsonObject().get("content").getAsString();
+		return deckWriter.createDeck(request.getAuthorId(), request.getName(), request.getVisibility(), terms);
+	}
+
+	private CompletableFuture<String> getResponse(String prompt) {
+		return promptCache.get(ChatGPTService.MODEL, prompt, p -> chatGPTService.sendMessage(p).thenApply(element -> {
+			JsonObject object = element.getAsJsonObject();
+			return object.get("choices").getAsJsonArray().get(0).getAsJsonObject().get("message").getAsJsonObject().get("content").getAsString();
+		}));
 	}
 }
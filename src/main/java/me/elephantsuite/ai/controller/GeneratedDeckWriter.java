@@ -0,0 +1,87 @@
+package me.elephantsuite.ai.controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import me.elephantsuite.ai.TermLineParser;
+import me.elephantsuite.deck.Deck;
+import me.elephantsuite.deck.DeckRepositoryService;
+import me.elephantsuite.deck.DeckVisibility;
+import me.elephantsuite.deck.card.Card;
+import me.elephantsuite.deck.card.CardService;
+import me.elephantsuite.deck.controller.DeckService;
+import me.elephantsuite.registration.RegistrationService;
+import me.elephantsuite.response.exception.InvalidIdException;
+import me.elephantsuite.response.exception.InvalidIdType;
+import me.elephantsuite.response.exception.InvalidTagInputException;
+import me.elephantsuite.response.util.ResponseUtil;
+import me.elephantsuite.user.ElephantUser;
+import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persists generated decks. Streamed decks are written piece by piece: the deck is saved empty before generation
+ * starts and every batch of parsed terms is committed in its own transaction, so a generation that fails part way
+ * keeps the cards it produced. Decks generated in one go are written in a single transaction.
+ */
+@Service
+@Transactional
+@AllArgsConstructor
+public class GeneratedDeckWriter {
+
+	private final DeckRepositoryService deckService;
+
+	private final ElephantUserService userService;
+
+	private final CardService cardService;
+
+	public Deck createEmptyDeck(long authorId, String name, DeckVisibility visibility) {
+		ElephantUser user = ResponseUtil.checkUserValid(authorId, userService);
+
+		if (RegistrationService.isInvalidName(name)) {
+			throw new InvalidTagInputException(name);
+		}
+
+		return deckService.saveDeck(new Deck(new ArrayList<>(), user, name, visibility));
+	}
+
+	// the whole deck in one transaction, cards are inserted in jdbc batches. the author is loaded with its library here,
+	// since the response is built after the transaction on a thread without a session
+	public Deck createDeck(long authorId, String name, DeckVisibility visibility, Map<String, List<String>> terms) {
+		Deck deck = createEmptyDeck(authorId, name, visibility);
+
+		deck.getCards().addAll(DeckService.convertToCards(terms, deck, cardService));
+
+		deck = deckService.saveDeck(deck);
+		UserLoadProfile.LIBRARY.load(deck.getAuthor());
+
+		return deck;
+	}
+
+	// inserts the cards and their deck_cards rows directly, so a batch costs the same however big the deck already is.
+	// terms repeated in the batch or already on the deck are skipped
+	public List<Card> appendCards(long deckId, List<TermLineParser.ParsedTerm> terms) {
+		String deckName = deckService.getDeckName(deckId);
+
+		if (deckName == null) {
+			throw new InvalidIdException(deckId, InvalidIdType.DECK);
+		}
+
+		Map<String, List<String>> cardsMap = new LinkedHashMap<>();
+		terms.forEach(term -> cardsMap.putIfAbsent(term.term(), term.definitions()));
+		cardsMap.keySet().removeAll(deckService.getDeckTerms(deckId, cardsMap.keySet()));
+
+		List<Card> cards = new ArrayList<>(cardsMap.size());
+		cardsMap.forEach((term, definitions) -> cards.add(new Card(term, definitions, deckName)));
+
+		List<Card> saved = cardService.saveAll(cards);
+		deckService.addCardsToDeck(deckId, saved);
+
+		return saved;
+	}
+}
@@ -0,0 +1,179 @@
+package me.elephantsuite.ai.guard;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.config.PropertiesHandler;
+import me.elephantsuite.response.exception.AIUnavailableException;
+import me.elephantsuite.response.exception.APIException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Protects the rest of the backend from the AI upstream. Every upstream call needs a closed circuit, a bulkhead permit
+ * (a fixed number of calls in flight) and a token from the global bucket. Anything turned away fails fast with an
+ * {@link AIUnavailableException} instead of waiting on a slow or broken API. Users additionally get their own bucket,
+ * checked when their request comes in.
+ */
+@Component
+public class AIUpstreamGuard {
+
+	private final TokenBucket globalBucket;
+
+	private final LoadingCache<Long, TokenBucket> userBuckets;
+
+	private final int maxConcurrentCalls;
+
+	private final Semaphore bulkhead;
+
+	private final CircuitBreaker circuitBreaker;
+
+	private final LongAdder rejectedByUserLimit = new LongAdder();
+
+	private final LongAdder rejectedByGlobalLimit = new LongAdder();
+
+	private final LongAdder rejectedByBulkhead = new LongAdder();
+
+	private final LongAdder rejectedByCircuit = new LongAdder();
+
+	public AIUpstreamGuard() {
+		PropertiesHandler config = ElephantBackendApplication.AI_INTEGRATION;
+
+		long globalPerMinute = config.getLong("aiGlobalRequestsPerMinute");
+		long userPerMinute = config.getLong("aiUserRequestsPerMinute");
+
+		this.globalBucket = new TokenBucket(globalPerMinute, globalPerMinute);
+		this.userBuckets = CacheBuilder
+			.newBuilder()
+			.expireAfterAccess(10, TimeUnit.MINUTES)
+			.build(CacheLoader.from(userId -> new TokenBucket(userPerMinute, userPerMinute)));
+		this.maxConcurrentCalls = config.getInt("aiMaxConcurrentCalls");
+		this.bulkhead = new Semaphore(maxConcurrentCalls);
+		this.circuitBreaker = new CircuitBreaker(config.getInt("aiCircuitFailureThreshold"), Duration.ofSeconds(config.getLong("aiCircuitOpenSeconds")));
+	}
+
+	public void checkUser(long userId) {
+		checkUser(userId, 1);
+	}
+
+	// charges the user for a request that makes several upstream calls, all of them or none
+	public void checkUser(long userId, int calls) {
+		if (!userBuckets.getUnchecked(userId).tryAcquire(calls)) {
+			rejectedByUserLimit.increment();
+			throw new AIUnavailableException("Too many AI requests, please wait a minute");
+		}
+	}
+
+	// fails fast while the circuit is open, for callers that want to check before doing work of their own
+	public void checkAvailable() {
+		if (circuitBreaker.getState() == CircuitState.OPEN) {
+			rejectedByCircuit.increment();
+			throw new AIUnavailableException("The AI service is currently unavailable, please try again later");
+		}
+	}
+
+	/**
+	 * Runs the upstream call if the circuit, the bulkhead and the global limit allow it, checked in that order so a call
+	 * turned away by the circuit or the bulkhead doesn't use up a global token. The outcome of the returned future
+	 * feeds the circuit breaker, but only failures of the upstream itself count against it (see
+	 * {@link #isUpstreamFailure}); a cancelled call counts for nothing. Cancelling the returned future cancels the future
+	 * the call returned.
+	 */
+	public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+		long permit = circuitBreaker.tryAcquire();
+
+		if (permit == CircuitBreaker.REJECTED) {
+			rejectedByCircuit.increment();
+			return CompletableFuture.failedFuture(new AIUnavailableException("The AI service is currently unavailable, please try again later"));
+		}
+
+		if (!bulkhead.tryAcquire()) {
+			circuitBreaker.release(permit);
+			rejectedByBulkhead.increment();
+			return CompletableFuture.failedFuture(new AIUnavailableException("The AI service is busy, please try again later"));
+		}
+
+		if (!globalBucket.tryAcquire()) {
+			bulkhead.release();
+			circuitBreaker.release(permit);
+			rejectedByGlobalLimit.increment();
+			return CompletableFuture.failedFuture(new AIUnavailableException("The AI service is receiving too many requests, please try again later"));
+		}
+
+		CompletableFuture<T> future;
+
+		try {
+			future = call.get();
+		} catch (RuntimeException e) {
+			// nothing was sent, so this says nothing about the upstream
+			bulkhead.release();
+			circuitBreaker.release(permit);
+			return CompletableFuture.failedFuture(e);
+		}
+
+		// a dependent stage skips its action once it has been completed from outside, so the bookkeeping hangs off the
+		// call itself and the caller gets a separate future whose cancellation is passed on to the call
+		CompletableFuture<T> guarded = new CompletableFuture<>();
+
+		future.whenComplete((result, throwable) -> {
+			bulkhead.release();
+
+			Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+
+			if (cause instanceof CancellationException) {
+				circuitBreaker.release(permit);
+			} else if (cause != null && isUpstreamFailure(cause)) {
+				circuitBreaker.onFailure(permit);
+			} else {
+				circuitBreaker.onSuccess(permit);
+			}
+
+			if (throwable == null) {
+				guarded.complete(result);
+			} else {
+				guarded.completeExceptionally(cause);
+			}
+		});
+
+		guarded.whenComplete((result, throwable) -> {
+			if (guarded.isCancelled()) {
+				future.cancel(true);
+			}
+		});
+
+		return guarded;
+	}
+
+	// unreachable, timed out, overloaded (429) or failing (5xx), a request the API rejects (other 4xx) doesn't count
+	static boolean isUpstreamFailure(Throwable cause) {
+		if (cause instanceof APIException apiException) {
+			return apiException.isUpstreamFailure();
+		}
+
+		return cause instanceof IOException || cause instanceof TimeoutException;
+	}
+
+	public AIUpstreamStats getStats() {
+		return new AIUpstreamStats(
+			circuitBreaker.getState(),
+			circuitBreaker.getConsecutiveFailures(),
+			circuitBreaker.getTimesOpened(),
+			maxConcurrentCalls - bulkhead.availablePermits(),
+			rejectedByUserLimit.sum(),
+			rejectedByGlobalLimit.sum(),
+			rejectedByBulkhead.sum(),
+			rejectedByCircuit.sum()
+		);
+	}
+}
@@ -0,0 +1,13 @@
+package me.elephantsuite.ai.guard;
+
+// counters are for this instance since startup
+public record AIUpstreamStats(
+	CircuitState circuitState,
+	int consecutiveFailures,
+	long timesOpened,
+	int inFlight,
+	long rejectedByUserLimit,
+	long rejectedByGlobalLimit,
+	long rejectedByBulkhead,
+	long rejectedByCircuit
+) {}
@@ -0,0 +1,112 @@
+package me.elephantsuite.ai.guard;
+
+import java.time.Duration;
+
+/**
+ * Opens after {@code failureThreshold} consecutive failures and rejects calls for {@code openDuration}. After that a
+ * single trial call decides whether it closes again or stays open for another period.
+ *
+ * <p>Every state change starts a new generation. {@link #tryAcquire()} hands out the current one and outcomes are only
+ * counted for the generation they were acquired in, so a slow call that started before the circuit opened can neither
+ * close it again nor extend the open period, and only the trial decides a half open circuit.
+ */
+public class CircuitBreaker {
+
+	// returned by tryAcquire when the call must not go ahead
+	public static final long REJECTED = -1;
+
+	private final int failureThreshold;
+
+	private final long openNanos;
+
+	private CircuitState state = CircuitState.CLOSED;
+
+	private long generation;
+
+	private int consecutiveFailures;
+
+	private long openedAt;
+
+	private boolean trialInFlight;
+
+	private long timesOpened;
+
+	public CircuitBreaker(int failureThreshold, Duration openDuration) {
+		this.failureThreshold = failureThreshold;
+		this.openNanos = openDuration.toNanos();
+	}
+
+	/**
+	 * Returns the generation to report the outcome of the call with, or {@link #REJECTED}. In HALF_OPEN a call that is
+	 * let through is the trial.
+	 */
+	public synchronized long tryAcquire() {
+		if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+			transition(CircuitState.HALF_OPEN);
+		}
+
+		return switch (state) {
+			case CLOSED -> generation;
+			case OPEN -> REJECTED;
+			case HALF_OPEN -> {
+				if (trialInFlight) {
+					yield REJECTED;
+				}
+
+				trialInFlight = true;
+				yield generation;
+			}
+		};
+	}
+
+	// a call that was acquired but never made, lets another call have the trial
+	public synchronized void release(long permit) {
+		if (permit == generation && state == CircuitState.HALF_OPEN) {
+			trialInFlight = false;
+		}
+	}
+
+	public synchronized void onSuccess(long permit) {
+		if (permit != generation) {
+			return;
+		}
+
+		consecutiveFailures = 0;
+
+		if (state == CircuitState.HALF_OPEN) {
+			transition(CircuitState.CLOSED);
+		}
+	}
+
+	public synchronized void onFailure(long permit) {
+		if (permit != generation) {
+			return;
+		}
+
+		consecutiveFailures++;
+
+		if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			timesOpened++;
+			openedAt = System.nanoTime();
+			transition(CircuitState.OPEN);
+		}
+	}
+
+	private void transition(CircuitState state) {
+		this.state = state;
+		this.generation++;
+		this.trialInFlight = false;
+	}
+
+	public synchronized CircuitState getState() {
+		return state;
+	}
+
+	public synchronized int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	public synchronized long getTimesOpened() {
+		return timesOpened;
+	}
+}
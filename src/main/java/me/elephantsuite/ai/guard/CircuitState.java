@@ -0,0 +1,10 @@
+package me.elephantsuite.ai.guard;
+
+public enum CircuitState {
+	// calls go through
+	CLOSED,
+	// calls fail fast until the open period is over
+	OPEN,
+	// one trial call is let through to decide between CLOSED and OPEN
+	HALF_OPEN
+}
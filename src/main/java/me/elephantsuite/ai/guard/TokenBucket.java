@@ -0,0 +1,40 @@
+package me.elephantsuite.ai.guard;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills continuously at {@code refillPerMinute}.
+ */
+public class TokenBucket {
+
+	private final double capacity;
+
+	private final double refillPerNano;
+
+	private double tokens;
+
+	private long lastRefill;
+
+	public TokenBucket(long capacity, long refillPerMinute) {
+		this.capacity = capacity;
+		this.refillPerNano = refillPerMinute / 60e9;
+		this.tokens = capacity;
+		this.lastRefill = System.nanoTime();
+	}
+
+	public boolean tryAcquire() {
+		return tryAcquire(1);
+	}
+
+	// takes all of the tokens or none of them
+	public synchronized boolean tryAcquire(int count) {
+		long now = System.nanoTime();
+		tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+		lastRefill = now;
+
+		if (tokens < count) {
+			return false;
+		}
+
+		tokens -= count;
+		return true;
+	}
+}
@@ -41,6 +41,8 @@ public class ElephantAnswer {
 
 	private boolean answered = false;
 
+	// only written by the atomic UPDATE in the repository, in-memory changes just mirror it
+	@Column(updatable = false)
 	private int numberOfLikes = 0;
 
 	@OneToMany(mappedBy = "answer",  cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
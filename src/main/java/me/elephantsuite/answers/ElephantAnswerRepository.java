@@ -4,6 +4,7 @@ import java.util.List;
 
 import me.elephantsuite.deck.Deck;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,4 +14,9 @@ public interface ElephantAnswerRepository extends JpaRepository<ElephantAnswer,
 	@Transactional
 	@Query(value = "SELECT * FROM elephant_answer", nativeQuery = true)
 	List<ElephantAnswer> getAllAnswers();
+
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE elephant_answer SET number_of_likes = number_of_likes + ?2 WHERE id = ?1", nativeQuery = true)
+	int addLikes(long id, int delta);
 }
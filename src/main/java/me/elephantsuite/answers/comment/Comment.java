@@ -6,6 +6,7 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -45,6 +46,8 @@ public class Comment {
 
 	private String description;
 
+	// only written by the atomic UPDATE in the repository, in-memory changes just mirror it
+	@Column(updatable = false)
 	private int numberOfLikes = 0;
 
 	private boolean finalAnswer = false;
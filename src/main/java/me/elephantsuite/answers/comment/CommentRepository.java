@@ -1,8 +1,16 @@
 package me.elephantsuite.answers.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE comment SET number_of_likes = number_of_likes + ?2 WHERE id = ?1", nativeQuery = true)
+	int addLikes(long id, int delta);
 }
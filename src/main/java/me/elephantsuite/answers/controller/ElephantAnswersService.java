@@ -26,8 +26,12 @@ import me.elephantsuite.stats.medal.MedalService;
 import me.elephantsuite.stats.medal.MedalType;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
+import me.elephantsuite.user.like.LikeService;
+import me.elephantsuite.user.like.LikeType;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -43,6 +47,8 @@ public class ElephantAnswersService {
 
 	private final MedalService medalService;
 
+	private final LikeService likeService;
+
 	public Response createAnswer(ElephantAnswersRequest.CreateAnswer request) {
 		String description = request.getDescription();
 		String title = request.getTitle();
@@ -161,39 +167,38 @@ public class ElephantAnswersService {
 			.build();
 	}
 
+	@Transactional
 	public Response likeAnswer(ElephantAnswersRequest.LikeAnswer request, boolean like) {
 		long answerId = request.getAnswerId();
-		long userId = request.getUserId();
+		long userId = ResponseUtil.checkUserEnabled(request.getUserId(), userService).id();
 
 		ElephantAnswer answer = service.getAnswerById(answerId);
-		ElephantUser user = userService.getUserById(userId);
 
-		if (answer == null || user == null) {
-			throw new InvalidIdException(request, InvalidIdType.ANSWER, InvalidIdType.USER);
+		if (answer == null) {
+			throw new InvalidIdException(request, InvalidIdType.ANSWER);
 		}
 
-		if (like) {
-			answer.incrementLikes();
-		} else {
-			answer.decrementLikes();
-		}
+		boolean changed = like ? likeService.like(userId, LikeType.ANSWER, answerId) : likeService.unlike(userId, LikeType.ANSWER, answerId);
 
-		answer.updateLastUpdatedTime();
+		if (changed) {
+			service.getRepository().addLikes(answerId, like ? 1 : -1);
 
-		answer = service.save(answer);
+			if (like) {
+				answer.incrementLikes();
+			} else {
+				answer.decrementLikes();
+			}
 
-		if (like) {
-			user.getElephantAnswersLiked().add(answerId);
-		} else {
-			user.getElephantAnswersLiked().remove(answerId);
-		}
+			answer.updateLastUpdatedTime();
 
-		user = userService.saveUser(user);
+			answer = service.save(answer);
+		}
 
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Changed Like Count!")
 			.addObject("answer", answer)
+			.addObject("changed", changed)
 			.build();
 	}
 
@@ -282,30 +287,32 @@ public class ElephantAnswersService {
 			.build();
 	}
 
+	@Transactional
 	public Response likeComment(ElephantAnswersRequest.LikeComment request, boolean like) {
 		Comment comment = commentService.getCommentById(request.getCommentId());
-		ElephantUser user = ResponseUtil.checkUserValid(request.getUserId(), userService);
+		long userId = ResponseUtil.checkUserEnabled(request.getUserId(), userService).id();
 
 		if (comment == null) {
 			throw new InvalidIdException(comment, InvalidIdType.COMMENT);
 		}
 
-		if (like) {
-			comment.incrementLikes();
-			user.getCommentsLiked().add(comment.getId());
-		} else {
-			comment.decrementLikes();
-			user.getCommentsLiked().remove(comment.getId());
-		}
+		boolean changed = like ? likeService.like(userId, LikeType.COMMENT, comment.getId()) : likeService.unlike(userId, LikeType.COMMENT, comment.getId());
 
-		comment = commentService.save(comment);
-		user = userService.saveUser(user);
+		if (changed) {
+			commentService.getRepository().addLikes(comment.getId(), like ? 1 : -1);
+
+			if (like) {
+				comment.incrementLikes();
+			} else {
+				comment.decrementLikes();
+			}
+		}
 
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, (like ? "Liked" : "Disliked") + " Comment!")
 			.addObject("comment", comment)
-			.addObject("user", user)
+			.addObject("changed", changed)
 			.build();
 	}
 
@@ -417,7 +424,7 @@ public class ElephantAnswersService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Increased User Score!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.STATS.load(user))
 			.build();
 	}
 
@@ -438,7 +445,7 @@ public class ElephantAnswersService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Set User Tags!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.STATS.load(user))
 			.build();
 	}
 
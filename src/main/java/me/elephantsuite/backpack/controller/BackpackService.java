@@ -13,6 +13,7 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -50,7 +51,7 @@ public class BackpackService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Added Card to Backpack!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.LIBRARY.load(user))
 			.build();
 	}
 
@@ -76,7 +77,7 @@ public class BackpackService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Removed Card from Backpack!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.LIBRARY.load(user))
 			.build();
 	}
 
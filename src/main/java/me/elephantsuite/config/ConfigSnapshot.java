@@ -0,0 +1,73 @@
+package me.elephantsuite.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a {@link PropertiesHandler} at one point in time. Numeric and boolean values are parsed once when
+ * the snapshot is built, so typed lookups are plain map reads.
+ */
+public final class ConfigSnapshot {
+
+	private final Map<String, String> values;
+
+	private final Map<String, Long> longs;
+
+	private final Map<String, Boolean> booleans;
+
+	ConfigSnapshot(Map<String, String> values) {
+		this.values = Map.copyOf(values);
+
+		Map<String, Long> longs = new HashMap<>();
+		Map<String, Boolean> booleans = new HashMap<>();
+
+		values.forEach((key, value) -> {
+			String trimmed = value.trim();
+
+			try {
+				longs.put(key, Long.parseLong(trimmed));
+			} catch (NumberFormatException ignored) {
+				// not a number, only available as a string
+			}
+
+			if (trimmed.equalsIgnoreCase("true") || trimmed.equalsIgnoreCase("false")) {
+				booleans.put(key, Boolean.parseBoolean(trimmed));
+			}
+		});
+
+		this.longs = Map.copyOf(longs);
+		this.booleans = Map.copyOf(booleans);
+	}
+
+	public Map<String, String> values() {
+		return values;
+	}
+
+	public String getString(String key) {
+		return values.get(key);
+	}
+
+	public long getLong(String key) {
+		Long value = longs.get(key);
+
+		if (value == null) {
+			throw new IllegalArgumentException("Config option \"" + key + "\" is not a number: " + values.get(key));
+		}
+
+		return value;
+	}
+
+	public int getInt(String key) {
+		return Math.toIntExact(getLong(key));
+	}
+
+	public boolean getBoolean(String key) {
+		Boolean value = booleans.get(key);
+
+		if (value == null) {
+			throw new IllegalArgumentException("Config option \"" + key + "\" is not a boolean: " + values.get(key));
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,92 @@
+package me.elephantsuite.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+
+import jakarta.annotation.PreDestroy;
+import me.elephantsuite.ElephantBackendApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watches {@link PropertiesHandler#CONFIG_HOME_DIRECTORY} and reloads a handler's snapshot when its properties file is
+ * created or modified, so edits on disk take effect without a restart.
+ */
+@Component
+public class ConfigWatcher {
+
+	private static final List<PropertiesHandler> HANDLERS = List.of(
+		ElephantBackendApplication.ELEPHANT_CONFIG,
+		ElephantBackendApplication.AI_INTEGRATION
+	);
+
+	private WatchService watchService;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		try {
+			watchService = PropertiesHandler.CONFIG_HOME_DIRECTORY.getFileSystem().newWatchService();
+			PropertiesHandler.CONFIG_HOME_DIRECTORY.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			ElephantBackendApplication.LOGGER.error("Could not watch config directory \"" + PropertiesHandler.CONFIG_HOME_DIRECTORY + "\", config changes need a restart", e);
+			return;
+		}
+
+		Thread thread = new Thread(this::watch, "config-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@PreDestroy
+	public void stop() throws IOException {
+		if (watchService != null) {
+			watchService.close();
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.context() instanceof Path changed) {
+						reload(changed);
+					}
+				}
+
+				if (!key.reset()) {
+					ElephantBackendApplication.LOGGER.warn("Config directory is no longer watchable, config changes need a restart");
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException ignored) {
+			// shutting down
+		}
+	}
+
+	private void reload(Path changed) {
+		for (PropertiesHandler handler : HANDLERS) {
+			if (!handler.getPropertiesPath().getFileName().equals(changed.getFileName())) {
+				continue;
+			}
+
+			try {
+				handler.load();
+				ElephantBackendApplication.LOGGER.info("Reloaded config \"" + changed + "\"");
+			} catch (IOException | IllegalArgumentException e) {
+				// half written file, the write that finishes it fires another event
+				ElephantBackendApplication.LOGGER.warn("Could not reload config \"" + changed + "\"", e);
+			}
+		}
+	}
+}
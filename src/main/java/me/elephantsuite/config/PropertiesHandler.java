@@ -1,6 +1,8 @@
 package me.elephantsuite.config;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -14,12 +16,17 @@ import lombok.Getter;
 import lombok.SneakyThrows;
 import me.elephantsuite.ElephantBackendApplication;
 
+/**
+ * Properties file backed config. The current values live in an immutable {@link ConfigSnapshot} published through a
+ * volatile field, so reads never lock and always see a complete set of values. Writers (set, load, reload) are
+ * serialized and swap in a new snapshot. {@link ConfigWatcher} calls {@link #load()} when the file changes on disk.
+ */
 @Getter
 public class PropertiesHandler {
 
 	private final Path propertiesPath;
 
-	private final Map<String, String> configValues;
+	private volatile ConfigSnapshot snapshot;
 
 	public static final Path CONFIG_HOME_DIRECTORY = Paths.get("src", "main", "resources").resolve("Elephant Backend Config");
 
@@ -39,7 +46,7 @@ public class PropertiesHandler {
 	private PropertiesHandler(String filename, Map<String, String> configValues) {
 
 		this.propertiesPath = CONFIG_HOME_DIRECTORY.resolve(filename);
-		this.configValues = configValues;
+		this.snapshot = new ConfigSnapshot(configValues);
 	}
 
 	public void initialize() {
@@ -53,7 +60,8 @@ public class PropertiesHandler {
 
 	}
 
-	public void load() throws IOException {
+	// values in the file override the current ones, options missing from the file keep their value
+	public synchronized void load() throws IOException {
 
 		if (!Files.exists(propertiesPath)) {
 			// return bc the file has not been saved yet
@@ -62,13 +70,18 @@ public class PropertiesHandler {
 
 		Properties properties = new Properties();
 
-		properties.load(Files.newInputStream(propertiesPath));
+		try (InputStream stream = Files.newInputStream(propertiesPath)) {
+			properties.load(stream);
+		}
+
+		Map<String, String> values = new HashMap<>(snapshot.values());
 
-		properties.forEach((o, o2) -> configValues.put(o.toString(), o2.toString()));
+		properties.forEach((o, o2) -> values.put(o.toString(), o2.toString()));
 
+		this.snapshot = new ConfigSnapshot(values);
 	}
 
-	public void save() throws IOException {
+	public synchronized void save() throws IOException {
 
 		if (!Files.exists(propertiesPath.getParent())) {
 			throw new RuntimeException("Could not find directory \"" + propertiesPath.getParent() + "\"!");
@@ -76,21 +89,28 @@ public class PropertiesHandler {
 
 		Properties properties = new Properties();
 
-		properties.putAll(configValues);
-
-		properties.store(Files.newOutputStream(propertiesPath), "This stores the configuration properties for Elephant Backend");
+		properties.putAll(snapshot.values());
 
+		try (OutputStream stream = Files.newOutputStream(propertiesPath)) {
+			properties.store(stream, "This stores the configuration properties for Elephant Backend");
+		}
 	}
 
 	public static Builder builder() {
 		return new Builder();
 	}
 
-	public void setConfigOption(String option, String newValue) {
-		configValues.replace(option, newValue);
+	public synchronized void setConfigOption(String option, String newValue) {
+		if (!snapshot.values().containsKey(option)) {
+			return;
+		}
+
+		Map<String, String> values = new HashMap<>(snapshot.values());
+		values.put(option, newValue);
+		this.snapshot = new ConfigSnapshot(values);
 	}
 
-	public void reload() {
+	public synchronized void reload() {
 		try {
 			save();
 			load();
@@ -104,8 +124,20 @@ public class PropertiesHandler {
 		return parser.apply(getConfigOption(key));
 	}
 
+	public int getInt(String key) {
+		return snapshot.getInt(key);
+	}
+
+	public long getLong(String key) {
+		return snapshot.getLong(key);
+	}
+
+	public boolean getBoolean(String key) {
+		return snapshot.getBoolean(key);
+	}
+
 	public String getConfigOption(String key) {
-		String value = configValues.get(key);
+		String value = snapshot.getString(key);
 
 		if (!value.endsWith(".html")) {
 			return value;
@@ -131,11 +163,12 @@ public class PropertiesHandler {
 	}
 
 	public boolean hasConfigOption(String key) {
-		return configValues.get(key) != null && !configValues.get(key).isEmpty();
+		String value = snapshot.getString(key);
+		return value != null && !value.isEmpty();
 	}
 
 	public boolean containsKey(String key) {
-		return configValues.containsKey(key);
+		return snapshot.values().containsKey(key);
 	}
 
 
@@ -172,7 +205,7 @@ public class PropertiesHandler {
 			.append(": ")
 			.append("{\n");
 
-		configValues.forEach((s, s2) -> {
+		snapshot.values().forEach((s, s2) -> {
 			builder
 				.append("\"")
 				.append(s)
@@ -3,29 +3,25 @@ package me.elephantsuite.deck;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import me.elephantsuite.deck.card.Card;
-import me.elephantsuite.deck.card.CardService;
-import me.elephantsuite.deck.controller.DeckService;
 import me.elephantsuite.response.json.DeckSerializer;
 import me.elephantsuite.user.ElephantUser;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
 @Entity
+@Table(indexes = @Index(name = "deck_elephant_user_id", columnList = "elephant_user_id"))
 @Getter
 @Setter
-@EqualsAndHashCode
 @ToString
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @JsonSerialize(using = DeckSerializer.class)
@@ -37,6 +33,8 @@ public class Deck {
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deck_sequence")
 	private Long id;
 
+	// only written by the atomic UPDATE in the repository, in-memory changes just mirror it
+	@Column(updatable = false)
 	private int numberOfLikes = 0;
 
 	@Enumerated(EnumType.STRING)
@@ -49,6 +47,7 @@ public class Deck {
 
 	@OneToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REFRESH}, orphanRemoval = false, fetch = FetchType.EAGER)
 	@Fetch(value = FetchMode.SUBSELECT)
+	@JoinTable(name = "deck_cards", indexes = @Index(name = "deck_cards_deck", columnList = "deck_id"))
 	private List<Card> cards = new ArrayList<>();
 
 	@ElementCollection(fetch = FetchType.EAGER)
@@ -66,15 +65,22 @@ public class Deck {
 		this.visibility = visibility;
 	}
 
-	public void likeDeck() {
-		numberOfLikes++;
-	}
+	// identity is the id, comparing decks never walks their cards or author
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj instanceof Deck deck) {
+			return this.id != null && this.id.equals(deck.getId());
+		}
 
-	public void unlikeDeck() {
-		numberOfLikes--;
+		return false;
 	}
 
-	public void resetTerms(Map<String, List<String>> newTerms, CardService cardService) {
-		this.cards = DeckService.convertToCards(newTerms, this, cardService);
+	@Override
+	public int hashCode() {
+		return Deck.class.hashCode();
 	}
 }
@@ -1,24 +1,56 @@
 package me.elephantsuite.deck;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import me.elephantsuite.deck.search.DeckIndexEntry;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface DeckRepository extends JpaRepository<Deck, Long> {
 
+	@Transactional
+	@Modifying
+	@Query(value = "UPDATE deck SET number_of_likes = number_of_likes + ?2 WHERE id = ?1", nativeQuery = true)
+	int addLikes(long id, int delta);
+
 	@Transactional
 	@Modifying
 	@Query("DELETE FROM Deck d WHERE d.id = ?1")
 	int deleteDeckById(long id);
 
+	// keyset pagination, pass the last id of the previous page (or -1) and a page size
 	@Transactional
-	@Query(value = "SELECT * FROM deck", nativeQuery = true)
-	List<Deck> getAllDecks();
+	@Query("SELECT new me.elephantsuite.deck.DeckSummary(d.id, d.name, a.id, d.visibility, d.numberOfLikes, SIZE(d.cards), d.created) FROM Deck d LEFT JOIN d.author a WHERE d.id > ?1 ORDER BY d.id")
+	List<DeckSummary> getDeckSummariesAfter(long afterId, Pageable pageable);
+
+	// must be consumed (and closed) inside a transaction, summaries are not managed so the persistence context stays empty
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"))
+	@Query("SELECT new me.elephantsuite.deck.DeckSummary(d.id, d.name, a.id, d.visibility, d.numberOfLikes, SIZE(d.cards), d.created) FROM Deck d LEFT JOIN d.author a ORDER BY d.id")
+	Stream<DeckSummary> streamAllDeckSummaries();
+
+	@Transactional
+	@Query("SELECT d.name FROM Deck d WHERE d.id = ?1")
+	String getDeckName(long id);
+
+	@Transactional
+	@Query(value = "SELECT c.term FROM deck_cards dc JOIN card c ON c.id = dc.cards_id WHERE dc.deck_id = ?1 AND c.term IN ?2", nativeQuery = true)
+	List<String> getDeckTerms(long deckId, Collection<String> terms);
+
+	// the cards must already be inserted
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO deck_cards (deck_id, cards_id) SELECT ?1, c.id FROM card c WHERE c.id IN ?2", nativeQuery = true)
+	int addCardsToDeck(long deckId, Collection<Long> cardIds);
 
 	@Transactional
 	@Modifying
@@ -28,4 +60,16 @@ public interface DeckRepository extends JpaRepository<Deck, Long> {
 	@Transactional
 	@Query(value = "SELECT * FROM deck WHERE deck.elephant_user_id = ?1", nativeQuery = true)
 	List<Deck> getDecksByUserId(long id);
+
+	@Transactional
+	@Query("SELECT new me.elephantsuite.deck.DeckSummary(d.id, d.name, a.id, d.visibility, d.numberOfLikes, SIZE(d.cards), d.created) FROM Deck d LEFT JOIN d.author a WHERE d.id IN ?1")
+	List<DeckSummary> getDeckSummariesByIds(Collection<Long> ids);
+
+	@Transactional
+	@Query("SELECT d.id AS id, d.name AS name, d.visibility AS visibility, a.id AS authorId FROM Deck d LEFT JOIN d.author a")
+	List<DeckIndexEntry> getDeckIndexEntries();
+
+	@Transactional
+	@Query(value = "SELECT deck_id, shared_users_ids FROM deck_shared_users_ids", nativeQuery = true)
+	List<Object[]> getDeckSharedUserPairs();
 }
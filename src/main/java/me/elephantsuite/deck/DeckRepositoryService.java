@@ -1,17 +1,31 @@
 package me.elephantsuite.deck;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.deck.card.Card;
 import me.elephantsuite.deck.card.CardService;
+import me.elephantsuite.deck.search.DeckNameIndex;
 import me.elephantsuite.folder.FolderRepository;
 import me.elephantsuite.folder.FolderRepositoryService;
-import me.elephantsuite.stats.ElephantUserStatisticsRepository;
+import me.elephantsuite.stats.recent.RecentlyViewedService;
+import me.elephantsuite.stats.recent.RecentlyViewedType;
 import me.elephantsuite.user.ElephantUserRepository;
 import me.elephantsuite.user.notification.NotificationRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,10 +42,18 @@ public class DeckRepositoryService {
 
 	private final ElephantUserRepository elephantUserRepository;
 
-	private final ElephantUserStatisticsRepository elephantUserStatisticsRepository;
+	private final RecentlyViewedService recentlyViewedService;
+
+	private final DeckNameIndex deckNameIndex;
+
+	private final EntityManager entityManager;
 
 	public Deck saveDeck(Deck deck) {
-		return deckRepository.save(deck);
+		deck = deckRepository.save(deck);
+
+		deckNameIndex.put(deck);
+
+		return deck;
 	}
 
 	public Deck getDeckById(long id) {
@@ -42,13 +64,90 @@ public class DeckRepositoryService {
 		return null;
 	}
 
-	public List<Deck> getAllDecks() {
-		return deckRepository.getAllDecks();
+	// checks the id without loading the deck or its cards
+	public boolean deckExists(long id) {
+		return deckRepository.existsById(id);
+	}
+
+	// null if there is no such deck, reads only the name column
+	public String getDeckName(long id) {
+		return deckRepository.getDeckName(id);
+	}
+
+	// the given terms that a card of the deck already has
+	public Set<String> getDeckTerms(long deckId, Collection<String> terms) {
+		if (terms.isEmpty()) {
+			return Set.of();
+		}
+
+		return new HashSet<>(deckRepository.getDeckTerms(deckId, terms));
+	}
+
+	// links saved cards to the deck without loading the deck or its cards
+	public void addCardsToDeck(long deckId, List<Card> cards) {
+		if (cards.isEmpty()) {
+			return;
+		}
+
+		// the join rows point at the cards, so they have to be inserted first
+		entityManager.flush();
+		deckRepository.addCardsToDeck(deckId, cards.stream().map(Card::getId).toList());
+	}
+
+	// applies the like delta in the database and mirrors it on the loaded deck
+	public void addLikes(Deck deck, int delta) {
+		deckRepository.addLikes(deck.getId(), delta);
+		deck.setNumberOfLikes(deck.getNumberOfLikes() + delta);
+	}
+
+	public List<DeckSummary> getDeckSummariesAfter(long afterId, int limit) {
+		return deckRepository.getDeckSummariesAfter(afterId, PageRequest.of(0, limit));
+	}
+
+	// hands the summaries of every deck, in id order and read as they are consumed, to the consumer
+	@Transactional(readOnly = true)
+	public void withAllDeckSummaries(Consumer<Stream<DeckSummary>> consumer) {
+		try (Stream<DeckSummary> decks = deckRepository.streamAllDeckSummaries()) {
+			consumer.accept(decks);
+		}
+	}
+
+	public long countDecks() {
+		return deckRepository.count();
+	}
+
+	// name search goes through the in-memory index and only loads summaries of the decks that matched
+	public List<DeckSummary> searchDecksByName(String name, long userId) {
+		return getDeckSummaries(deckNameIndex.search(name, userId));
+	}
+
+	// summaries in the order of the given ids, ids without a deck are skipped
+	public List<DeckSummary> getDeckSummaries(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Map<Long, DeckSummary> summaries = deckRepository
+			.getDeckSummariesByIds(ids)
+			.stream()
+			.collect(Collectors.toMap(DeckSummary::id, Function.identity()));
+
+		return ids
+			.stream()
+			.map(summaries::get)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toList());
+	}
+
+	public DeckSummary getDeckSummaryById(long id) {
+		List<DeckSummary> summaries = deckRepository.getDeckSummariesByIds(List.of(id));
+
+		return summaries.isEmpty() ? null : summaries.get(0);
 	}
 
 	public void deleteDeck(Deck deck, CardService cardService) {
 
-		cardService.deleteCardsNotBackpacked(deck.getCards());
+		cardService.deleteDeckCardsNotBackpacked(deck.getId());
 
 		deck.setCards(new ArrayList<>());
 
@@ -62,14 +161,16 @@ public class DeckRepositoryService {
 
 		elephantUserRepository.deleteSharedDecksFromUser(deck.getId());
 
-		elephantUserStatisticsRepository.deleteRecentlyViewedDeck(deck.getId());
+		recentlyViewedService.deleteTarget(RecentlyViewedType.DECK, deck.getId());
+
+		deckNameIndex.remove(deck.getId());
 	}
 	public List<Deck> getDecksByUser(long userId) {
 		return deckRepository.getDecksByUserId(userId);
 	}
 
 	public void saveAll(List<Deck> decks) {
-		deckRepository.saveAll(decks);
+		deckRepository.saveAll(decks).forEach(deckNameIndex::put);
 	}
 
 	public void deleteUserFromSharedUserIds(long userId) {
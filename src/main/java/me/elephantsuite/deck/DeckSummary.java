@@ -0,0 +1,12 @@
+package me.elephantsuite.deck;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import me.elephantsuite.response.json.DeckSummarySerializer;
+
+/**
+ * Card-less view of a {@link Deck} for listings, built straight from a query so the deck's cards are never loaded.
+ */
+@JsonSerialize(using = DeckSummarySerializer.class)
+public record DeckSummary(long id, String name, Long authorId, DeckVisibility visibility, int numberOfLikes, int cardCount, LocalDateTime created) {}
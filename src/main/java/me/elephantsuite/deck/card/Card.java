@@ -37,7 +37,7 @@ import org.hibernate.annotations.FetchMode;
 public class Card {
 	@Id
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_generator")
-	@SequenceGenerator(name = "card_generator", sequenceName = "card_sequence", allocationSize = 1)
+	@SequenceGenerator(name = "card_generator", sequenceName = "card_sequence", allocationSize = 50)
 	@Column(name = "id", nullable = false)
 	private Long id;
 
@@ -53,9 +53,13 @@ public class Card {
 	private String deckName;
 
 	public Card(String term, List<String> definitions, Deck deck)  {
+		this(term, definitions, deck.getName());
+	}
+
+	public Card(String term, List<String> definitions, String deckName) {
 		this.term = term;
 		this.definitions = definitions;
-		this.deckName = deck.getName();
+		this.deckName = deckName;
 	}
 
 	@Override
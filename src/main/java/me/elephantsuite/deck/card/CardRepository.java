@@ -1,5 +1,6 @@
 package me.elephantsuite.deck.card;
 
+import java.util.Collection;
 import java.util.List;
 
 import me.elephantsuite.user.ElephantUser;
@@ -23,13 +24,25 @@ public interface CardRepository extends JpaRepository<Card, Long> {
 	int deleteCardByID(long id);
 
 	@Transactional
-	@Query(value = "SELECT backpack_id FROM backpack_cards WHERE backpack_cards.cards_id = ?1", nativeQuery = true)
-	List<Long> backpackIdsMatchWithCard(long cardId);
+	@Query(value = "SELECT DISTINCT cards_id FROM backpack_cards WHERE cards_id IN ?1", nativeQuery = true)
+	List<Long> getBackpackedCardIds(Collection<Long> cardIds);
 
+	// the queries below act on every card of a deck that is not in any backpack, they must run in this order
+
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM card_definitions WHERE card_id IN (SELECT dc.cards_id FROM deck_cards dc WHERE dc.deck_id = ?1 AND NOT EXISTS (SELECT 1 FROM backpack_cards bc WHERE bc.cards_id = dc.cards_id))", nativeQuery = true)
+	int deleteDeckCardDefinitionsNotBackpacked(long deckId);
+
+	// removes the deck_cards rows and the cards they point to in one statement
 	@Modifying
 	@Transactional
-	@Query(value = "DELETE FROM deck_cards WHERE deck_cards.cards_id = ?1", nativeQuery = true)
-	int deleteCardsFromDeckTable(long cardId);
+	@Query(value = "WITH removed AS (DELETE FROM deck_cards dc WHERE dc.deck_id = ?1 AND NOT EXISTS (SELECT 1 FROM backpack_cards bc WHERE bc.cards_id = dc.cards_id) RETURNING dc.cards_id) DELETE FROM card WHERE id IN (SELECT cards_id FROM removed)", nativeQuery = true)
+	int deleteDeckCardsNotBackpacked(long deckId);
+
+	@Transactional
+	@Query(value = "SELECT id FROM card WHERE id IN ?1", nativeQuery = true)
+	List<Long> getExistingCardIds(Collection<Long> cardIds);
 
 	@Query(value = "SELECT * FROM card", nativeQuery = true)
 	List<Card> getAllCards();
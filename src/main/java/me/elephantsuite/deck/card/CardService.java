@@ -1,6 +1,13 @@
 package me.elephantsuite.deck.card;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import me.elephantsuite.deck.Deck;
@@ -25,8 +32,8 @@ public class CardService {
 
 		return null;
 	}
-	public void saveAll(List<Card> cards) {
-		this.repository.saveAll(cards);
+	public List<Card> saveAll(List<Card> cards) {
+		return this.repository.saveAll(cards);
 	}
 
 	public void deleteAll(List<Card> cards) {
@@ -42,23 +49,64 @@ public class CardService {
 	}
 
 	public long deleteCardById(long id) {
-		cardStatisticsRepository.deleteCardStatisticsMapping(id);
 		cardStatisticsRepository.deleteCardStatistics(id);
 		return repository.deleteCardByID(id);
 	}
 
+	// deletes every card of the deck that is not in a backpack, with a fixed number of statements however big the deck is
+	public void deleteDeckCardsNotBackpacked(long deckId) {
+		cardStatisticsRepository.deleteDeckCardStatisticsNotBackpacked(deckId);
+		repository.deleteDeckCardDefinitionsNotBackpacked(deckId);
+		repository.deleteDeckCardsNotBackpacked(deckId);
+	}
+
+	// deletes the given cards, apart from those that are in a backpack, with their statistics
 	public void deleteCardsNotBackpacked(List<Card> cards) {
-		cards.forEach(card -> {
-			List<Long> backpackIds = repository.backpackIdsMatchWithCard(card.getId());
-
-			if (backpackIds.isEmpty()) {
-				repository.deleteCardsFromDeckTable(card.getId());
-				deleteCardById(card.getId());
-			}
-		});
+		Set<Long> backpacked = new HashSet<>(repository.getBackpackedCardIds(cards.stream().map(Card::getId).toList()));
+
+		List<Card> deletable = cards
+			.stream()
+			.filter(card -> !backpacked.contains(card.getId()))
+			.toList();
+
+		if (deletable.isEmpty()) {
+			return;
+		}
+
+		List<Long> deletableIds = deletable.stream().map(Card::getId).toList();
+
+		cardStatisticsRepository.deleteCardStatisticsByCardIds(deletableIds);
+		repository.deleteAll(deletable);
 	}
 
 	public List<Card> getAllCards() {
 		return repository.getAllCards();
 	}
+
+	// the ids of the given cards that exist
+	public Set<Long> getExistingCardIds(Collection<Long> cardIds) {
+		if (cardIds.isEmpty()) {
+			return Set.of();
+		}
+
+		return new HashSet<>(repository.getExistingCardIds(cardIds));
+	}
+
+	// the cards with the given ids in the order of the ids, ids of missing cards are skipped
+	public List<Card> getCardsByIds(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+
+		Map<Long, Card> cards = repository
+			.findAllById(ids)
+			.stream()
+			.collect(Collectors.toMap(Card::getId, Function.identity()));
+
+		return ids
+			.stream()
+			.map(cards::get)
+			.filter(Objects::nonNull)
+			.toList();
+	}
 }
@@ -2,13 +2,17 @@ package me.elephantsuite.deck.controller;
 
 import lombok.AllArgsConstructor;
 import me.elephantsuite.response.api.Response;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(path = "deck")
@@ -37,9 +41,27 @@ public class DeckController {
 		return deckService.getByName(id, name);
 	}
 
+	@GetMapping(path = "getLiked")
+	public Response getLikedDecks(@RequestParam("userId") long userId) {
+		return deckService.getLikedDecks(userId);
+	}
+
+	@GetMapping(path = "getRecentlyViewed")
+	public Response getRecentlyViewedDecks(@RequestParam("userId") long userId) {
+		return deckService.getRecentlyViewedDecks(userId);
+	}
+
 	@GetMapping(path = "getAll")
-	public Response getAllDecks() {
-		return deckService.getAllDecks();
+	public Response getAllDecks(@RequestParam(value = "after", defaultValue = "-1") long afterId, @RequestParam(value = "limit", defaultValue = "100") int limit) {
+		return deckService.getAllDecks(afterId, limit);
+	}
+
+	@GetMapping(path = "getAll/stream")
+	public ResponseEntity<StreamingResponseBody> streamAllDecks() {
+		return ResponseEntity
+			.ok()
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(deckService.streamAllDecks());
 	}
 
 	@PostMapping(path = "rename")
@@ -53,6 +75,11 @@ public class DeckController {
 	}
 
 
+	@PatchMapping(path = "cards")
+	public Response patchCards(@RequestBody DeckRequest.PatchCards patchCards) {
+		return deckService.patchCards(patchCards);
+	}
+
 	@DeleteMapping(path = "delete")
 	public Response deleteDeck(@RequestParam("id") long id) {
 		return deckService.deleteDeck(id);
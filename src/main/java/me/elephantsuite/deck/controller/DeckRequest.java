@@ -80,4 +80,36 @@ public class DeckRequest {
 
 		private final long sharedUserId;
 	}
+
+	@Getter
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	@ToString
+	public static class PatchCards {
+
+		private final long deckId;
+
+		// new term -> definitions
+		private final Map<String, List<String>> add;
+
+		private final List<UpdateCard> update;
+
+		// ids of cards to remove from the deck
+		private final List<Long> remove;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	@ToString
+	public static class UpdateCard {
+
+		private final long cardId;
+
+		// null keeps the current term
+		private final String term;
+
+		// null keeps the current definitions
+		private final List<String> definitions;
+	}
 }
@@ -1,13 +1,20 @@
 package me.elephantsuite.deck.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import me.elephantsuite.deck.Deck;
 import me.elephantsuite.deck.DeckRepositoryService;
+import me.elephantsuite.deck.DeckSummary;
 import me.elephantsuite.deck.DeckVisibility;
 import me.elephantsuite.deck.card.Card;
 import me.elephantsuite.deck.card.CardService;
@@ -23,11 +30,15 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.stats.medal.MedalService;
 import me.elephantsuite.stats.medal.MedalType;
+import me.elephantsuite.stats.recent.RecentlyViewedService;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
-import org.apache.commons.lang3.StringUtils;
+import me.elephantsuite.user.UserLoadProfile;
+import me.elephantsuite.user.like.LikeService;
+import me.elephantsuite.user.like.LikeType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 @AllArgsConstructor
@@ -42,6 +53,14 @@ public class DeckService {
 
 	private final MedalService medalService;
 
+	private final ObjectMapper objectMapper;
+
+	private final LikeService likeService;
+
+	private final RecentlyViewedService recentlyViewedService;
+
+	private static final int MAX_PAGE_SIZE = 500;
+
 	public Response createDeck(DeckRequest.CreateDeck request) {
 		Map<String, List<String>> terms = request.getTerms();
 		long authorId = request.getAuthorId();
@@ -78,7 +97,7 @@ public class DeckService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Created Deck!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.LIBRARY.load(user))
 			.addObject("deck", deck)
 			.build();
 	}
@@ -100,47 +119,102 @@ public class DeckService {
 		return null;
 	}
 
+	/**
+	 * Returns a term that a patch renames a card to or adds and that more than one card of the deck would have once
+	 * the patch is applied, or null if there is none. Keeps decks to one card per term like {@link #resetTerms}, but
+	 * does not reject patches over duplicates the deck already had.
+	 *
+	 * @param terms current term by card id
+	 * @param renames new term by card id
+	 */
+	public static String findDuplicateTerm(Map<Long, String> terms, Map<Long, String> renames, Collection<Long> removed, Collection<String> added) {
+		Map<String, Integer> counts = new HashMap<>();
+
+		terms.forEach((id, term) -> {
+			if (!removed.contains(id)) {
+				counts.merge(renames.getOrDefault(id, term), 1, Integer::sum);
+			}
+		});
+
+		added.forEach(term -> counts.merge(term, 1, Integer::sum));
+
+		for (Map.Entry<Long, String> rename : renames.entrySet()) {
+			if (!removed.contains(rename.getKey()) && counts.get(rename.getValue()) > 1) {
+				return rename.getValue();
+			}
+		}
+
+		for (String term : added) {
+			if (counts.get(term) > 1) {
+				return term;
+			}
+		}
+
+		return null;
+	}
+
+	// persisted in one saveAll so the inserts go out as JDBC batches with pooled ids
 	public static List<Card> convertToCards(Map<String, List<String>> cardsMap, Deck deck, CardService cardService) {
-		List<Card> cards = new ArrayList<>();
+		List<Card> cards = new ArrayList<>(cardsMap.size());
 
-		cardsMap.forEach((s, strings) -> {
-			Card card = new Card(s, strings, deck);
-			cards.add(card);
-			cardService.saveCard(card);
-		});
+		cardsMap.forEach((s, strings) -> cards.add(new Card(s, strings, deck)));
 
-		return cards;
+		return cardService.saveAll(cards);
 	}
 
 	public Response likeDeck(DeckRequest.LikeDeck likeDeck) {
 		Deck deck = checkDeck(likeDeck.getDeckId());
 
-		ElephantUser user = ResponseUtil.checkUserValid(likeDeck.getUserId(), userService);
-
-		deck.likeDeck();
-
-		deck = service.saveDeck(deck);
+		ResponseUtil.checkUserEnabled(likeDeck.getUserId(), userService);
 
-		user.getLikedDecksIds().add(likeDeck.getDeckId());
+		boolean liked = likeService.like(likeDeck.getUserId(), LikeType.DECK, deck.getId());
 
-		user = userService.saveUser(user);
+		if (liked) {
+			service.addLikes(deck, 1);
+		}
 
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Favorited Deck!")
 			.addObject("deck", deck)
-			.addObject("user", user)
+			.addObject("changed", liked)
 			.build();
 	}
 
-	public Response getAllDecks() {
+	// a page of deck summaries, the same shape streamAllDecks writes, a deck with its cards comes from deck/get
+	public Response getAllDecks(long afterId, int limit) {
+		limit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+		List<DeckSummary> decks = service.getDeckSummariesAfter(afterId, limit);
+
+		// -1 once there are no more pages
+		long nextCursor = decks.size() < limit ? -1 : decks.get(decks.size() - 1).id();
+
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Retrieved All Decks!")
-			.addObject("decks", this.service.getAllDecks())
+			.addObject("decks", decks)
+			.addObject("nextCursor", nextCursor)
 			.build();
 	}
 
+	// the summary of every deck, written one by one as they are read so nothing is held in memory
+	public StreamingResponseBody streamAllDecks() {
+		return outputStream -> service.withAllDeckSummaries(decks -> {
+			Response response = ResponseBuilder
+				.create()
+				.addResponse(ResponseStatus.SUCCESS, "Retrieved All Decks!")
+				.addObject("decks", decks.iterator())
+				.build();
+
+			try {
+				objectMapper.writeValue(outputStream, response);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
 	public Response renameDeck(DeckRequest.RenameDeck renameDeck) {
 		Deck deck = checkDeck(renameDeck.getDeckId());
 
@@ -162,14 +236,31 @@ public class DeckService {
 
 	public Response resetTerms(DeckRequest.ResetTerms resetTerms) {
 		Deck deck = checkDeck(resetTerms.getDeckId());
+		Map<String, List<String>> newTerms = resetTerms.getNewTerms();
 
-		String error = hasInvalidTag(resetTerms.getNewTerms());
+		String error = hasInvalidTag(newTerms);
 
 		if (error != null) {
 			throw new InvalidTagInputException(error);
 		}
 
-		deck.resetTerms(resetTerms.getNewTerms(), this.cardService);
+		// cards whose term is still there keep their id and statistics, only their definitions are updated if they changed
+		Map<String, Card> kept = new HashMap<>();
+		List<Card> removed = new ArrayList<>();
+
+		for (Card card : deck.getCards()) {
+			if (!newTerms.containsKey(card.getTerm()) || kept.putIfAbsent(card.getTerm(), card) != null) {
+				removed.add(card);
+			}
+		}
+
+		kept.forEach((term, card) -> updateDefinitions(card, newTerms.get(term)));
+
+		Map<String, List<String>> added = new LinkedHashMap<>(newTerms);
+		added.keySet().removeAll(kept.keySet());
+
+		removeCards(deck, removed);
+		deck.getCards().addAll(convertToCards(added, deck, cardService));
 
 		deck = service.saveDeck(deck);
 
@@ -180,6 +271,98 @@ public class DeckService {
 			.build();
 	}
 
+	public Response patchCards(DeckRequest.PatchCards patchCards) {
+		Deck deck = checkDeck(patchCards.getDeckId());
+		Map<String, List<String>> add = patchCards.getAdd() == null ? new HashMap<>() : patchCards.getAdd();
+		List<DeckRequest.UpdateCard> update = patchCards.getUpdate() == null ? new ArrayList<>() : patchCards.getUpdate();
+		List<Long> remove = patchCards.getRemove() == null ? new ArrayList<>() : patchCards.getRemove();
+
+		String error = hasInvalidTag(add);
+
+		if (error != null) {
+			throw new InvalidTagInputException(error);
+		}
+
+		for (DeckRequest.UpdateCard updateCard : update) {
+			if (updateCard.getTerm() != null && RegistrationService.isInvalidName(updateCard.getTerm())) {
+				throw new InvalidTagInputException(updateCard.getTerm());
+			}
+
+			if (updateCard.getDefinitions() != null) {
+				for (String definition : updateCard.getDefinitions()) {
+					if (RegistrationService.isInvalidName(definition)) {
+						throw new InvalidTagInputException(definition);
+					}
+				}
+			}
+		}
+
+		Map<Long, Card> cards = new HashMap<>();
+		deck.getCards().forEach(card -> cards.put(card.getId(), card));
+
+		if (!cards.keySet().containsAll(remove) || update.stream().anyMatch(updateCard -> !cards.containsKey(updateCard.getCardId()))) {
+			throw new InvalidIdException(patchCards, InvalidIdType.CARD);
+		}
+
+		Map<Long, String> terms = new HashMap<>();
+		cards.forEach((id, card) -> terms.put(id, card.getTerm()));
+
+		Map<Long, String> renames = new HashMap<>();
+		update
+			.stream()
+			.filter(updateCard -> updateCard.getTerm() != null && !updateCard.getTerm().equals(terms.get(updateCard.getCardId())))
+			.forEach(updateCard -> renames.put(updateCard.getCardId(), updateCard.getTerm()));
+
+		String duplicate = findDuplicateTerm(terms, renames, new HashSet<>(remove), add.keySet());
+
+		if (duplicate != null) {
+			return ResponseBuilder
+				.create()
+				.addResponse(ResponseStatus.FAILURE, "Deck Already Has Term!")
+				.addObject("term", duplicate)
+				.build();
+		}
+
+		for (DeckRequest.UpdateCard updateCard : update) {
+			Card card = cards.get(updateCard.getCardId());
+
+			if (updateCard.getTerm() != null && !updateCard.getTerm().equals(card.getTerm())) {
+				card.setTerm(updateCard.getTerm());
+			}
+
+			if (updateCard.getDefinitions() != null) {
+				updateDefinitions(card, updateCard.getDefinitions());
+			}
+		}
+
+		removeCards(deck, remove.stream().distinct().map(cards::get).toList());
+		deck.getCards().addAll(convertToCards(add, deck, cardService));
+
+		deck = service.saveDeck(deck);
+
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Patched Deck Cards!")
+			.addObject("deck", deck)
+			.build();
+	}
+
+	private static void updateDefinitions(Card card, List<String> definitions) {
+		// compare from the plain list, the persistent bag only has identity equals
+		if (!definitions.equals(card.getDefinitions())) {
+			card.setDefinitions(new ArrayList<>(definitions));
+		}
+	}
+
+	private void removeCards(Deck deck, List<Card> cards) {
+		if (cards.isEmpty()) {
+			return;
+		}
+
+		deck.getCards().removeAll(cards);
+		cardService.deleteCardsNotBackpacked(cards);
+	}
+
 	public Response deleteDeck(long id) {
 		Deck deck = checkDeck(id);
 
@@ -242,7 +425,7 @@ public class DeckService {
 				.create()
 				.addResponse(ResponseStatus.SUCCESS, "Unshared Deck from User!")
 				.addObject("deck", deck)
-				.addObject("user", user)
+				.addObject("user", UserLoadProfile.LIBRARY.load(user))
 				.build();
 	}
 
@@ -292,41 +475,29 @@ public class DeckService {
 	public Response unlikeDeck(DeckRequest.LikeDeck likeDeck) {
 		Deck deck = checkDeck(likeDeck.getDeckId());
 
-		ElephantUser user = ResponseUtil.checkUserValid(likeDeck.getUserId(), userService);
+		ResponseUtil.checkUserEnabled(likeDeck.getUserId(), userService);
 
-		deck.unlikeDeck();
+		boolean unliked = likeService.unlike(likeDeck.getUserId(), LikeType.DECK, deck.getId());
 
-		deck = service.saveDeck(deck);
-
-		user.getLikedDecksIds().remove(likeDeck.getDeckId());
-
-		user = userService.saveUser(user);
+		if (unliked) {
+			service.addLikes(deck, -1);
+		}
 
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Unliked Deck!")
 			.addObject("deck", deck)
-			.addObject("user", user)
+			.addObject("changed", unliked)
 			.build();
 	}
 
 	public Response getByName(long userId, String name) {
-
-		List<Deck> filteredDecks = service
-			.getAllDecks()
-			.stream()
-			.filter(deck -> StringUtils.containsIgnoreCase(deck.getName(), name))
-			.collect(Collectors.toList());
-
 		if (userId != -1) {
-			ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
-
-			filteredDecks = filteredDecks
-				.stream()
-				.filter(deck -> deck.getVisibility().equals(DeckVisibility.PUBLIC) || (deck.getVisibility().equals(DeckVisibility.SHARED) && deck.getSharedUsersIds().contains(userId)) || deck.getAuthor().equals(user))
-				.toList();
+			ResponseUtil.checkUserEnabled(userId, userService);
 		}
 
+		List<DeckSummary> filteredDecks = service.searchDecksByName(name, userId);
+
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Retrieved Decks with Name!")
@@ -334,6 +505,27 @@ public class DeckService {
 			.build();
 	}
 
+	public Response getLikedDecks(long userId) {
+		ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
+
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved Liked Decks!")
+			.addObject("decks", service.getDeckSummaries(user.getLikedDecksIds()))
+			.build();
+	}
+
+	// summaries come from one query joining the history to the decks, the user is not loaded
+	public Response getRecentlyViewedDecks(long userId) {
+		ResponseUtil.checkUserEnabled(userId, userService);
+
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved Recently Viewed Decks!")
+			.addObject("decks", recentlyViewedService.getDeckSummaries(userId))
+			.build();
+	}
+
 	public Response deleteCard(long cardId) {
 		Card card = cardService.getCardById(cardId);
 
@@ -0,0 +1,15 @@
+package me.elephantsuite.deck.search;
+
+import me.elephantsuite.deck.DeckVisibility;
+
+// projection of only the deck columns the name index needs (no cards or shared users)
+public interface DeckIndexEntry {
+
+	Long getId();
+
+	String getName();
+
+	DeckVisibility getVisibility();
+
+	Long getAuthorId();
+}
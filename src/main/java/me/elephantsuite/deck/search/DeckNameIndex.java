@@ -0,0 +1,250 @@
+package me.elephantsuite.deck.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.deck.Deck;
+import me.elephantsuite.deck.DeckRepository;
+import me.elephantsuite.deck.DeckVisibility;
+import me.elephantsuite.search.NGramIndex;
+import me.elephantsuite.util.AfterCommit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory search index over deck names.
+ *
+ * <p>Names go into an {@link NGramIndex}; visibility, sharing and authorship are kept as posting lists next to it,
+ * so a search never has to touch the deck table until the matching ids are hydrated.
+ *
+ * <p>Changes are taken from the deck when they are made but only applied once the surrounding transaction commits.
+ */
+@Component
+public class DeckNameIndex {
+
+	private final DeckRepository deckRepository;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final NGramIndex names = new NGramIndex();
+
+	private final Map<Long, IndexedDeck> decks = new HashMap<>();
+
+	private final Set<Long> publicDecks = new HashSet<>();
+
+	// user id -> ids of SHARED decks that are shared with that user
+	private final Map<Long, Set<Long>> sharedDecksByUser = new HashMap<>();
+
+	// user id -> ids of decks authored by that user
+	private final Map<Long, Set<Long>> decksByAuthor = new HashMap<>();
+
+	public DeckNameIndex(DeckRepository deckRepository) {
+		this.deckRepository = deckRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		Map<Long, Set<Long>> sharedUsersByDeck = new HashMap<>();
+
+		for (Object[] row : deckRepository.getDeckSharedUserPairs()) {
+			long deckId = ((Number) row[0]).longValue();
+			long userId = ((Number) row[1]).longValue();
+			sharedUsersByDeck.computeIfAbsent(deckId, k -> new HashSet<>()).add(userId);
+		}
+
+		List<DeckIndexEntry> entries = deckRepository.getDeckIndexEntries();
+
+		lock.writeLock().lock();
+		try {
+			clear();
+
+			for (DeckIndexEntry entry : entries) {
+				add(new IndexedDeck(
+					entry.getId(),
+					entry.getName(),
+					entry.getVisibility(),
+					entry.getAuthorId(),
+					sharedUsersByDeck.getOrDefault(entry.getId(), Collections.emptySet())
+				));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		ElephantBackendApplication.LOGGER.info("Indexed " + entries.size() + " deck names for search");
+	}
+
+	// adds the deck or refreshes it if its name, visibility, author or shared users changed
+	public void put(Deck deck) {
+		if (deck.getId() == null) {
+			return;
+		}
+
+		IndexedDeck indexed = new IndexedDeck(
+			deck.getId(),
+			deck.getName(),
+			deck.getVisibility(),
+			deck.getAuthor() == null ? null : deck.getAuthor().getId(),
+			new HashSet<>(deck.getSharedUsersIds())
+		);
+
+		AfterCommit.run(() -> put(indexed));
+	}
+
+	public void remove(long deckId) {
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				IndexedDeck old = decks.get(deckId);
+
+				if (old != null) {
+					remove(old);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	// drops every deck authored by the user and every share with the user, used when a user is deleted
+	public void removeUser(long userId) {
+		AfterCommit.run(() -> removeUserNow(userId));
+	}
+
+	private void put(IndexedDeck indexed) {
+		lock.writeLock().lock();
+		try {
+			IndexedDeck old = decks.get(indexed.id());
+
+			if (indexed.equals(old)) {
+				return;
+			}
+
+			if (old != null) {
+				remove(old);
+			}
+
+			add(indexed);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeUserNow(long userId) {
+		lock.writeLock().lock();
+		try {
+			Set<Long> authored = decksByAuthor.get(userId);
+
+			if (authored != null) {
+				new ArrayList<>(authored).forEach(id -> remove(decks.get(id)));
+			}
+
+			Set<Long> shared = sharedDecksByUser.remove(userId);
+
+			if (shared != null) {
+				for (Long id : shared) {
+					IndexedDeck deck = decks.get(id);
+
+					if (deck == null) {
+						continue;
+					}
+
+					Set<Long> sharedUsers = new HashSet<>(deck.sharedUserIds());
+					sharedUsers.remove(userId);
+					decks.put(id, new IndexedDeck(deck.id(), deck.name(), deck.visibility(), deck.authorId(), sharedUsers));
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the ids (ascending) of decks whose name contains {@code query}, ignoring case.
+	 * If {@code userId} is not -1 only decks that are public, shared with that user or authored by that user are returned.
+	 */
+	public List<Long> search(String query, long userId) {
+		lock.readLock().lock();
+		try {
+			List<Long> result = names.matches(query);
+
+			if (userId != -1) {
+				Set<Long> shared = sharedDecksByUser.getOrDefault(userId, Collections.emptySet());
+				Set<Long> authored = decksByAuthor.getOrDefault(userId, Collections.emptySet());
+
+				result.removeIf(id -> !publicDecks.contains(id) && !shared.contains(id) && !authored.contains(id));
+			}
+
+			Collections.sort(result);
+
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void add(IndexedDeck deck) {
+		decks.put(deck.id(), deck);
+
+		names.put(deck.id(), deck.name());
+
+		if (deck.visibility() == DeckVisibility.PUBLIC) {
+			publicDecks.add(deck.id());
+		}
+
+		if (deck.visibility() == DeckVisibility.SHARED) {
+			deck.sharedUserIds().forEach(userId -> sharedDecksByUser.computeIfAbsent(userId, k -> new HashSet<>()).add(deck.id()));
+		}
+
+		if (deck.authorId() != null) {
+			decksByAuthor.computeIfAbsent(deck.authorId(), k -> new HashSet<>()).add(deck.id());
+		}
+	}
+
+	private void remove(IndexedDeck deck) {
+		decks.remove(deck.id());
+
+		names.remove(deck.id());
+
+		publicDecks.remove(deck.id());
+
+		deck.sharedUserIds().forEach(userId -> removeFromPosting(sharedDecksByUser, userId, deck.id()));
+
+		if (deck.authorId() != null) {
+			removeFromPosting(decksByAuthor, deck.authorId(), deck.id());
+		}
+	}
+
+	private void clear() {
+		names.clear();
+		decks.clear();
+		publicDecks.clear();
+		sharedDecksByUser.clear();
+		decksByAuthor.clear();
+	}
+
+	private static <K> void removeFromPosting(Map<K, Set<Long>> map, K key, long id) {
+		Set<Long> posting = map.get(key);
+
+		if (posting == null) {
+			return;
+		}
+
+		posting.remove(id);
+
+		if (posting.isEmpty()) {
+			map.remove(key);
+		}
+	}
+
+	private record IndexedDeck(long id, String name, DeckVisibility visibility, Long authorId, Set<Long> sharedUserIds) {}
+}
@@ -1,27 +1,10 @@
 package me.elephantsuite.email;
 
-import java.util.Properties;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// the JavaMailSender itself is auto configured from spring.mail in application.yml, so tests can point it at a local SMTP server
 @Configuration
+@EnableScheduling
 public class EmailConfig {
-
-	@Bean
-	public JavaMailSender javaMailSender() {
-		JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
-		javaMailSender.setHost("smtp.gmail.com");
-		javaMailSender.setPort(587);
-		javaMailSender.setUsername("elephantnoreply@gmail.com");
-		javaMailSender.setPassword("ccbqsesqvrdvxzjo");
-		Properties properties = new Properties();
-		properties.put("mail.smtp.auth", "true");
-		properties.put("mail.smtp.starttls.enable", "true");
-		javaMailSender.setJavaMailProperties(properties);
-		return javaMailSender;
-	}
 }
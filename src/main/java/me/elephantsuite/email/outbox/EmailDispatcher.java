@@ -0,0 +1,188 @@
+package me.elephantsuite.email.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import me.elephantsuite.ElephantBackendApplication;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the email outbox in the background.
+ *
+ * <p>Every tick claims a batch of due emails and splits it over a fixed pool of workers. Each worker hands its whole
+ * chunk to {@link JavaMailSender#send(MimeMessage...)}, which sends it over a single SMTP connection instead of one
+ * connection per email. Sent emails are deleted, failed ones are retried with exponential backoff.
+ */
+@Component
+public class EmailDispatcher {
+
+	private static final int WORKERS = ElephantBackendApplication.ELEPHANT_CONFIG.getInt("emailDispatchWorkers");
+
+	private static final int BATCH_SIZE = ElephantBackendApplication.ELEPHANT_CONFIG.getInt("emailDispatchBatchSize");
+
+	private static final int MAX_ATTEMPTS = ElephantBackendApplication.ELEPHANT_CONFIG.getInt("emailMaxAttempts");
+
+	private static final Duration BASE_BACKOFF = Duration.ofSeconds(ElephantBackendApplication.ELEPHANT_CONFIG.getLong("emailRetryBaseSeconds"));
+
+	private final OutboxEmailRepositoryService outbox;
+
+	private final JavaMailSender mailSender;
+
+	private final ExecutorService workers = Executors.newFixedThreadPool(WORKERS, new ThreadFactoryBuilder().setNameFormat("email-dispatch-%d").setDaemon(true).build());
+
+	private final LongAdder sent = new LongAdder();
+
+	private final LongAdder sendFailures = new LongAdder();
+
+	private final LongAdder sendMillis = new LongAdder();
+
+	private final LongAdder queueMillis = new LongAdder();
+
+	public EmailDispatcher(OutboxEmailRepositoryService outbox, JavaMailSender mailSender) {
+		this.outbox = outbox;
+		this.mailSender = mailSender;
+	}
+
+	@Scheduled(fixedDelay = 2000, initialDelay = 10000)
+	public void dispatch() {
+		List<OutboxEmail> claimed;
+
+		// keep draining while full batches come back, otherwise wait for the next tick
+		do {
+			claimed = outbox.claimDue(BATCH_SIZE);
+
+			if (claimed.isEmpty()) {
+				return;
+			}
+
+			List<Future<ChunkResult>> futures = new ArrayList<>();
+
+			for (List<OutboxEmail> chunk : Lists.partition(claimed, (claimed.size() + WORKERS - 1) / WORKERS)) {
+				futures.add(workers.submit(() -> sendChunk(chunk)));
+			}
+
+			for (Future<ChunkResult> future : futures) {
+				try {
+					ChunkResult result = future.get();
+					outbox.markSent(result.sentIds());
+					result.failures().forEach((id, error) -> outbox.markFailed(id, error, MAX_ATTEMPTS, BASE_BACKOFF));
+				} catch (ExecutionException e) {
+					// claimed rows are leased, they become due again once the lease runs out
+					ElephantBackendApplication.LOGGER.error("Email dispatch worker failed", e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		} while (claimed.size() == BATCH_SIZE);
+	}
+
+	public EmailOutboxStats getStats() {
+		long sentCount = sent.sum();
+
+		return new EmailOutboxStats(
+			outbox.countByStatus(OutboxEmailStatus.PENDING),
+			outbox.countByStatus(OutboxEmailStatus.FAILED),
+			sentCount,
+			sendFailures.sum(),
+			sentCount == 0 ? 0 : (double) sendMillis.sum() / sentCount,
+			sentCount == 0 ? 0 : (double) queueMillis.sum() / sentCount
+		);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workers.shutdown();
+	}
+
+	private ChunkResult sendChunk(List<OutboxEmail> chunk) {
+		Map<MimeMessage, OutboxEmail> messages = new IdentityHashMap<>();
+		Map<Long, String> failures = new HashMap<>();
+
+		for (OutboxEmail email : chunk) {
+			try {
+				messages.put(toMimeMessage(email), email);
+			} catch (MessagingException e) {
+				failures.put(email.getId(), e.getMessage());
+			}
+		}
+
+		long start = System.currentTimeMillis();
+
+		try {
+			mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+		} catch (MailSendException e) {
+			e.getFailedMessages().forEach((message, exception) -> {
+				OutboxEmail email = messages.get(message);
+
+				if (email != null) {
+					failures.put(email.getId(), exception.getMessage());
+				}
+			});
+
+			// no per message failures means the connection itself failed
+			if (e.getFailedMessages().isEmpty()) {
+				messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+			}
+		} catch (MailException e) {
+			messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+		}
+
+		long elapsed = System.currentTimeMillis() - start;
+		LocalDateTime now = LocalDateTime.now();
+
+		List<Long> sentIds = new ArrayList<>();
+
+		for (OutboxEmail email : messages.values()) {
+			if (!failures.containsKey(email.getId())) {
+				sentIds.add(email.getId());
+				queueMillis.add(Duration.between(email.getCreatedAt(), now).toMillis());
+			}
+		}
+
+		if (!failures.isEmpty()) {
+			ElephantBackendApplication.LOGGER.warn("Failed to send " + failures.size() + " of " + chunk.size() + " emails, retrying later");
+		}
+
+		sent.add(sentIds.size());
+		sendFailures.add(failures.size());
+		sendMillis.add(sentIds.isEmpty() ? 0 : elapsed);
+
+		return new ChunkResult(sentIds, failures);
+	}
+
+	private MimeMessage toMimeMessage(OutboxEmail email) throws MessagingException {
+		MimeMessage mimeMessage = mailSender.createMimeMessage();
+
+		MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+
+		helper.setText(email.getBody(), email.isHtml());
+		helper.setTo(email.getRecipient());
+		helper.setSubject(email.getSubject());
+		helper.setFrom(ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("senderEmailAddress"));
+
+		return mimeMessage;
+	}
+
+	private record ChunkResult(List<Long> sentIds, Map<Long, String> failures) {}
+}
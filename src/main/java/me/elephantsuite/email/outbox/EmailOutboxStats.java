@@ -0,0 +1,7 @@
+package me.elephantsuite.email.outbox;
+
+/**
+ * Snapshot of the outbox for monitoring. Queue depths come from the table, the counters and latencies are for this
+ * instance since startup.
+ */
+public record EmailOutboxStats(long pending, long failed, long sent, long sendFailures, double averageSendMillis, double averageQueueMillis) {}
@@ -0,0 +1,60 @@
+package me.elephantsuite.email.outbox;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An email waiting to be sent. Rows are written in the transaction of whatever caused the email and deleted by
+ * {@link EmailDispatcher} once the message has been handed to the SMTP server.
+ */
+@Entity
+@Table(indexes = @Index(name = "outbox_email_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEmail {
+
+	@Id
+	@SequenceGenerator(name = "outbox_email_sequence", sequenceName = "outbox_email_sequence", allocationSize = 1)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_email_sequence")
+	private Long id;
+
+	@Column(nullable = false)
+	private String recipient;
+
+	@Column(nullable = false)
+	private String subject;
+
+	@Column(columnDefinition = "TEXT", nullable = false)
+	private String body;
+
+	private boolean html;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private OutboxEmailStatus status = OutboxEmailStatus.PENDING;
+
+	private int attempts;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(length = 1000)
+	private String lastError;
+
+	public OutboxEmail(String recipient, String subject, String body, boolean html) {
+		this.recipient = recipient;
+		this.subject = subject;
+		this.body = body;
+		this.html = html;
+		this.createdAt = LocalDateTime.now();
+		this.nextAttemptAt = this.createdAt;
+	}
+}
@@ -0,0 +1,31 @@
+package me.elephantsuite.email.outbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+	// skips rows another dispatcher already has locked, so several instances can drain the same table
+	@Query(value = "SELECT id FROM outbox_email WHERE status = 'PENDING' AND next_attempt_at <= ?1 ORDER BY next_attempt_at LIMIT ?2 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<Long> lockDueIds(LocalDateTime now, int limit);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE OutboxEmail o SET o.nextAttemptAt = ?2 WHERE o.id IN ?1")
+	int leaseUntil(Collection<Long> ids, LocalDateTime until);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM OutboxEmail o WHERE o.id IN ?1")
+	int deleteByIds(Collection<Long> ids);
+
+	long countByStatus(OutboxEmailStatus status);
+}
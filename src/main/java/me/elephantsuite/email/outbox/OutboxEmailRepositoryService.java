@@ -0,0 +1,71 @@
+package me.elephantsuite.email.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+@AllArgsConstructor
+public class OutboxEmailRepositoryService {
+
+	// how long a claimed email stays invisible to other dispatchers, covers an instance dying mid send
+	private static final Duration LEASE = Duration.ofMinutes(5);
+
+	private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+	private final OutboxEmailRepository repository;
+
+	public OutboxEmail enqueue(String to, String subject, String body, boolean html) {
+		return repository.save(new OutboxEmail(to, subject, body, html));
+	}
+
+	// locks, leases and loads up to limit due emails in one transaction
+	public List<OutboxEmail> claimDue(int limit) {
+		LocalDateTime now = LocalDateTime.now();
+		List<Long> ids = repository.lockDueIds(now, limit);
+
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		repository.leaseUntil(ids, now.plus(LEASE));
+
+		return repository.findAllById(ids);
+	}
+
+	public void markSent(List<Long> ids) {
+		if (!ids.isEmpty()) {
+			repository.deleteByIds(ids);
+		}
+	}
+
+	// schedules the next attempt with exponential backoff, or gives up after maxAttempts
+	public void markFailed(long id, String error, int maxAttempts, Duration baseBackoff) {
+		repository.findById(id).ifPresent(email -> {
+			int attempts = email.getAttempts() + 1;
+			email.setAttempts(attempts);
+			email.setLastError(StringUtils.abbreviate(error, 1000));
+
+			if (attempts >= maxAttempts) {
+				email.setStatus(OutboxEmailStatus.FAILED);
+			} else {
+				Duration backoff = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+				email.setNextAttemptAt(LocalDateTime.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+			}
+
+			repository.save(email);
+		});
+	}
+
+	@Transactional(readOnly = true)
+	public long countByStatus(OutboxEmailStatus status) {
+		return repository.countByStatus(status);
+	}
+}
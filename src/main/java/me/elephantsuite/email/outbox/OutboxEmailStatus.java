@@ -0,0 +1,7 @@
+package me.elephantsuite.email.outbox;
+
+public enum OutboxEmailStatus {
+	PENDING,
+	// gave up after the maximum number of attempts, kept for inspection
+	FAILED
+}
@@ -0,0 +1,79 @@
+package me.elephantsuite.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An HTML template split once into literal segments and {@code [PLACEHOLDER]} slots. Rendering appends the segments
+ * and slot values into a presized builder, so it never rescans the template. Placeholders without a value are kept
+ * as they appear in the file.
+ */
+public class EmailTemplate {
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\[([A-Z_]+)]");
+
+	// literals has one more entry than slots, literal i comes before slot i
+	private final String[] literals;
+
+	private final String[] slots;
+
+	private final int literalLength;
+
+	private EmailTemplate(String[] literals, String[] slots, int literalLength) {
+		this.literals = literals;
+		this.slots = slots;
+		this.literalLength = literalLength;
+	}
+
+	public static EmailTemplate parse(String source) {
+		List<String> literals = new ArrayList<>();
+		List<String> slots = new ArrayList<>();
+
+		Matcher matcher = PLACEHOLDER.matcher(source);
+		int last = 0;
+
+		while (matcher.find()) {
+			literals.add(source.substring(last, matcher.start()));
+			slots.add(matcher.group(1));
+			last = matcher.end();
+		}
+
+		literals.add(source.substring(last));
+
+		int literalLength = literals.stream().mapToInt(String::length).sum();
+
+		return new EmailTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]), literalLength);
+	}
+
+	public String render(Map<String, String> values) {
+		if (slots.length == 0) {
+			return literals[0];
+		}
+
+		int capacity = literalLength;
+
+		for (String slot : slots) {
+			String value = values.get(slot);
+			capacity += value == null ? slot.length() + 2 : value.length();
+		}
+
+		StringBuilder builder = new StringBuilder(capacity);
+
+		for (int i = 0; i < slots.length; i++) {
+			builder.append(literals[i]);
+
+			String value = values.get(slots[i]);
+
+			if (value == null) {
+				builder.append('[').append(slots[i]).append(']');
+			} else {
+				builder.append(value);
+			}
+		}
+
+		return builder.append(literals[slots.length]).toString();
+	}
+}
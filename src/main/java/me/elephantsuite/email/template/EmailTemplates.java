@@ -0,0 +1,79 @@
+package me.elephantsuite.email.template;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.config.PropertiesHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parsed HTML templates keyed by their config option (e.g. {@code "confirmationEmailHtmlFile"}). A template is read
+ * and parsed the first time it is rendered and only again when its file's modification time changes, which is
+ * checked at most every few seconds.
+ */
+@Component
+public class EmailTemplates {
+
+	private static final long CHECK_INTERVAL_MILLIS = 5000;
+
+	private final Map<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+	public String render(String configKey) {
+		return render(configKey, Map.of());
+	}
+
+	public String render(String configKey, Map<String, String> values) {
+		return get(configKey).render(values);
+	}
+
+	public EmailTemplate get(String configKey) {
+		String fileName = ElephantBackendApplication.ELEPHANT_CONFIG.getSnapshot().getString(configKey);
+		long now = System.currentTimeMillis();
+
+		CachedTemplate cached = templates.get(configKey);
+
+		if (cached != null && cached.fileName().equals(fileName) && now - cached.checkedAt() < CHECK_INTERVAL_MILLIS) {
+			return cached.template();
+		}
+
+		return templates.compute(configKey, (key, old) -> {
+			Path path = PropertiesHandler.HTML_FILE_DIRECTORY.resolve(fileName);
+			FileTime modified = lastModified(path);
+
+			if (old != null && old.fileName().equals(fileName) && old.modified().equals(modified)) {
+				return new CachedTemplate(fileName, modified, now, old.template());
+			}
+
+			return new CachedTemplate(fileName, modified, now, EmailTemplate.parse(read(path, fileName)));
+		}).template();
+	}
+
+	private static FileTime lastModified(Path path) {
+		try {
+			return Files.exists(path) ? Files.getLastModifiedTime(path) : FileTime.fromMillis(0);
+		} catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	// same fallback as PropertiesHandler, a value that is not an existing file is used as the template itself
+	private static String read(Path path, String fileName) {
+		if (!fileName.endsWith(".html") || !Files.exists(path)) {
+			return fileName;
+		}
+
+		try {
+			return Files.readString(path);
+		} catch (IOException e) {
+			ElephantBackendApplication.LOGGER.error("Error while reading string for html file on path \"" + path + "\"!", e);
+			return fileName;
+		}
+	}
+
+	private record CachedTemplate(String fileName, FileTime modified, long checkedAt, EmailTemplate template) {}
+}
@@ -53,6 +53,11 @@ public class FolderRestController {
 		return service.getFolderById(id);
 	}
 
+	@GetMapping("getDecks")
+	public Response getFolderDecks(@RequestParam("id") long id) {
+		return service.getFolderDecks(id);
+	}
+
 	@DeleteMapping("delete")
 	public Response deleteFolder(@RequestParam("id") long id) {
 		return service.deleteFolder(id);
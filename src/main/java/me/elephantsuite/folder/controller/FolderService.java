@@ -1,10 +1,9 @@
 package me.elephantsuite.folder.controller;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
-import me.elephantsuite.deck.Deck;
+import me.elephantsuite.deck.DeckSummary;
 import me.elephantsuite.deck.DeckRepositoryService;
 import me.elephantsuite.folder.Folder;
 import me.elephantsuite.folder.FolderRepositoryService;
@@ -20,6 +19,7 @@ import me.elephantsuite.timeline.Timeline;
 import me.elephantsuite.timeline.TimelineRepositoryService;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,13 +47,9 @@ public class FolderService {
 			throw new InvalidTagInputException(name);
 		}
 
-		List<Deck> decks = deckIds
-			.stream()
-			.map(deckService::getDeckById)
-			.collect(Collectors.toList());
+		List<DeckSummary> decks = deckService.getDeckSummaries(deckIds);
 
-
-		if (decks.contains(null)) {
+		if (decks.size() != deckIds.size()) {
 			throw new InvalidIdException(createFolder, InvalidIdType.DECK);
 		}
 
@@ -73,7 +69,7 @@ public class FolderService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Successfully Created Folder!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.LIBRARY.load(user))
 			.addObject("decks", decks)
 			.build();
 	}
@@ -82,7 +78,7 @@ public class FolderService {
 		long folderId = removeDeck.getFolderId();
 		long deckId = removeDeck.getDeckId();
 
-		Deck deck = deckService.getDeckById(deckId);
+		DeckSummary deck = deckService.getDeckSummaryById(deckId);
 		Folder folder = service.getFolderById(folderId);
 
 		if (deck == null || folder == null) {
@@ -110,7 +106,7 @@ public class FolderService {
 		long folderId = addDeck.getFolderId();
 		long deckId = addDeck.getDeckId();
 
-		Deck deck = deckService.getDeckById(deckId);
+		DeckSummary deck = deckService.getDeckSummaryById(deckId);
 		Folder folder = service.getFolderById(folderId);
 
 		if (deck == null || folder == null) {
@@ -146,6 +142,20 @@ public class FolderService {
 			.build();
 	}
 
+	public Response getFolderDecks(long id) {
+		Folder folder = service.getFolderById(id);
+
+		if (folder == null) {
+			throw new InvalidIdException(id, InvalidIdType.FOLDER);
+		}
+
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved Folder Decks!")
+			.addObject("decks", deckService.getDeckSummaries(folder.getDeckIds()))
+			.build();
+	}
+
 	public Response setFolderName(FolderRequest.SetName setName) {
 		long folderId = setName.getFolderId();
 		String name = setName.getName();
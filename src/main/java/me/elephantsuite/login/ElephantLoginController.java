@@ -2,6 +2,7 @@ package me.elephantsuite.login;
 
 import lombok.AllArgsConstructor;
 import me.elephantsuite.response.api.Response;
+import me.elephantsuite.user.UserLoadProfile;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -16,42 +17,42 @@ public class ElephantLoginController {
 	private final ElephantLoginService elephantLoginService;
 
 	@PostMapping
-	public Response login(@RequestBody LoginRequest request) {
-		return elephantLoginService.login(request, true);
+	public Response login(@RequestBody LoginRequest request, @RequestParam(value = "profile", defaultValue = "FULL") UserLoadProfile profile) {
+		return elephantLoginService.login(request, true, profile);
 	}
 
 	@PostMapping("student")
-	public Response loginStudent(@RequestBody LoginRequest request) {
-		return elephantLoginService.loginStudent(request);
+	public Response loginStudent(@RequestBody LoginRequest request, @RequestParam(value = "profile", defaultValue = "FULL") UserLoadProfile profile) {
+		return elephantLoginService.loginStudent(request, profile);
 	}
 
 	@PostMapping("teacher")
-	public Response loginTeacher(@RequestBody LoginRequest request) {
-		return elephantLoginService.loginTeacher(request);
+	public Response loginTeacher(@RequestBody LoginRequest request, @RequestParam(value = "profile", defaultValue = "FULL") UserLoadProfile profile) {
+		return elephantLoginService.loginTeacher(request, profile);
 	}
 	// same as login but does not run login stuff
 	@PostMapping("verifyUser")
-	public Response verifyUser(@RequestBody LoginRequest request) {
-		return elephantLoginService.login(request, false);
+	public Response verifyUser(@RequestBody LoginRequest request, @RequestParam(value = "profile", defaultValue = "FULL") UserLoadProfile profile) {
+		return elephantLoginService.login(request, false, profile);
 	}
 
 	@GetMapping(path = "user")
-	public Response getUserById(@RequestParam("id") long id) {
-		return elephantLoginService.getUserById(id);
+	public Response getUserById(@RequestParam("id") long id, @RequestParam(value = "profile", defaultValue = "FULL") UserLoadProfile profile) {
+		return elephantLoginService.getUserById(id, profile);
 	}
 
 	@GetMapping(path = "userByEmail")
-	public Response getUserByEmail(@RequestParam("email") String email) {
-		return elephantLoginService.getUserByEmail(email);
+	public Response getUserByEmail(@RequestParam("email") String email, @RequestParam(value = "profile", defaultValue = "SUMMARY") UserLoadProfile profile) {
+		return elephantLoginService.getUserByEmail(email, profile);
 	}
 
 	@GetMapping(path = "userByName")
-	public Response getUserByName(@RequestParam("userId") long userId, @RequestParam("name") String name) {
-		return elephantLoginService.getUserByName(name, userId);
+	public Response getUserByName(@RequestParam("userId") long userId, @RequestParam("name") String name, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+		return elephantLoginService.getUserByName(name, userId, limit);
 	}
 
 	@GetMapping(path = "userByNameNoId")
-	public Response getUserByNameNoId(@RequestParam("name") String name) {
-		return elephantLoginService.getUserByNameNoId(name);
+	public Response getUserByNameNoId(@RequestParam("name") String name, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+		return elephantLoginService.getUserByNameNoId(name, limit);
 	}
 }
@@ -1,7 +1,6 @@
 package me.elephantsuite.login;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import me.elephantsuite.registration.EmailValidator;
@@ -13,7 +12,8 @@ import me.elephantsuite.stats.controller.ElephantUserStatisticsService;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
 import me.elephantsuite.user.ElephantUserType;
-import org.apache.commons.lang3.StringUtils;
+import me.elephantsuite.user.UserLoadProfile;
+import me.elephantsuite.user.search.UserSummary;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,7 +28,7 @@ public class ElephantLoginService {
 
 	private final ElephantUserStatisticsService elephantUserStatisticsService;
 
-	public Response login(LoginRequest request, boolean stats) {
+	public Response login(LoginRequest request, boolean stats, UserLoadProfile profile) {
 
 		String email = request.getEmail();
 		String password = request.getPassword();
@@ -41,7 +41,7 @@ public class ElephantLoginService {
 			return ResponseUtil.getFailureResponse("Email was not registered to any user", request);
 		}
 
-		ElephantUser user = elephantUserService.getUserByEmail(email);
+		ElephantUser user = elephantUserService.getUserByEmail(email, profile);
 
 		if (user == null) {
 			// keep default msg cuz not user id
@@ -63,7 +63,7 @@ public class ElephantLoginService {
 			.build();
 	}
 
-	public Response loginStudent(LoginRequest request) {
+	public Response loginStudent(LoginRequest request, UserLoadProfile profile) {
 		String email = request.getEmail();
 		String password = request.getPassword();
 
@@ -75,7 +75,7 @@ public class ElephantLoginService {
 			return ResponseUtil.getFailureResponse("Email was not registered to any user", request);
 		}
 
-		ElephantUser user = elephantUserService.getUserByEmail(email);
+		ElephantUser user = elephantUserService.getUserByEmail(email, profile);
 
 		if (user == null) {
 			// keep default msg cuz not user id
@@ -99,7 +99,7 @@ public class ElephantLoginService {
 			.build();
 	}
 
-	public Response loginTeacher(LoginRequest request) {
+	public Response loginTeacher(LoginRequest request, UserLoadProfile profile) {
 		String email = request.getEmail();
 		String password = request.getPassword();
 
@@ -111,7 +111,7 @@ public class ElephantLoginService {
 			return ResponseUtil.getFailureResponse("Email was not registered to any user", request);
 		}
 
-		ElephantUser user = elephantUserService.getUserByEmail(email);
+		ElephantUser user = elephantUserService.getUserByEmail(email, profile);
 
 		if (user == null) {
 			// keep default msg cuz not user id
@@ -135,8 +135,8 @@ public class ElephantLoginService {
 			.build();
 	}
 
-	public Response getUserById(long id) {
-		ElephantUser user = ResponseUtil.checkUserValid(id, elephantUserService);
+	public Response getUserById(long id, UserLoadProfile profile) {
+		ElephantUser user = ResponseUtil.checkUserValid(id, elephantUserService, profile);
 
 		return ResponseBuilder
 			.create()
@@ -145,7 +145,7 @@ public class ElephantLoginService {
 			.build();
 	}
 
-	public Response getUserByEmail(String email) {
+	public Response getUserByEmail(String email, UserLoadProfile profile) {
 		if (!elephantUserService.isUserAlreadyRegistered(email)) {
 			return ResponseUtil.getFailureResponse("Email was not registered!", email);
 		}
@@ -153,27 +153,19 @@ public class ElephantLoginService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Retrieved User by Email!")
-			.addObject("user", elephantUserService.getUserByEmail(email))
+			.addObject("user", elephantUserService.getUserByEmail(email, profile))
 			.build();
 	}
 
-	public Response getUserByName(String name, long userId) {
-		List<ElephantUser> filteredUsers = elephantUserService
-			.getAllUsers()
-			.stream()
-			.filter(elephantUser -> StringUtils.containsIgnoreCase(elephantUser.getFullName(), name))
-			.collect(Collectors.toList());
+	public Response getUserByName(String name, long userId, int limit) {
+		int countryCode = -1;
 
 		if (userId != -1) {
-			ElephantUser user = ResponseUtil.checkUserValid(userId, elephantUserService);
-
-			filteredUsers = filteredUsers
-				.stream()
-				.filter(user1 -> !user1.equals(user))
-				.sorted((o1, o2) -> compareCountries(o1, o2, user))
-				.collect(Collectors.toList());
+			countryCode = ResponseUtil.checkUserValid(userId, elephantUserService).getCountryCode();
 		}
 
+		List<UserSummary> filteredUsers = elephantUserService.searchUsersByName(name, userId, countryCode, limit);
+
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Retrieved Users By Name!")
@@ -181,24 +173,8 @@ public class ElephantLoginService {
 			.build();
 	}
 
-	private static int compareCountries(ElephantUser o1, ElephantUser o2, ElephantUser user) {
-		if (o1.getCountryCode() == user.getCountryCode()) {
-			return -1;
-		}
-
-		if (o2.getCountryCode() == user.getCountryCode()) {
-			return 1;
-		}
-
-		return 0;
-	}
-
-	public Response getUserByNameNoId(String name) {
-		List<ElephantUser> filteredUsers = elephantUserService
-				.getAllUsers()
-				.stream()
-				.filter(elephantUser -> StringUtils.containsIgnoreCase(elephantUser.getFullName(), name))
-				.toList();
+	public Response getUserByNameNoId(String name, int limit) {
+		List<UserSummary> filteredUsers = elephantUserService.searchUsersByName(name, -1, -1, limit);
 
 		return ResponseBuilder
 				.create()
@@ -206,6 +182,4 @@ public class ElephantLoginService {
 				.addObject("users", filteredUsers)
 				.build();
 	}
-
-
 }
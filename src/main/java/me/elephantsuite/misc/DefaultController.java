@@ -3,7 +3,7 @@ package me.elephantsuite.misc;
 import java.util.function.Function;
 
 import lombok.AllArgsConstructor;
-import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.email.template.EmailTemplates;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,8 +13,10 @@ import org.springframework.web.bind.annotation.RestController;
 @AllArgsConstructor
 public class DefaultController {
 
+	private final EmailTemplates emailTemplates;
+
 	@GetMapping
 	public String getDefaultMsg() {
-		return ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("welcomeMessageHtmlFile");
+		return emailTemplates.render("welcomeMessageHtmlFile");
 	}
 }
@@ -11,6 +11,7 @@ import me.elephantsuite.deck.DeckRepositoryService;
 import me.elephantsuite.deck.card.CardService;
 import me.elephantsuite.deck.controller.DeckService;
 import me.elephantsuite.email.EmailService;
+import me.elephantsuite.email.template.EmailTemplates;
 import me.elephantsuite.registration.EmailValidator;
 import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
@@ -19,6 +20,7 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +35,8 @@ public class MiscService {
 
 	private final EmailService emailService;
 
+	private final EmailTemplates emailTemplates;
+
 	private final DeckRepositoryService deckService;
 
 	private final ElephantAnswerRepositoryService elephantAnswerService;
@@ -47,7 +51,7 @@ public class MiscService {
 
 		PropertiesHandler handler = ElephantBackendApplication.ELEPHANT_CONFIG;
 
-		if (pfpid < 0 || pfpid > handler.getConfigOption("pfpIdMax", Integer::parseInt)) {
+		if (pfpid < 0 || pfpid > handler.getInt("pfpIdMax")) {
 			return ResponseUtil.getFailureResponse("PFP ID out of bounds! (Needs to be in between 1 and 47 inclusive!)", request);
 		}
 
@@ -58,7 +62,7 @@ public class MiscService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Successfully set users PFP ID!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SUMMARY.load(user))
 			.build();
 	}
 
@@ -72,7 +76,7 @@ public class MiscService {
 		return ResponseBuilder
 				.create()
 				.addResponse(ResponseStatus.SUCCESS, "Set New User False!")
-				.addObject("user", user)
+				.addObject("user", UserLoadProfile.SUMMARY.load(user))
 				.build();
     }
 
@@ -89,7 +93,7 @@ public class MiscService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Set User's Country Code!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SUMMARY.load(user))
 			.build();
 	}
 
@@ -97,7 +101,7 @@ public class MiscService {
 		long userId = request.getUserId();
 		String email = request.getEmailToInvite();
 
-		ResponseUtil.checkUserValid(userId, userService);
+		ResponseUtil.checkUserEnabled(userId, userService);
 
 		if (!emailValidator.test(email)) {
 			return ResponseUtil.getFailureResponse("Invalid E-Mail!", request);
@@ -109,7 +113,7 @@ public class MiscService {
 			return ResponseUtil.getFailureResponse("Email already registered with elephant!", request);
 		}
 
-		emailService.send(email, ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("inviteEmailHtmlFile"), "You have been invited to Elephant!", true);
+		emailService.send(email, emailTemplates.render("inviteEmailHtmlFile"), "You have been invited to Elephant!", true);
 
 		return ResponseBuilder
 				.create()
@@ -120,7 +124,7 @@ public class MiscService {
 
 	public Response getNumericalInformation() {
 		int users = userService.getAllUsers().size();
-		int decks = deckService.getAllDecks().size();
+		long decks = deckService.countDecks();
 		int cards = cardService.getAllCards().size();
 		List<ElephantAnswer> answers = elephantAnswerService.getAllAnswers();
 
@@ -0,0 +1,51 @@
+package me.elephantsuite.quiz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import me.elephantsuite.quiz.card.QuizCard;
+import me.elephantsuite.stats.quiz_card.QuizCardResult;
+import me.elephantsuite.util.LongObjectMap;
+
+/**
+ * Orders the questions of a quiz for one user: cards the user has not answered correctly yet come first, cards they
+ * already got right go last, and cards within each group are shuffled. Shuffle and sort are both O(n log n) at
+ * worst, and the same seed always gives the same order and question types.
+ */
+public final class QuestionOrdering {
+
+    private QuestionOrdering() {}
+
+    /**
+     * Returns the ordered cards. Question types are picked at random into each card in memory, callers must not let
+     * those changes reach the database.
+     */
+    public static List<QuizCard> order(List<QuizCard> cards, LongObjectMap<QuizCardResult> results, long seed) {
+        Random random = new Random(seed);
+        QuestionType[] types = QuestionType.values();
+
+        List<QuizCard> ordered = new ArrayList<>(cards);
+
+        // sort by id first so the seed alone decides the order, whatever order the database returned
+        ordered.sort(Comparator.comparing(QuizCard::getId));
+        Collections.shuffle(ordered, random);
+
+        // stable, so the shuffle survives inside each group
+        ordered.sort(Comparator.comparingInt(card -> weight(card, results)));
+
+        for (QuizCard card : ordered) {
+            card.setType(types[random.nextInt(types.length)]);
+        }
+
+        return ordered;
+    }
+
+    // 0 for cards still to learn (wrong or never answered), 1 for cards already answered correctly
+    private static int weight(QuizCard card, LongObjectMap<QuizCardResult> results) {
+        QuizCardResult result = results.get(card.getId());
+        return result != null && result.getAnsweredCorrectly() ? 1 : 0;
+    }
+}
@@ -23,7 +23,7 @@ import java.util.List;
 public class QuizCard {
 
     @Id
-    @SequenceGenerator(name = "quiz_card_sequence", sequenceName = "quiz_card_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "quiz_card_sequence", sequenceName = "quiz_card_sequence", allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_card_sequence")
     private Long id;
 
@@ -21,7 +21,7 @@ public class QuizCardService {
         repository.delete(quizCard);
     }
 
-    public void saveAll(List<QuizCard> quizCards) {
-        repository.saveAll(quizCards);
+    public List<QuizCard> saveAll(List<QuizCard> quizCards) {
+        return repository.saveAll(quizCards);
     }
 }
@@ -52,8 +52,8 @@ public class QuizController {
     }
 
     @GetMapping(path = "getQuestions")
-    public Response getQuestions(@RequestParam("userId") long userId, @RequestParam("quizId") long quizId) {
-        return quizService.getQuestions(userId, quizId);
+    public Response getQuestions(@RequestParam("userId") long userId, @RequestParam("quizId") long quizId, @RequestParam(value = "seed", required = false) Long seed) {
+        return quizService.getQuestions(userId, quizId, seed);
     }
 
     @PostMapping(path = "setCardAsCorrect")
@@ -6,6 +6,7 @@ import me.elephantsuite.deck.Deck;
 import me.elephantsuite.deck.DeckRepository;
 import me.elephantsuite.deck.card.Card;
 import me.elephantsuite.deck.controller.DeckService;
+import me.elephantsuite.quiz.QuestionOrdering;
 import me.elephantsuite.quiz.QuestionType;
 import me.elephantsuite.quiz.Quiz;
 import me.elephantsuite.quiz.QuizRepository;
@@ -21,11 +22,11 @@ import me.elephantsuite.response.exception.InvalidIdType;
 import me.elephantsuite.response.exception.InvalidTagInputException;
 import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
-import me.elephantsuite.stats.ElephantUserStatisticsRepositoryService;
 import me.elephantsuite.stats.quiz_card.QuizCardStatistics;
 import me.elephantsuite.stats.quiz_card.QuizCardStatisticsService;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.util.LongObjectMap;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,8 +49,6 @@ public class QuizService {
 
     private DeckRepository deckRepository;
 
-    private ElephantUserStatisticsRepositoryService statisticsService;
-
     private QuizCardStatisticsService quizCardStatisticsService;
 
     private static final Random RANDOM = new Random();
@@ -135,16 +134,13 @@ public class QuizService {
     }
 
     public List<QuizCard> convertToCards(Map<String, List<String>> cardsMap, Quiz quiz) {
-        List<QuizCard> cards = new ArrayList<>();
+        List<QuizCard> cards = new ArrayList<>(cardsMap.size());
 
-        cardsMap.forEach((s, strings) -> {
-            QuizCard card = new QuizCard(s, new ArrayList<>(strings), quiz, QuestionType.values()[(RANDOM.nextInt(QuestionType.values().length))]);
-            cards.add(card);
-            card = quizCardService.save(card);
+        cardsMap.forEach((s, strings) -> cards.add(new QuizCard(s, new ArrayList<>(strings), quiz, QuestionType.values()[(RANDOM.nextInt(QuestionType.values().length))])));
 
-        });
+        cards = quizCardService.saveAll(cards);
 
-        registerCardStatistics(cards, quiz.getUser());
+        registerCardStatistics(cards, quiz.getUser().getId());
 
         return cards;
     }
@@ -219,98 +215,48 @@ public class QuizService {
     }
 
     public Response setCardAsIncorrect(QuizRequest.SetCardAsIncorrect req, boolean b) {
-        ElephantUser user = ResponseUtil.checkUserValid(req.getUserId(), userService);
+        long userId = ResponseUtil.checkUserEnabled(req.getUserId(), userService).id();
         QuizCard card = ResponseUtil.checkEntityValid(req.getQuizCardId(), cardRepository, InvalidIdType.QUIZ_CARD);
 
-        if (!user.getElephantUserStatistics().getQuizCardStatistics().containsKey(card)) {
-            QuizCardStatistics statistics = new QuizCardStatistics(card.getId());
-            statistics = quizCardStatisticsService.save(statistics);
-            user.getElephantUserStatistics().getQuizCardStatistics().put(card, statistics);
-        }
-
-        user.getElephantUserStatistics().getQuizCardStatistics().get(card).setAnsweredCorrectly(b);
-
-        quizCardStatisticsService.save(user.getElephantUserStatistics().getQuizCardStatistics().get(card));
-
-        statisticsService.save(user.getElephantUserStatistics());
-
-        user = userService.saveUser(user);
+        QuizCardStatistics statistics = quizCardStatisticsService.getOrCreate(userId, card.getId());
+        statistics.setAnsweredCorrectly(b);
+        statistics = quizCardStatisticsService.save(statistics);
 
         return ResponseBuilder
                 .create()
                 .addResponse(ResponseStatus.SUCCESS, "Set Card as " + (b ? "Correct" : "Incorrect") + "!")
-                .addObject("stats", user.getElephantUserStatistics().getQuizCardStatistics().get(card))
+                .addObject("stats", statistics)
                 .build();
     }
 
-    private QuizCardStatistics randomizeQuestionTypesAndGetStatistics(QuizCard iCard, ElephantUser user, boolean randomize) {
-        if (randomize) {
-            iCard.setType(QuestionType.values()[(RANDOM.nextInt(QuestionType.values().length))]);
-            iCard = quizCardService.save(iCard);
+    // read only so the question types picked in memory are never flushed back to the cards
+    @Transactional(readOnly = true)
+    public Response getQuestions(long userId, long quizId, Long seed) {
+        if (!repository.existsById(quizId)) {
+            throw new InvalidIdException(quizId, InvalidIdType.QUIZ);
         }
-        Map<QuizCard, QuizCardStatistics> statMap = user.getElephantUserStatistics().getQuizCardStatistics();
-        QuizCardStatistics statistics = statMap.get(iCard);
-
-        return statistics;
-    }
 
-    private static <T> void swap(List<T> list, int i1, int i2) {
-        T temp = list.get(i1);
-        list.set(i1, list.get(i2));
-        list.set(i2, temp);
-    }
+        ResponseUtil.checkUserEnabled(userId, userService);
 
-    public Response getQuestions(long userId, long quizId) {
-        Quiz quiz = getQuizById(quizId);
-        ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
-
-        List<QuizCard> cards = new ArrayList<>(cardRepository.retrieveCardsByQuizId(quizId));
-
-        Collections.shuffle(cards);
-
-        List<Long> alrSortedNums = new ArrayList<>();
-
-        for (int i = 0; i < cards.size(); i++) {
-            QuizCardStatistics statistics = randomizeQuestionTypesAndGetStatistics(cards.get(i), user, true);
-            if (alrSortedNums.contains(statistics.getQuizCardId())) {
-                continue;
-            }
-            if (statistics.isAnsweredCorrectly()) {
-                for (int j = cards.size() - 1; j >= 0; j--) {
-                    QuizCardStatistics jStats = randomizeQuestionTypesAndGetStatistics(cards.get(j), user, false);
-                    if (jStats.getQuizCardId().equals(statistics.getQuizCardId())) {
-                        continue;
-                    }
-                    if (!jStats.isAnsweredCorrectly()) {
-                        swap(cards, i, j);
-                        break;
-                    }
-                }
-
-                alrSortedNums.add(statistics.getQuizCardId());
-            }
-        }
+        long usedSeed = seed == null ? RANDOM.nextLong() : seed;
 
+        List<QuizCard> cards = QuestionOrdering.order(
+            cardRepository.retrieveCardsByQuizId(quizId),
+            quizCardStatisticsService.getQuizResults(userId, quizId),
+            usedSeed
+        );
 
         return ResponseBuilder
                 .create()
                 .addResponse(ResponseStatus.SUCCESS, "Retrieved Questions!")
                 .addObject("questions", cards)
+                .addObject("seed", usedSeed)
                 .build();
 
     }
 
-    private ElephantUser registerCardStatistics(List<QuizCard> cards, ElephantUser user) {
-        for (QuizCard card : cards) {
-            if (!user.getElephantUserStatistics().getQuizCardStatistics().containsKey(card)) {
-                QuizCardStatistics cardStatistics = new QuizCardStatistics(card.getId());
-                cardStatistics = quizCardStatisticsService.save(cardStatistics);
-                user.getElephantUserStatistics().getQuizCardStatistics().put(card, cardStatistics);
-                statisticsService.save(user.getElephantUserStatistics());
-            }
-        }
-
-        return userService.saveUser(user);
+    private LongObjectMap<QuizCardStatistics> registerCardStatistics(List<QuizCard> cards, long userId) {
+        return quizCardStatisticsService.getOrCreateAll(userId, cards.stream().map(QuizCard::getId).toList());
     }
 
     @Transactional
@@ -341,12 +287,10 @@ public class QuizService {
     }
 
     public Response getStatistics(long quizCardId, long userId) {
-        ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
+        ResponseUtil.checkUserEnabled(userId, userService);
         QuizCard card = ResponseUtil.checkEntityValid(quizCardId, cardRepository, InvalidIdType.QUIZ_CARD);
 
-        user = registerCardStatistics(card.getQuiz().getQuizCards(), user);
-
-        QuizCardStatistics statistics = user.getElephantUserStatistics().getQuizCardStatistics().get(card);
+        QuizCardStatistics statistics = registerCardStatistics(card.getQuiz().getQuizCards(), userId).get(card.getId());
 
         return ResponseBuilder
             .create()
@@ -354,4 +298,4 @@ public class QuizService {
             .addObject("statistics", statistics)
             .build();
     }
-}
\ No newline at end of file
+}
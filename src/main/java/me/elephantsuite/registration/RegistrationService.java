@@ -1,10 +1,12 @@
 package me.elephantsuite.registration;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import me.elephantsuite.ElephantBackendApplication;
 import me.elephantsuite.email.EmailSender;
+import me.elephantsuite.email.template.EmailTemplates;
 import me.elephantsuite.registration.token.ConfirmationToken;
 import me.elephantsuite.registration.token.ConfirmationTokenService;
 import me.elephantsuite.response.api.Response;
@@ -16,6 +18,7 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import lombok.AllArgsConstructor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -35,6 +38,8 @@ public class RegistrationService {
 
 	private final EmailSender emailSender;
 
+	private final EmailTemplates emailTemplates;
+
 	private final BCryptPasswordEncoder encoder;
 
 	// when given a request process it
@@ -74,23 +79,14 @@ public class RegistrationService {
 					if (LocalDateTime.now().isAfter(expiresAt)) {
 
 						// reset expiration to be due in another 15 minutes
-						confirmationTokenService.addExpiredLimit(token, ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("tokenExpiredLimitMinutes", Integer::parseInt));
-
-						try {
-							emailSender.send(elephantUser.getEmail(), ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("confirmationEmailHtmlFile").replace("[TOKEN]", token.getToken()), "Confirm your email", true);
-						} catch (IllegalStateException e) {
-							return ResponseBuilder
-								.create()
-								.addResponse(ResponseStatus.FAILURE, "Exception while emailing link to user!")
-								.addException(e)
-								.addObject("user", elephantUser)
-								.build();
-						}
+						confirmationTokenService.addExpiredLimit(token, ElephantBackendApplication.ELEPHANT_CONFIG.getInt("tokenExpiredLimitMinutes"));
+
+						emailSender.send(elephantUser.getEmail(), emailTemplates.render("confirmationEmailHtmlFile", Map.of("TOKEN", token.getToken())), "Confirm your email", true);
 
 						return ResponseBuilder
 							.create()
 							.addResponse(ResponseStatus.DEFER, "Token expired, resent email and token renewed")
-							.addObject("user", elephantUser)
+							.addObject("user", UserLoadProfile.FULL.load(elephantUser))
 							.build();
 					}
 
@@ -98,7 +94,7 @@ public class RegistrationService {
 						.create()
 						.addResponse(ResponseStatus.DEFER, "Check Email to activate token")
 						// client should build link off this token
-						.addObject("user", elephantUser)
+						.addObject("user", UserLoadProfile.FULL.load(elephantUser))
 						.build();
 				}
 
@@ -110,21 +106,13 @@ public class RegistrationService {
 
 			String link = ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("elephantDomain") + "/registration/confirm?token=" + token.getToken();
 
-			try {
-				String html = ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("confirmationEmailHtmlFile").replace("[TOKEN]", token.getToken());
-				emailSender.send(elephantUser.getEmail(), html, "Confirm your email", true);
-			} catch (IllegalStateException e) {
-				return ResponseBuilder
-					.create()
-					.addResponse(ResponseStatus.FAILURE, "Exception while emailing link to user!")
-					.addException(e)
-					.addObject("user", elephantUser)
-					.build();
-			}
+			String html = emailTemplates.render("confirmationEmailHtmlFile", Map.of("TOKEN", token.getToken()));
+			emailSender.send(elephantUser.getEmail(), html, "Confirm your email", true);
+
 			return ResponseBuilder
 				.create()
 				.addResponse(ResponseStatus.SUCCESS, "User Created, Confirmation Token Email Sent!")
-				.addObject("user", elephantUser)
+				.addObject("user", UserLoadProfile.FULL.load(elephantUser))
 				.addObject("link", link)
 				.build();
 		}
@@ -157,7 +145,7 @@ public class RegistrationService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Account Enabled")
-			.addObject("user", confirmationToken.getElephantUser())
+			.addObject("user", UserLoadProfile.FULL.load(confirmationToken.getElephantUser()))
 			.build();
 	}
 
@@ -195,7 +183,7 @@ public class RegistrationService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Set User Details!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SUMMARY.load(user))
 			.build();
 	}
 }
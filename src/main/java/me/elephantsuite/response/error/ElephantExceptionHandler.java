@@ -3,6 +3,7 @@ package me.elephantsuite.response.error;
 import me.elephantsuite.ElephantBackendApplication;
 import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
+import me.elephantsuite.response.exception.AIUnavailableException;
 import me.elephantsuite.response.exception.APIException;
 import me.elephantsuite.response.exception.InvalidIdException;
 import me.elephantsuite.response.exception.InvalidPasswordException;
@@ -66,4 +67,9 @@ public class ElephantExceptionHandler {
     public Response handleAPIException(APIException e) {
         return e.toResponse();
     }
+
+    @ExceptionHandler(value = AIUnavailableException.class)
+    public Response handleAIUnavailableException(AIUnavailableException e) {
+        return e.toResponse();
+    }
 }
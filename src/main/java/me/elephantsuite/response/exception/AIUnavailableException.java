@@ -0,0 +1,24 @@
+package me.elephantsuite.response.exception;
+
+import me.elephantsuite.response.api.Response;
+import me.elephantsuite.response.api.ResponseBuilder;
+import me.elephantsuite.response.util.ResponseStatus;
+
+// throw this exception if an AI call is turned away before reaching the API (rate limited, too busy, circuit open)
+public class AIUnavailableException extends RuntimeException {
+
+	private final String reason;
+
+	public AIUnavailableException(String reason) {
+		super(reason);
+		this.reason = reason;
+	}
+
+	public Response toResponse() {
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.FAILURE, "AI Unavailable")
+			.addObject("reason", reason)
+			.build();
+	}
+}
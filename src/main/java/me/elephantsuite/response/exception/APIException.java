@@ -11,12 +11,37 @@ import me.elephantsuite.response.util.ResponseStatus;
 // throw this exception if we get an error from an external API (like ChatGPT)
 public class APIException extends RuntimeException {
 
+	// HTTP status the API answered with, 0 if it never answered
+	private final int statusCode;
+
 	private final Map<String, JsonElement> error;
 
-	public APIException(JsonObject error) {
+	public APIException(int statusCode, JsonObject error) {
+		this.statusCode = statusCode;
 		this.error = error.asMap();
 	}
 
+	public APIException(int statusCode, String message) {
+		JsonObject error = new JsonObject();
+		error.addProperty("message", message);
+		this.statusCode = statusCode;
+		this.error = error.asMap();
+	}
+
+	// for failures that never got a response from the API, e.g. timeouts
+	public APIException(String message) {
+		this(0, message);
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	// true if the API is unreachable, overloaded or failing, as opposed to rejecting this particular request
+	public boolean isUpstreamFailure() {
+		return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+	}
+
 	public Response toResponse() {
 		return ResponseBuilder
 			.create()
@@ -4,15 +4,20 @@ import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
 import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.user.ElephantUser;
+import me.elephantsuite.user.status.UserStatus;
 
 public class UserNotEnabledException extends RuntimeException {
 
-	private final ElephantUser[] user;
+	private final Object[] user;
 
 	public UserNotEnabledException(ElephantUser... user) {
 		this.user = user;
 	}
 
+	public UserNotEnabledException(UserStatus... user) {
+		this.user = user;
+	}
+
 	public Response toResponse() {
 		return ResponseBuilder
 			.create()
@@ -0,0 +1,30 @@
+package me.elephantsuite.response.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import me.elephantsuite.deck.DeckSummary;
+
+public class DeckSummarySerializer extends JsonSerializer<DeckSummary> {
+
+	// same field names as DeckSerializer, with cardCount in place of the cards and shared users
+	@Override
+	public void serialize(DeckSummary value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+
+		gen.writeStartObject();
+			gen.writeNumberField("id", value.id());
+			gen.writeNumberField("numberOfLikes", value.numberOfLikes());
+			gen.writeStringField("visibility", value.visibility().toString());
+			if (value.authorId() == null) {
+				gen.writeNullField("authorId");
+			} else {
+				gen.writeNumberField("authorId", value.authorId());
+			}
+			gen.writeStringField("name", value.name());
+			gen.writeStringField("created", value.created().toString());
+			gen.writeNumberField("cardCount", value.cardCount());
+		gen.writeEndObject();
+	}
+}
@@ -0,0 +1,66 @@
+package me.elephantsuite.response.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import me.elephantsuite.user.ElephantUser;
+import me.elephantsuite.user.UserLoadProfile;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Leaves lazy associations that were never loaded out of our entities' JSON instead of loading them while serializing.
+ * Users are the exception: their associations are written exactly when the {@link UserLoadProfile} they were loaded
+ * with includes them, so the same profile always gives the same payload whatever else the handler touched.
+ */
+@Component
+public class LoadedPropertiesModule extends SimpleModule {
+
+	public LoadedPropertiesModule() {
+		super("LoadedPropertiesModule");
+
+		setSerializerModifier(new BeanSerializerModifier() {
+			@Override
+			public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+				// hibernate proxies are subclasses in the same package, so this covers them too
+				if (!beanDesc.getBeanClass().getName().startsWith("me.elephantsuite.")) {
+					return beanProperties;
+				}
+
+				List<BeanPropertyWriter> writers = new ArrayList<>(beanProperties.size());
+				beanProperties.forEach(writer -> writers.add(new LoadedPropertyWriter(writer)));
+
+				return writers;
+			}
+		});
+	}
+
+	private static class LoadedPropertyWriter extends BeanPropertyWriter {
+
+		private LoadedPropertyWriter(BeanPropertyWriter base) {
+			super(base);
+		}
+
+		@Override
+		public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+			if (bean instanceof ElephantUser user && UserLoadProfile.isAssociation(getName())) {
+				if (user.getLoadProfile().includes(getName())) {
+					super.serializeAsField(bean, gen, prov);
+				}
+
+				return;
+			}
+
+			if (Hibernate.isInitialized(get(bean))) {
+				super.serializeAsField(bean, gen, prov);
+			}
+		}
+	}
+}
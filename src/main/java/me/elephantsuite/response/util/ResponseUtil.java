@@ -7,6 +7,8 @@ import me.elephantsuite.response.exception.InvalidIdType;
 import me.elephantsuite.response.exception.UserNotEnabledException;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
+import me.elephantsuite.user.status.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public class ResponseUtil {
@@ -19,8 +21,15 @@ public class ResponseUtil {
 		throw new InvalidIdException(id, type);
 	}
 	public static ElephantUser checkUserValid(long userId, ElephantUserService service) {
-		ElephantUser user = service.getUserById(userId);
+		return checkUserValid(userId, service.getUserById(userId));
+	}
+
+	// goes through the profiled read, which also writes the user's buffered usage time first
+	public static ElephantUser checkUserValid(long userId, ElephantUserService service, UserLoadProfile profile) {
+		return checkUserValid(userId, service.getUserById(userId, profile));
+	}
 
+	private static ElephantUser checkUserValid(long userId, ElephantUser user) {
 		if (user == null) {
 			throw new InvalidIdException(userId, InvalidIdType.USER);
 		}
@@ -32,6 +41,19 @@ public class ResponseUtil {
 		return user;
 	}
 
+	// same checks as checkUserValid from the cached user status, for callers that do not need the user itself
+	public static UserStatus checkUserEnabled(long userId, ElephantUserService service) {
+		UserStatus status = service
+			.getUserStatus(userId)
+			.orElseThrow(() -> new InvalidIdException(userId, InvalidIdType.USER));
+
+		if (!status.enabled()) {
+			throw new UserNotEnabledException(status);
+		}
+
+		return status;
+	}
+
 	public static Response getFailureResponse(String message, Object request) {
 		return ResponseBuilder
 			.create()
@@ -0,0 +1,137 @@
+package me.elephantsuite.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-folded n-gram inverted index from ids to names, answering "name contains query" lookups.
+ *
+ * <p>Every 1, 2 and 3 character substring of a name maps to the ids whose name contains it. Queries of up to 3
+ * characters are answered straight from a posting list, longer queries start from their smallest trigram posting
+ * list and are verified against the stored name, so lookups cost the size of the matches rather than of the index.
+ *
+ * <p>Not thread safe, owners are expected to guard it with their own lock.
+ */
+public class NGramIndex {
+
+	private static final int MAX_GRAM_LENGTH = 3;
+
+	private final Map<String, Set<Long>> postings = new HashMap<>();
+
+	private final Map<Long, String> names = new HashMap<>();
+
+	public void put(long id, String name) {
+		String lowerName = fold(name);
+		String old = names.get(id);
+
+		if (old != null && old.equals(lowerName)) {
+			return;
+		}
+
+		remove(id);
+
+		if (lowerName == null) {
+			return;
+		}
+
+		names.put(id, lowerName);
+		grams(lowerName).forEach(gram -> postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id));
+	}
+
+	public void remove(long id) {
+		String old = names.remove(id);
+
+		if (old == null) {
+			return;
+		}
+
+		for (String gram : grams(old)) {
+			Set<Long> posting = postings.get(gram);
+
+			if (posting != null) {
+				posting.remove(id);
+
+				if (posting.isEmpty()) {
+					postings.remove(gram);
+				}
+			}
+		}
+	}
+
+	public void clear() {
+		postings.clear();
+		names.clear();
+	}
+
+	public int size() {
+		return names.size();
+	}
+
+	// ids whose name contains the query ignoring case, in no particular order
+	public List<Long> matches(String query) {
+		String lowerQuery = fold(query);
+
+		if (lowerQuery == null) {
+			return new ArrayList<>();
+		}
+
+		if (lowerQuery.isEmpty()) {
+			return new ArrayList<>(names.keySet());
+		}
+
+		if (lowerQuery.length() <= MAX_GRAM_LENGTH) {
+			return new ArrayList<>(postings.getOrDefault(lowerQuery, Collections.emptySet()));
+		}
+
+		List<Long> matches = new ArrayList<>();
+
+		for (Long id : smallestTrigramPosting(lowerQuery)) {
+			if (names.get(id).contains(lowerQuery)) {
+				matches.add(id);
+			}
+		}
+
+		return matches;
+	}
+
+	private Collection<Long> smallestTrigramPosting(String lowerQuery) {
+		Set<Long> smallest = null;
+
+		for (int i = 0; i + MAX_GRAM_LENGTH <= lowerQuery.length(); i++) {
+			Set<Long> posting = postings.get(lowerQuery.substring(i, i + MAX_GRAM_LENGTH));
+
+			if (posting == null) {
+				return Collections.emptySet();
+			}
+
+			if (smallest == null || posting.size() < smallest.size()) {
+				smallest = posting;
+			}
+		}
+
+		return smallest;
+	}
+
+	private static Set<String> grams(String name) {
+		Set<String> grams = new HashSet<>();
+
+		for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+			for (int i = 0; i + length <= name.length(); i++) {
+				grams.add(name.substring(i, i + length));
+			}
+		}
+
+		return grams;
+	}
+
+	private static String fold(String str) {
+		return str == null ? null : str.toLowerCase(Locale.ROOT);
+	}
+}
@@ -8,6 +8,7 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,7 +32,7 @@ public class SongService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Added Liked Song to user!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SOCIAL.load(user))
 			.build();
 	}
 
@@ -52,7 +53,7 @@ public class SongService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Added Liked Song to user!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SOCIAL.load(user))
 			.build();
 	}
 }
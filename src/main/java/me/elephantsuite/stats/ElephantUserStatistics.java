@@ -2,9 +2,7 @@ package me.elephantsuite.stats;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
@@ -18,23 +16,22 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import me.elephantsuite.deck.card.Card;
-import me.elephantsuite.quiz.card.QuizCard;
-import me.elephantsuite.stats.card.CardStatistics;
 import me.elephantsuite.stats.medal.Medal;
 import me.elephantsuite.stats.medal.MedalService;
-import me.elephantsuite.stats.quiz_card.QuizCardStatistics;
 import me.elephantsuite.user.ElephantUser;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
 @Getter
 @Setter
 @EqualsAndHashCode
-@JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "quizCardStatistics"})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @NoArgsConstructor
 @ToString
 @Entity
+// only changed columns are written, so saving the entity never overwrites usage time added by UsageTimeAccumulator
+@DynamicUpdate
 public class ElephantUserStatistics {
 	@Id
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "elephant_user_statistics_generator")
@@ -52,30 +49,10 @@ public class ElephantUserStatistics {
 
 	private LocalDateTime lastLoggedIn = LocalDateTime.now();
 
-	@ElementCollection(fetch = FetchType.EAGER)
-	@Fetch(FetchMode.SUBSELECT)
-	private List<Long> recentlyViewedDeckIds = new ArrayList<>();
-
-	@ElementCollection(fetch = FetchType.EAGER)
-	@Fetch(FetchMode.SUBSELECT)
-	private List<Long> recentlyViewedTimelineIds = new ArrayList<>();
-
 	@OneToMany(mappedBy = "userStatistics", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Medal> medals = new ArrayList<>();
 
-
-	@OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
-	@JoinTable(name = "elephant_user_statistics_card_statistics_mapping", joinColumns = {@JoinColumn(name = "elephant_user_statistics_id", referencedColumnName = "id")}, inverseJoinColumns = {@JoinColumn(name = "card_statistics_id")})
-	@MapKeyJoinColumn(name = "card_id")
-	private Map<Card, CardStatistics> cardStatistics = new HashMap<>();
-
-	@OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
-	@JoinTable(name = "elephant_user_statistics_quiz_card_statistics_mapping", joinColumns = {@JoinColumn(name = "elephant_user_statistics_id", referencedColumnName = "id")}, inverseJoinColumns = {@JoinColumn(name = "quiz_card_statistics_id")})
-	@MapKeyJoinColumn(name = "quiz_card_id")
-//	@JsonIgnore
-	private Map<QuizCard, QuizCardStatistics> quizCardStatistics = new HashMap<>();
-
 	public ElephantUserStatistics(ElephantUser user) {
 		this.user = user;
 	}
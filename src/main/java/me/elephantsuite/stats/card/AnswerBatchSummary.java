@@ -0,0 +1,6 @@
+package me.elephantsuite.stats.card;
+
+import java.time.LocalDateTime;
+
+// what a batch of answers changed, nextDueAt is the earliest next review among the answered cards
+public record AnswerBatchSummary(int answers, int answeredRight, int answeredWrong, int cards, LocalDateTime nextDueAt) {}
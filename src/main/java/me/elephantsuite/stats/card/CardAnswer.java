@@ -0,0 +1,6 @@
+package me.elephantsuite.stats.card;
+
+import java.time.LocalDateTime;
+
+// one flashcard answer of a study session
+public record CardAnswer(long cardId, boolean right, LocalDateTime answeredAt) {}
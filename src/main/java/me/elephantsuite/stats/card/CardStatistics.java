@@ -1,5 +1,7 @@
 package me.elephantsuite.stats.card;
 
+import java.time.LocalDateTime;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -7,8 +9,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -24,6 +28,11 @@ import me.elephantsuite.stats.ElephantUserStatistics;
 @NoArgsConstructor
 @ToString
 @Entity
+@Table(indexes = {
+	@Index(name = "card_statistics_user_due", columnList = "user_id, next_due_at"),
+	@Index(name = "card_statistics_user_card", columnList = "user_id, card_id", unique = true),
+	@Index(name = "card_statistics_card", columnList = "card_id")
+})
 public class CardStatistics {
 	@Id
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_statistics_generator")
@@ -37,8 +46,25 @@ public class CardStatistics {
 
 	private int answeredWrong;
 
-	public CardStatistics(long cardId) {
+	// rows are keyed by (userId, cardId). a card in several decks has one schedule, decks are joined in when listing
+	private Long userId;
+
+	// scheduling state, see SpacedRepetition
+	private LocalDateTime nextDueAt;
+
+	// defaults let ddl-auto add the columns to existing rows
+	@Column(columnDefinition = "float8 NOT NULL DEFAULT 2.5")
+	private double ease = SpacedRepetition.INITIAL_EASE;
+
+	@Column(columnDefinition = "integer NOT NULL DEFAULT 0")
+	private int intervalDays;
+
+	@Column(columnDefinition = "integer NOT NULL DEFAULT 0")
+	private int repetitions;
+
+	public CardStatistics(long cardId, long userId) {
 		this.cardId = cardId;
+		this.userId = userId;
 	}
 
 	public void incrementAnsweredRight() {
@@ -49,4 +75,14 @@ public class CardStatistics {
 		answeredWrong++;
 	}
 
+	public void review(boolean right, LocalDateTime now, int relearnMinutes) {
+		if (right) {
+			incrementAnsweredRight();
+		} else {
+			incrementAnsweredWrong();
+		}
+
+		SpacedRepetition.review(this, right, now, relearnMinutes);
+	}
+
 }
@@ -0,0 +1,109 @@
+package me.elephantsuite.stats.card;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes many card statistics rows of one user in a handful of statements instead of a load and save per row.
+ */
+@Service
+@Transactional
+@AllArgsConstructor
+public class CardStatisticsBatchWriter {
+
+	private static final int PARAMETERS_PER_ROW = 8;
+
+	// keeps each statement far below the 32767 bind parameters PostgreSQL accepts
+	private static final int ROWS_PER_STATEMENT = 500;
+
+	private final EntityManager entityManager;
+
+	/**
+	 * Locks the user's existing rows for the cards until the transaction ends and returns them detached, so changes
+	 * made to them are only written by {@link #upsert(List)}. Rows are locked in card id order so concurrent batches
+	 * of the same user can not deadlock.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<CardStatistics> lockExisting(long userId, Collection<Long> cardIds) {
+		if (cardIds.isEmpty()) {
+			return List.of();
+		}
+
+		List<CardStatistics> rows = entityManager
+			.createNativeQuery("SELECT * FROM card_statistics WHERE user_id = ?1 AND card_id IN (?2) ORDER BY card_id FOR UPDATE", CardStatistics.class)
+			.setParameter(1, userId)
+			.setParameter(2, cardIds)
+			.getResultList();
+
+		rows.forEach(entityManager::detach);
+
+		return rows;
+	}
+
+	/**
+	 * Inserts or updates the rows by (user id, card id) with one multi-row statement per {@value #ROWS_PER_STATEMENT}
+	 * rows. answeredRight and answeredWrong of the given rows are deltas added to the stored counts, so answers are
+	 * never lost even if a concurrent batch inserted the same row first. Scheduling state is overwritten.
+	 */
+	public int upsert(List<CardStatistics> rows) {
+		int written = 0;
+
+		for (List<CardStatistics> chunk : Lists.partition(rows, ROWS_PER_STATEMENT)) {
+			Query query = entityManager.createNativeQuery(upsertSql(chunk.size()));
+
+			int parameter = 1;
+
+			for (CardStatistics row : chunk) {
+				query.setParameter(parameter++, row.getUserId());
+				query.setParameter(parameter++, row.getCardId());
+				query.setParameter(parameter++, row.getAnsweredRight());
+				query.setParameter(parameter++, row.getAnsweredWrong());
+				query.setParameter(parameter++, row.getNextDueAt());
+				query.setParameter(parameter++, row.getEase());
+				query.setParameter(parameter++, row.getIntervalDays());
+				query.setParameter(parameter++, row.getRepetitions());
+			}
+
+			written += query.executeUpdate();
+		}
+
+		return written;
+	}
+
+	static String upsertSql(int rows) {
+		StringBuilder sql = new StringBuilder("INSERT INTO card_statistics (id, user_id, card_id, answered_right, answered_wrong, next_due_at, ease, interval_days, repetitions) VALUES ");
+
+		for (int row = 0; row < rows; row++) {
+			int first = row * PARAMETERS_PER_ROW + 1;
+
+			if (row > 0) {
+				sql.append(", ");
+			}
+
+			sql.append("(nextval('card_statistics_sequence')");
+
+			for (int i = 0; i < PARAMETERS_PER_ROW; i++) {
+				sql.append(", ?").append(first + i);
+			}
+
+			sql.append(')');
+		}
+
+		return sql
+			.append(" ON CONFLICT (user_id, card_id) DO UPDATE SET")
+			.append(" answered_right = card_statistics.answered_right + EXCLUDED.answered_right,")
+			.append(" answered_wrong = card_statistics.answered_wrong + EXCLUDED.answered_wrong,")
+			.append(" next_due_at = EXCLUDED.next_due_at,")
+			.append(" ease = EXCLUDED.ease,")
+			.append(" interval_days = EXCLUDED.interval_days,")
+			.append(" repetitions = EXCLUDED.repetitions")
+			.toString();
+	}
+}
@@ -1,5 +1,10 @@
 package me.elephantsuite.stats.card;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,13 +14,45 @@ import org.springframework.transaction.annotation.Transactional;
 @Repository
 public interface CardStatisticsRepository extends JpaRepository<CardStatistics, Long> {
 
+	Optional<CardStatistics> findByUserIdAndCardId(long userId, long cardId);
+
 	@Modifying
 	@Transactional
-	@Query(value = "DELETE FROM elephant_user_statistics_card_statistics_mapping WHERE elephant_user_statistics_card_statistics_mapping.card_id = ?1", nativeQuery = true)
-	int deleteCardStatisticsMapping(long cardId);
+	@Query("DELETE FROM CardStatistics c WHERE c.userId = ?1")
+	int deleteByUserId(long userId);
 
 	@Modifying
 	@Transactional
 	@Query("DELETE FROM CardStatistics c WHERE c.cardId = ?1")
 	int deleteCardStatistics(long cardId);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM CardStatistics c WHERE c.cardId IN ?1")
+	int deleteCardStatisticsByCardIds(Collection<Long> cardIds);
+
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM card_statistics WHERE card_id IN (SELECT dc.cards_id FROM deck_cards dc WHERE dc.deck_id = ?1 AND NOT EXISTS (SELECT 1 FROM backpack_cards bc WHERE bc.cards_id = dc.cards_id))", nativeQuery = true)
+	int deleteDeckCardStatisticsNotBackpacked(long deckId);
+
+	// walks card_statistics_user_due in due order and probes deck_cards by card, stops after limit cards of the deck
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT s.card_id FROM card_statistics s WHERE s.user_id = ?1 AND s.next_due_at <= ?3 AND EXISTS (SELECT 1 FROM deck_cards dc WHERE dc.cards_id = s.card_id AND dc.deck_id = ?2) ORDER BY s.next_due_at LIMIT ?4", nativeQuery = true)
+	List<Long> getDueCardIds(long userId, long deckId, LocalDateTime now, int limit);
+
+	// walks the deck's cards and probes card_statistics_user_card by card, costs the deck's size whatever else the user answered
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT s.card_id FROM deck_cards dc JOIN card_statistics s ON s.user_id = ?1 AND s.card_id = dc.cards_id WHERE dc.deck_id = ?2 AND s.next_due_at <= ?3 ORDER BY s.next_due_at LIMIT ?4", nativeQuery = true)
+	List<Long> getDueCardIdsByDeckCards(long userId, long deckId, LocalDateTime now, int limit);
+
+	// the deck's number of cards, counting no further than max
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT count(*) FROM (SELECT 1 FROM deck_cards dc WHERE dc.deck_id = ?1 LIMIT ?2) c", nativeQuery = true)
+	long countDeckCards(long deckId, int max);
+
+	// cards of the deck the user has never answered, probed through card_statistics_user_card
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT dc.cards_id FROM deck_cards dc WHERE dc.deck_id = ?2 AND NOT EXISTS (SELECT 1 FROM card_statistics cs WHERE cs.user_id = ?1 AND cs.card_id = dc.cards_id) ORDER BY dc.cards_id LIMIT ?3", nativeQuery = true)
+	List<Long> getNewCardIds(long userId, long deckId, int limit);
 }
@@ -1,9 +1,20 @@
 package me.elephantsuite.stats.card;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 import lombok.AllArgsConstructor;
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.util.LongObjectMap;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Card statistics keyed by (user id, card id). Callers fetch the rows they need for a request instead of going
+ * through the user, so loading a user never loads statistics.
+ */
 @Service
 @Transactional
 @AllArgsConstructor
@@ -11,7 +22,97 @@ public class CardStatisticsService {
 
 	private final CardStatisticsRepository cardStatisticsRepository;
 
+	private final CardStatisticsBatchWriter batchWriter;
+
 	public CardStatistics save(CardStatistics cardStatistics) {
 		return cardStatisticsRepository.save(cardStatistics);
 	}
+
+	// one answer, written through the same locked upsert as a batch so concurrent first answers can not both insert
+	public CardStatistics recordAnswer(long userId, long cardId, boolean right, LocalDateTime answeredAt, int relearnMinutes) {
+		recordAnswers(userId, List.of(new CardAnswer(cardId, right, answeredAt)), relearnMinutes);
+
+		return cardStatisticsRepository.findByUserIdAndCardId(userId, cardId).orElseThrow();
+	}
+
+	/**
+	 * Applies a study session's answers of one user. Answers are replayed per card in the order they were given on
+	 * the user's current rows, and the results are written back with one upsert.
+	 */
+	public AnswerBatchSummary recordAnswers(long userId, List<CardAnswer> answers, int relearnMinutes) {
+		List<Long> cardIds = answers
+			.stream()
+			.map(CardAnswer::cardId)
+			.distinct()
+			.toList();
+
+		LongObjectMap<CardStatistics> rows = new LongObjectMap<>(cardIds.size());
+
+		for (CardStatistics row : batchWriter.lockExisting(userId, cardIds)) {
+			// counts become deltas, the upsert adds them to the stored ones
+			row.setAnsweredRight(0);
+			row.setAnsweredWrong(0);
+			rows.put(row.getCardId(), row);
+		}
+
+		List<CardAnswer> ordered = new ArrayList<>(answers);
+		ordered.sort(Comparator.comparing(CardAnswer::answeredAt));
+
+		int right = 0;
+
+		for (CardAnswer answer : ordered) {
+			CardStatistics row = rows.get(answer.cardId());
+
+			if (row == null) {
+				row = new CardStatistics(answer.cardId(), userId);
+				rows.put(answer.cardId(), row);
+			}
+
+			row.review(answer.right(), answer.answeredAt(), relearnMinutes);
+
+			if (answer.right()) {
+				right++;
+			}
+		}
+
+		List<CardStatistics> changed = new ArrayList<>(rows.size());
+		rows.forEach((cardId, row) -> changed.add(row));
+
+		batchWriter.upsert(changed);
+
+		LocalDateTime nextDueAt = changed
+			.stream()
+			.map(CardStatistics::getNextDueAt)
+			.min(Comparator.naturalOrder())
+			.orElse(null);
+
+		return new AnswerBatchSummary(answers.size(), right, answers.size() - right, changed.size(), nextDueAt);
+	}
+
+	public int deleteUserStatistics(long userId) {
+		return cardStatisticsRepository.deleteByUserId(userId);
+	}
+
+	/**
+	 * Ids of the user's cards in the deck that are due at now, most overdue first. A deck of up to srsDeckProbeMax cards
+	 * is walked card by card, so a deck with few due cards costs its own size however many other cards the user has
+	 * due. A larger deck walks the user's due cards instead and stops after limit cards of the deck, which only reads far
+	 * when the user has many times more due cards elsewhere than the deck holds.
+	 */
+	@Transactional(readOnly = true)
+	public List<Long> getDueCardIds(long userId, long deckId, LocalDateTime now, int limit) {
+		int probeMax = ElephantBackendApplication.ELEPHANT_CONFIG.getInt("srsDeckProbeMax");
+
+		if (cardStatisticsRepository.countDeckCards(deckId, probeMax + 1) <= probeMax) {
+			return cardStatisticsRepository.getDueCardIdsByDeckCards(userId, deckId, now, limit);
+		}
+
+		return cardStatisticsRepository.getDueCardIds(userId, deckId, now, limit);
+	}
+
+	// ids of cards in the deck the user has not answered yet
+	@Transactional(readOnly = true)
+	public List<Long> getNewCardIds(long userId, long deckId, int limit) {
+		return cardStatisticsRepository.getNewCardIds(userId, deckId, limit);
+	}
 }
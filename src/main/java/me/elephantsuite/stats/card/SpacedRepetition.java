@@ -0,0 +1,44 @@
+package me.elephantsuite.stats.card;
+
+import java.time.LocalDateTime;
+
+/**
+ * SM-2 scheduling for flashcard answers. Answers are only right or wrong, so a right answer is graded 4 (ease kept)
+ * and a wrong one 1 (ease lowered, repetitions reset and the card due again after a short relearn delay).
+ */
+public final class SpacedRepetition {
+
+	public static final double INITIAL_EASE = 2.5;
+
+	public static final double MIN_EASE = 1.3;
+
+	private static final int RIGHT_GRADE = 4;
+
+	private static final int WRONG_GRADE = 1;
+
+	private SpacedRepetition() {}
+
+	public static void review(CardStatistics stats, boolean right, LocalDateTime now, int relearnMinutes) {
+		int grade = right ? RIGHT_GRADE : WRONG_GRADE;
+		int miss = 5 - grade;
+
+		stats.setEase(Math.max(MIN_EASE, stats.getEase() + 0.1 - miss * (0.08 + miss * 0.02)));
+
+		if (!right) {
+			stats.setRepetitions(0);
+			stats.setIntervalDays(0);
+			stats.setNextDueAt(now.plusMinutes(relearnMinutes));
+			return;
+		}
+
+		int interval = switch (stats.getRepetitions()) {
+			case 0 -> 1;
+			case 1 -> 6;
+			default -> (int) Math.round(stats.getIntervalDays() * stats.getEase());
+		};
+
+		stats.setRepetitions(stats.getRepetitions() + 1);
+		stats.setIntervalDays(Math.max(1, interval));
+		stats.setNextDueAt(now.plusDays(stats.getIntervalDays()));
+	}
+}
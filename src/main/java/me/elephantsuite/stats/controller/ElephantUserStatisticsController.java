@@ -2,6 +2,7 @@ package me.elephantsuite.stats.controller;
 
 import lombok.AllArgsConstructor;
 import me.elephantsuite.response.api.Response;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -35,11 +36,26 @@ public class ElephantUserStatisticsController {
 		return service.incrementAnsweredRight(request);
 	}
 
+	@PostMapping(path = "card/answers")
+	public Response recordAnswers(@RequestBody ElephantUserStatisticsRequest.RecordAnswers request) {
+		return service.recordAnswers(request);
+	}
+
+	@GetMapping(path = "card/due")
+	public Response getDueCards(@RequestParam("userId") long userId, @RequestParam("deckId") long deckId, @RequestParam(value = "limit", defaultValue = "20") int limit) {
+		return service.getDueCards(userId, deckId, limit);
+	}
+
 	@PostMapping(path = "recentlyViewedDecks")
 	public Response updateRecentlyViewedDecks(@RequestBody ElephantUserStatisticsRequest.UpdateRecentlyViewedDecks request) {
 		return service.updateRecentlyViewedDecks(request);
 	}
 
+	@GetMapping(path = "recentlyViewedTimelines")
+	public Response getRecentlyViewedTimelines(@RequestParam("userId") long userId) {
+		return service.getRecentlyViewedTimelines(userId);
+	}
+
 	@PostMapping(path = "recentlyViewedTimelines")
 	public Response updateRecentlyViewedTimeline(@RequestBody ElephantUserStatisticsRequest.UpdateRecentlyViewedTimelines request) {
 		return service.updateRecentlyViewedTimelines(request);
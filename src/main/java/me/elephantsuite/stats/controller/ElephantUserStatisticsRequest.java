@@ -1,5 +1,7 @@
 package me.elephantsuite.stats.controller;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -62,4 +64,29 @@ public class ElephantUserStatisticsRequest {
 
 		private final long cardId;
 	}
+
+	@Getter
+	@AllArgsConstructor
+	@ToString
+	@EqualsAndHashCode
+	public static class RecordAnswers {
+
+		private final long userId;
+
+		private final List<Answer> answers;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	@ToString
+	@EqualsAndHashCode
+	public static class Answer {
+
+		private final long cardId;
+
+		private final boolean correct;
+
+		// epoch milliseconds, 0 or a time in the future counts as now
+		private final long timestamp;
+	}
 }
@@ -1,11 +1,18 @@
 package me.elephantsuite.stats.controller;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
 import lombok.AllArgsConstructor;
 import me.elephantsuite.ElephantBackendApplication;
 import me.elephantsuite.config.PropertiesHandler;
-import me.elephantsuite.deck.Deck;
 import me.elephantsuite.deck.DeckRepositoryService;
-import me.elephantsuite.deck.card.Card;
 import me.elephantsuite.deck.card.CardService;
 import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
@@ -15,13 +22,19 @@ import me.elephantsuite.response.exception.UserNotEnabledException;
 import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.stats.ElephantUserStatisticsRepositoryService;
+import me.elephantsuite.stats.card.AnswerBatchSummary;
+import me.elephantsuite.stats.card.CardAnswer;
 import me.elephantsuite.stats.card.CardStatistics;
 import me.elephantsuite.stats.card.CardStatisticsService;
 import me.elephantsuite.stats.medal.MedalService;
+import me.elephantsuite.stats.recent.RecentlyViewedService;
+import me.elephantsuite.stats.recent.RecentlyViewedType;
+import me.elephantsuite.stats.usage.UsageTimeAccumulator;
 import me.elephantsuite.timeline.Timeline;
 import me.elephantsuite.timeline.TimelineRepositoryService;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +56,10 @@ public class ElephantUserStatisticsService {
 
 	private final MedalService medalService;
 
+	private final UsageTimeAccumulator usageTimeAccumulator;
+
+	private final RecentlyViewedService recentlyViewedService;
+
 	public Response modifyStatsOnLogin(long id) {
 		ElephantUser user = ResponseUtil.checkUserValid(id, userService);
 
@@ -56,144 +73,178 @@ public class ElephantUserStatisticsService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Updated Login Stats!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.STATS.load(user))
 			.build();
 	}
 
+	// buffered in memory and written in batches by UsageTimeAccumulator, so the response only echoes the accepted delta
+	// instead of a stored total that would leave out what is still buffered
 	public Response increaseUsageTime(ElephantUserStatisticsRequest.IncreaseUsageTime request) {
-		long userId = request.getUserId();
-		double usageTime = request.getUsageTime();
-
-		ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
+		long userId = ResponseUtil.checkUserEnabled(request.getUserId(), userService).id();
 
-		user.getElephantUserStatistics().increaseUsageTime(usageTime);
-
-		userStatisticsRepositoryService.save(user.getElephantUserStatistics());
-
-		user = userService.saveUser(user);
+		double accepted = usageTimeAccumulator.add(userId, request.getUsageTime());
 
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Updated Usage Time!")
-			.addObject("user", user)
+			.addObject("userId", userId)
+			.addObject("usageTime", accepted)
 			.build();
 	}
 
 	public Response incrementAnsweredWrong(ElephantUserStatisticsRequest.IncrementAnsweredWrong request) {
-		long userId = request.getUserId();
-		long cardId = request.getCardId();
-
-		ElephantUser user = userService.getUserById(userId);
-		Card card = cardService.getCardById(cardId);
-
-		if (card == null || user == null) {
-			throw new InvalidIdException(new Object[]{user, card}, InvalidIdType.CARD, InvalidIdType.USER);
-		}
-
-		if(!user.getElephantUserStatistics().getCardStatistics().containsKey(card)) {
-			user.getElephantUserStatistics().getCardStatistics().put(card, new CardStatistics(cardId));
-		}
-
-		user.getElephantUserStatistics().getCardStatistics().get(card).incrementAnsweredWrong();
-
-		cardStatisticsService.save(user.getElephantUserStatistics().getCardStatistics().get(card));
-		userStatisticsRepositoryService.save(user.getElephantUserStatistics());
-		user = userService.saveUser(user);
+		ElephantUser user = ResponseUtil.checkUserValid(request.getUserId(), userService);
+		CardStatistics statistics = recordAnswer(user.getId(), request.getCardId(), false);
 
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Incremented Answered Wrong for Card!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.STATS.load(user))
+			.addObject("statistics", statistics)
 			.build();
 	}
 
 	public Response incrementAnsweredRight(ElephantUserStatisticsRequest.IncrementAnsweredRight request) {
-		long userId = request.getUserId();
-		long cardId = request.getCardId();
+		ElephantUser user = ResponseUtil.checkUserValid(request.getUserId(), userService);
+		CardStatistics statistics = recordAnswer(user.getId(), request.getCardId(), true);
 
-		ElephantUser user = userService.getUserById(userId);
-		Card card = cardService.getCardById(cardId);
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Incremented Answered Right for Card!")
+			.addObject("user", UserLoadProfile.STATS.load(user))
+			.addObject("statistics", statistics)
+			.build();
+	}
 
-		if (card == null || user == null) {
-			throw new InvalidIdException(new Object[]{user, card}, InvalidIdType.CARD, InvalidIdType.USER);
+	// counts the answer and reschedules the card for the user
+	private CardStatistics recordAnswer(long userId, long cardId, boolean right) {
+		if (cardService.getCardById(cardId) == null) {
+			throw new InvalidIdException(cardId, InvalidIdType.CARD);
 		}
 
-		if(!user.getElephantUserStatistics().getCardStatistics().containsKey(card)) {
-			user.getElephantUserStatistics().getCardStatistics().put(card, new CardStatistics(cardId));
+		return cardStatisticsService.recordAnswer(userId, cardId, right, LocalDateTime.now(), ElephantBackendApplication.ELEPHANT_CONFIG.getInt("srsRelearnMinutes"));
+	}
+
+	/**
+	 * Applies a whole study session of answers with one upsert and returns a summary instead of the user. Answers to
+	 * cards that do not exist are skipped and reported back.
+	 */
+	public Response recordAnswers(ElephantUserStatisticsRequest.RecordAnswers request) {
+		long userId = ResponseUtil.checkUserEnabled(request.getUserId(), userService).id();
+		List<ElephantUserStatisticsRequest.Answer> answers = request.getAnswers() == null ? List.of() : request.getAnswers();
+
+		PropertiesHandler handler = ElephantBackendApplication.ELEPHANT_CONFIG;
+
+		if (answers.size() > handler.getInt("answerBatchMax")) {
+			return ResponseBuilder
+				.create()
+				.addResponse(ResponseStatus.FAILURE, "Too Many Answers in One Batch!")
+				.addObject("max", handler.getInt("answerBatchMax"))
+				.build();
 		}
 
-		user.getElephantUserStatistics().getCardStatistics().get(card).incrementAnsweredRight();
+		Set<Long> existing = cardService.getExistingCardIds(answers
+			.stream()
+			.map(ElephantUserStatisticsRequest.Answer::getCardId)
+			.collect(Collectors.toSet()));
 
-		cardStatisticsService.save(user.getElephantUserStatistics().getCardStatistics().get(card));
-		userStatisticsRepositoryService.save(user.getElephantUserStatistics());
-		user = userService.saveUser(user);
+		LocalDateTime now = LocalDateTime.now();
+		List<CardAnswer> known = new ArrayList<>(answers.size());
+		Set<Long> unknownCardIds = new TreeSet<>();
+
+		for (ElephantUserStatisticsRequest.Answer answer : answers) {
+			if (!existing.contains(answer.getCardId())) {
+				unknownCardIds.add(answer.getCardId());
+				continue;
+			}
+
+			known.add(new CardAnswer(answer.getCardId(), answer.isCorrect(), answeredAt(answer.getTimestamp(), now)));
+		}
+
+		AnswerBatchSummary summary = known.isEmpty()
+			? new AnswerBatchSummary(0, 0, 0, 0, null)
+			: cardStatisticsService.recordAnswers(userId, known, handler.getInt("srsRelearnMinutes"));
 
 		return ResponseBuilder
 			.create()
-			.addResponse(ResponseStatus.SUCCESS, "Incremented Answered Right for Card!")
-			.addObject("user", user)
+			.addResponse(ResponseStatus.SUCCESS, "Recorded Answers!")
+			.addObject("summary", summary)
+			.addObject("unknownCardIds", unknownCardIds)
 			.build();
 	}
 
-	public Response updateRecentlyViewedDecks(ElephantUserStatisticsRequest.UpdateRecentlyViewedDecks request) {
-		long deckId = request.getDeckId();
-		long userId = request.getUserId();
+	private static LocalDateTime answeredAt(long timestamp, LocalDateTime now) {
+		if (timestamp <= 0) {
+			return now;
+		}
 
-		ElephantUser user = userService.getUserById(userId);
-		Deck deck = deckService.getDeckById(deckId);
+		LocalDateTime answeredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+
+		return answeredAt.isAfter(now) ? now : answeredAt;
+	}
 
-		if (user == null || deck == null) {
-			throw new InvalidIdException(request, InvalidIdType.DECK, InvalidIdType.USER);
+	/**
+	 * Returns up to {@code limit} cards of the deck for the user to study next: cards due for review, most overdue
+	 * first, then cards the user has never answered if there is room left.
+	 */
+	@Transactional(readOnly = true)
+	public Response getDueCards(long userId, long deckId, int limit) {
+		ResponseUtil.checkUserEnabled(userId, userService);
+
+		if (!deckService.deckExists(deckId)) {
+			throw new InvalidIdException(deckId, InvalidIdType.DECK);
 		}
 
-		user.getElephantUserStatistics().getRecentlyViewedDeckIds().remove(deckId);
+		limit = Math.max(0, Math.min(limit, ElephantBackendApplication.ELEPHANT_CONFIG.getInt("srsDueCardsMax")));
 
-		user.getElephantUserStatistics().getRecentlyViewedDeckIds().add(0, deckId);
+		List<Long> dueIds = cardStatisticsService.getDueCardIds(userId, deckId, LocalDateTime.now(), limit);
+		List<Long> newIds = dueIds.size() < limit ? cardStatisticsService.getNewCardIds(userId, deckId, limit - dueIds.size()) : List.of();
 
-		//at maxed size after adding one
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved Due Cards!")
+			.addObject("dueCards", cardService.getCardsByIds(dueIds))
+			.addObject("newCards", cardService.getCardsByIds(newIds))
+			.build();
+	}
 
-		PropertiesHandler handler = ElephantBackendApplication.ELEPHANT_CONFIG;
+	// one upsert of the viewed deck, the user is not loaded
+	public Response updateRecentlyViewedDecks(ElephantUserStatisticsRequest.UpdateRecentlyViewedDecks request) {
+		long userId = ResponseUtil.checkUserEnabled(request.getUserId(), userService).id();
 
-		if (user.getElephantUserStatistics().getRecentlyViewedDeckIds().size() == handler.getConfigOption("recentlyViewedDecksMax", Integer::parseInt) + 1) {
-			user.getElephantUserStatistics().getRecentlyViewedDeckIds().remove(user.getElephantUserStatistics().getRecentlyViewedDeckIds().size() - 1);
+		if (!deckService.deckExists(request.getDeckId())) {
+			throw new InvalidIdException(request.getDeckId(), InvalidIdType.DECK);
 		}
 
-		userStatisticsRepositoryService.save(user.getElephantUserStatistics());
-		user = userService.saveUser(user);
+		recentlyViewedService.view(userId, RecentlyViewedType.DECK, request.getDeckId());
 
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Added Deck to Recently Viewed Decks!")
-			.addObject("user", user)
 			.build();
 	}
 
 	public Response updateRecentlyViewedTimelines(ElephantUserStatisticsRequest.UpdateRecentlyViewedTimelines request) {
-		long timelineId = request.getTimelineId();
-		long userId = request.getUserId();
-
-		ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
-		Timeline deck = getTimelineById(timelineId);
-
-		user.getElephantUserStatistics().getRecentlyViewedTimelineIds().remove(timelineId);
+		long userId = ResponseUtil.checkUserEnabled(request.getUserId(), userService).id();
 
-		user.getElephantUserStatistics().getRecentlyViewedTimelineIds().add(0, timelineId);
+		getTimelineById(request.getTimelineId());
 
-		//at maxed size after adding one
+		recentlyViewedService.view(userId, RecentlyViewedType.TIMELINE, request.getTimelineId());
 
-		PropertiesHandler handler = ElephantBackendApplication.ELEPHANT_CONFIG;
-
-		if (user.getElephantUserStatistics().getRecentlyViewedTimelineIds().size() == handler.getConfigOption("recentlyViewedDecksMax", Integer::parseInt) + 1) {
-			user.getElephantUserStatistics().getRecentlyViewedTimelineIds().remove(user.getElephantUserStatistics().getRecentlyViewedTimelineIds().size() - 1);
-		}
+		return ResponseBuilder
+			.create()
+			.addResponse(ResponseStatus.SUCCESS, "Added Timeline to Recently Viewed Timelines!")
+			.build();
+	}
 
-		userStatisticsRepositoryService.save(user.getElephantUserStatistics());
-		user = userService.saveUser(user);
+	@Transactional(readOnly = true)
+	public Response getRecentlyViewedTimelines(long userId) {
+		ResponseUtil.checkUserEnabled(userId, userService);
 
 		return ResponseBuilder
 			.create()
-			.addResponse(ResponseStatus.SUCCESS, "Added Timeline to Recently Viewed Timelines!")
-			.addObject("user", user)
+			.addResponse(ResponseStatus.SUCCESS, "Retrieved Recently Viewed Timelines!")
+			.addObject("timelineIds", recentlyViewedService.getTargetIds(userId, RecentlyViewedType.TIMELINE))
 			.build();
 	}
 
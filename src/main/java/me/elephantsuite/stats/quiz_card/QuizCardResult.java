@@ -0,0 +1,9 @@
+package me.elephantsuite.stats.quiz_card;
+
+// projection of one user's result on one quiz card, without loading the statistics entities
+public interface QuizCardResult {
+
+    Long getQuizCardId();
+
+    boolean getAnsweredCorrectly();
+}
@@ -13,18 +13,25 @@ import lombok.*;
 @NoArgsConstructor
 @ToString
 @Entity
+@Table(indexes = {
+    @Index(name = "quiz_card_statistics_user_card", columnList = "user_id, quiz_card_id", unique = true),
+    @Index(name = "quiz_card_statistics_card", columnList = "quiz_card_id")
+})
 public class QuizCardStatistics {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_card_statistics_generator")
-    @SequenceGenerator(name = "quiz_card_statistics_generator", sequenceName = "quiz_card_statistics_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "quiz_card_statistics_generator", sequenceName = "quiz_card_statistics_sequence", allocationSize = 50)
     private Long id;
 
+    private Long userId;
+
     private Long quizCardId;
 
     private boolean answeredCorrectly = false;
 
-    public QuizCardStatistics(long quizCardId) {
+    public QuizCardStatistics(long userId, long quizCardId) {
+        this.userId = userId;
         this.quizCardId = quizCardId;
     }
 }
@@ -1,5 +1,9 @@
 package me.elephantsuite.stats.quiz_card;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,13 +12,30 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface QuizCardStatisticsRepository extends JpaRepository<QuizCardStatistics, Long> {
-    @Query(value = "DELETE FROM elephant_user_statistics_quiz_card_statistics_mapping WHERE quiz_card_id = ?1", nativeQuery = true)
+    Optional<QuizCardStatistics> findByUserIdAndQuizCardId(long userId, long quizCardId);
+
+    List<QuizCardStatistics> findByUserIdAndQuizCardIdIn(long userId, Collection<Long> quizCardIds);
+
+    // rows for the existing quiz cards the user has none for, rows a concurrent caller inserted first are skipped
+    @Query(value = "INSERT INTO quiz_card_statistics (id, user_id, quiz_card_id, answered_correctly) " +
+        "SELECT nextval('quiz_card_statistics_sequence'), ?1, c.id, false FROM quiz_card c WHERE c.id IN ?2 " +
+        "ON CONFLICT (user_id, quiz_card_id) DO NOTHING", nativeQuery = true)
     @Modifying
     @Transactional
-    int deleteCardMappings(long quizCardId);
+    int insertMissing(long userId, Collection<Long> quizCardIds);
+
+    @Query("DELETE FROM QuizCardStatistics s WHERE s.userId = ?1")
+    @Modifying
+    @Transactional
+    int deleteByUserId(long userId);
 
     @Query(value = "DELETE FROM quiz_card_statistics WHERE quiz_card_id = ?1", nativeQuery = true)
     @Modifying
     @Transactional
     int deleteCardStats(long cardId);
+
+    @Query(value = "SELECT s.quiz_card_id AS quizCardId, s.answered_correctly AS answeredCorrectly FROM quiz_card_statistics s " +
+        "JOIN quiz_card c ON c.id = s.quiz_card_id " +
+        "WHERE s.user_id = ?1 AND c.quiz_id = ?2", nativeQuery = true)
+    List<QuizCardResult> getQuizResults(long userId, long quizId);
 }
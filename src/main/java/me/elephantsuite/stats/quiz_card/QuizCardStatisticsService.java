@@ -1,9 +1,16 @@
 package me.elephantsuite.stats.quiz_card;
 
+import java.util.Collection;
+import java.util.List;
+
 import lombok.AllArgsConstructor;
+import me.elephantsuite.util.LongObjectMap;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Quiz card statistics keyed by (user id, quiz card id), read per request instead of through the user.
+ */
 @Service
 @Transactional
 @AllArgsConstructor
@@ -15,12 +22,73 @@ public class QuizCardStatisticsService {
 		return quizCardStatisticsRepository.save(cardStatistics);
 	}
 
+	public List<QuizCardStatistics> saveAll(List<QuizCardStatistics> cardStatistics) {
+		return quizCardStatisticsRepository.saveAll(cardStatistics);
+	}
+
+	// the user's statistics for the quiz card, inserted if there are none yet. the quiz card must exist
+	public QuizCardStatistics getOrCreate(long userId, long quizCardId) {
+		return quizCardStatisticsRepository
+			.findByUserIdAndQuizCardId(userId, quizCardId)
+			.orElseGet(() -> {
+				quizCardStatisticsRepository.insertMissing(userId, List.of(quizCardId));
+
+				return quizCardStatisticsRepository.findByUserIdAndQuizCardId(userId, quizCardId).orElseThrow();
+			});
+	}
+
+	/**
+	 * The user's statistics by quiz card id for every given card, inserting the missing rows in one statement. Ids of
+	 * quiz cards that do not exist are left out.
+	 */
+	public LongObjectMap<QuizCardStatistics> getOrCreateAll(long userId, Collection<Long> quizCardIds) {
+		LongObjectMap<QuizCardStatistics> map = new LongObjectMap<>(quizCardIds.size());
+
+		if (quizCardIds.isEmpty()) {
+			return map;
+		}
+
+		quizCardStatisticsRepository
+			.findByUserIdAndQuizCardIdIn(userId, quizCardIds)
+			.forEach(stats -> map.put(stats.getQuizCardId(), stats));
+
+		List<Long> missing = quizCardIds
+			.stream()
+			.distinct()
+			.filter(id -> !map.containsKey(id))
+			.toList();
+
+		if (!missing.isEmpty()) {
+			// the insert skips rows a concurrent caller created in the meantime, so read them all back
+			quizCardStatisticsRepository.insertMissing(userId, missing);
+			quizCardStatisticsRepository
+				.findByUserIdAndQuizCardIdIn(userId, missing)
+				.forEach(stats -> map.put(stats.getQuizCardId(), stats));
+		}
+
+		return map;
+	}
+
 	public void deleteCardData(long cardId) {
-		quizCardStatisticsRepository.deleteCardMappings(cardId);
 		quizCardStatisticsRepository.deleteCardStats(cardId);
 	}
 
+	public int deleteUserStatistics(long userId) {
+		return quizCardStatisticsRepository.deleteByUserId(userId);
+	}
+
 	public int deleteCardStats(long cardId) {
 		return quizCardStatisticsRepository.deleteCardStats(cardId);
 	}
-}
\ No newline at end of file
+
+	// the user's result per quiz card id for every card of the quiz they have a result for, in one query
+	@Transactional(readOnly = true)
+	public LongObjectMap<QuizCardResult> getQuizResults(long userId, long quizId) {
+		List<QuizCardResult> results = quizCardStatisticsRepository.getQuizResults(userId, quizId);
+		LongObjectMap<QuizCardResult> map = new LongObjectMap<>(results.size());
+
+		results.forEach(result -> map.put(result.getQuizCardId(), result));
+
+		return map;
+	}
+}
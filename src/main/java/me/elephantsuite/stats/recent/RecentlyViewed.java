@@ -0,0 +1,40 @@
+package me.elephantsuite.stats.recent;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a user's recently viewed history of a type. Each user keeps at most a fixed number of entries per
+ * type, viewing a target again only moves its viewedAt forward. Rows are written by {@link RecentlyViewedService}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@IdClass(RecentlyViewedId.class)
+@Table(name = "elephant_user_recently_viewed", indexes = {
+	@Index(name = "elephant_user_recently_viewed_order", columnList = "user_id, type, viewed_at"),
+	@Index(name = "elephant_user_recently_viewed_target", columnList = "type, target_id")
+})
+public class RecentlyViewed {
+
+	@Id
+	private Long userId;
+
+	@Id
+	@Enumerated(EnumType.STRING)
+	private RecentlyViewedType type;
+
+	@Id
+	private Long targetId;
+
+	private LocalDateTime viewedAt;
+}
@@ -0,0 +1,21 @@
+package me.elephantsuite.stats.recent;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentlyViewedId implements Serializable {
+
+	private Long userId;
+
+	private RecentlyViewedType type;
+
+	private Long targetId;
+}
@@ -0,0 +1,47 @@
+package me.elephantsuite.stats.recent;
+
+import java.util.List;
+
+import me.elephantsuite.deck.DeckSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RecentlyViewedRepository extends JpaRepository<RecentlyViewed, RecentlyViewedId> {
+
+	/**
+	 * Moves the target to the front of the user's history, inserting it if it is new, and drops whatever falls beyond
+	 * {@code capacity} in the same statement. Both parts see the history as it was before the statement, so the trim
+	 * keeps the capacity - 1 most recent other targets.
+	 */
+	@Modifying
+	@Transactional
+	@Query(value = "WITH viewed AS (INSERT INTO elephant_user_recently_viewed (user_id, type, target_id, viewed_at) VALUES (?1, ?2, ?3, clock_timestamp()) " +
+		"ON CONFLICT (user_id, type, target_id) DO UPDATE SET viewed_at = EXCLUDED.viewed_at) " +
+		"DELETE FROM elephant_user_recently_viewed WHERE user_id = ?1 AND type = ?2 AND target_id IN " +
+		"(SELECT target_id FROM elephant_user_recently_viewed WHERE user_id = ?1 AND type = ?2 AND target_id <> ?3 ORDER BY viewed_at DESC, target_id DESC OFFSET ?4 - 1)", nativeQuery = true)
+	int view(long userId, String type, long targetId, int capacity);
+
+	@Transactional(readOnly = true)
+	@Query("SELECT r.targetId FROM RecentlyViewed r WHERE r.userId = ?1 AND r.type = ?2 ORDER BY r.viewedAt DESC, r.targetId DESC")
+	List<Long> getTargetIds(long userId, RecentlyViewedType type);
+
+	@Transactional(readOnly = true)
+	@Query("SELECT new me.elephantsuite.deck.DeckSummary(d.id, d.name, a.id, d.visibility, d.numberOfLikes, SIZE(d.cards), d.created) " +
+		"FROM RecentlyViewed r JOIN Deck d ON d.id = r.targetId LEFT JOIN d.author a " +
+		"WHERE r.userId = ?1 AND r.type = me.elephantsuite.stats.recent.RecentlyViewedType.DECK ORDER BY r.viewedAt DESC, r.targetId DESC")
+	List<DeckSummary> getDeckSummaries(long userId);
+
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM elephant_user_recently_viewed WHERE type = ?1 AND target_id = ?2", nativeQuery = true)
+	int deleteTarget(String type, long targetId);
+
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM elephant_user_recently_viewed WHERE user_id = ?1", nativeQuery = true)
+	int deleteUser(long userId);
+}
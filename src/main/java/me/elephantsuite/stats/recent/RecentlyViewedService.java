@@ -0,0 +1,47 @@
+package me.elephantsuite.stats.recent;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.deck.DeckSummary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recently viewed history per user and type, bounded to {@code recentlyViewedDecksMax} entries. A view is one upsert
+ * of a single row however long the history is, listings are ordered by view time in the query.
+ */
+@Service
+@Transactional
+@AllArgsConstructor
+public class RecentlyViewedService {
+
+	private final RecentlyViewedRepository repository;
+
+	public void view(long userId, RecentlyViewedType type, long targetId) {
+		int capacity = Math.max(1, ElephantBackendApplication.ELEPHANT_CONFIG.getInt("recentlyViewedDecksMax"));
+
+		repository.view(userId, type.toString(), targetId, capacity);
+	}
+
+	// most recent first
+	@Transactional(readOnly = true)
+	public List<Long> getTargetIds(long userId, RecentlyViewedType type) {
+		return repository.getTargetIds(userId, type);
+	}
+
+	// most recent first, deleted decks are left out
+	@Transactional(readOnly = true)
+	public List<DeckSummary> getDeckSummaries(long userId) {
+		return repository.getDeckSummaries(userId);
+	}
+
+	public void deleteTarget(RecentlyViewedType type, long targetId) {
+		repository.deleteTarget(type.toString(), targetId);
+	}
+
+	public void deleteUser(long userId) {
+		repository.deleteUser(userId);
+	}
+}
@@ -0,0 +1,7 @@
+package me.elephantsuite.stats.recent;
+
+// what a row of elephant_user_recently_viewed points at, stored by name
+public enum RecentlyViewedType {
+	DECK,
+	TIMELINE
+}
@@ -0,0 +1,110 @@
+package me.elephantsuite.stats.usage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+import me.elephantsuite.ElephantBackendApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Write-behind buffer for usage time. Clients report usage time often, each report only adds to a per user total in
+ * memory and the totals are written to {@code elephant_user_statistics} in batches every few seconds, so each user
+ * costs at most one row update per flush however often they report.
+ *
+ * <p>Totals live in a {@link ConcurrentHashMap}, whose per bin locking lets reports for different users proceed in
+ * parallel. A flush atomically removes each total before writing it, so reports arriving during a flush go into the
+ * next one. Totals that fail to write, or whose transaction rolls back, are put back.
+ */
+@Component
+public class UsageTimeAccumulator {
+
+	private final UsageTimeWriter writer;
+
+	private final ConcurrentHashMap<Long, Double> pending = new ConcurrentHashMap<>();
+
+	public UsageTimeAccumulator(UsageTimeWriter writer) {
+		this.writer = writer;
+	}
+
+	// the usage time added, 0 when it was not a positive number
+	public double add(long userId, double usageTime) {
+		if (!Double.isFinite(usageTime) || usageTime <= 0) {
+			return 0;
+		}
+
+		pending.merge(userId, usageTime, Double::sum);
+
+		return usageTime;
+	}
+
+	@Scheduled(fixedDelay = 10000, initialDelay = 10000)
+	public void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+
+		Map<Long, Double> drained = new HashMap<>();
+
+		for (Long userId : pending.keySet()) {
+			Double usageTime = pending.remove(userId);
+
+			if (usageTime != null) {
+				drained.put(userId, usageTime);
+			}
+		}
+
+		write(drained);
+	}
+
+	// writes the user's pending usage time now, called before their statistics are read
+	public void flush(long userId) {
+		Double usageTime = pending.remove(userId);
+
+		if (usageTime != null) {
+			write(Map.of(userId, usageTime));
+		}
+	}
+
+	// drops pending usage time of a deleted user
+	public void discard(long userId) {
+		pending.remove(userId);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	private void write(Map<Long, Double> drained) {
+		// inside a caller's transaction the update only sticks if that transaction commits
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status != STATUS_COMMITTED) {
+						requeue(drained);
+					}
+				}
+			});
+
+			writer.addUsageTimes(drained);
+			return;
+		}
+
+		try {
+			writer.addUsageTimes(drained);
+		} catch (RuntimeException e) {
+			requeue(drained);
+			ElephantBackendApplication.LOGGER.error("Could not write usage time of " + drained.size() + " users, retrying on the next flush", e);
+		}
+	}
+
+	private void requeue(Map<Long, Double> drained) {
+		drained.forEach((userId, usageTime) -> pending.merge(userId, usageTime, Double::sum));
+	}
+}
@@ -0,0 +1,57 @@
+package me.elephantsuite.stats.usage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+@AllArgsConstructor
+public class UsageTimeWriter {
+
+	private static final int USERS_PER_STATEMENT = 1000;
+
+	private final EntityManager entityManager;
+
+	// adds each user's usage time delta to their statistics row, one UPDATE per USERS_PER_STATEMENT users
+	public int addUsageTimes(Map<Long, Double> deltas) {
+		int updated = 0;
+
+		for (List<Map.Entry<Long, Double>> chunk : Lists.partition(new ArrayList<>(deltas.entrySet()), USERS_PER_STATEMENT)) {
+			Query query = entityManager.createNativeQuery(addUsageTimesSql(chunk.size()));
+
+			int parameter = 1;
+
+			for (Map.Entry<Long, Double> entry : chunk) {
+				query.setParameter(parameter++, entry.getKey());
+				query.setParameter(parameter++, entry.getValue());
+			}
+
+			updated += query.executeUpdate();
+		}
+
+		return updated;
+	}
+
+	// parameters are (user id, delta) pairs, numbered from 1
+	static String addUsageTimesSql(int users) {
+		StringBuilder sql = new StringBuilder("UPDATE elephant_user_statistics s SET usage_time = s.usage_time + v.delta FROM (VALUES ");
+
+		for (int i = 0; i < users; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+
+			sql.append("(CAST(?").append(2 * i + 1).append(" AS bigint), CAST(?").append(2 * i + 2).append(" AS float8))");
+		}
+
+		return sql.append(") AS v(user_id, delta) WHERE s.elephant_user_id = v.user_id").toString();
+	}
+}
@@ -35,6 +35,8 @@ public class Timeline {
 
     private TimelineVisibility timelineVisibility;
 
+    // only written by the atomic UPDATE in the repository, in-memory changes just mirror it
+    @Column(updatable = false)
     private int likes = 0;
 
     private String description;
@@ -10,21 +10,25 @@ public interface TimelineRepository extends JpaRepository<Timeline, Long> {
 
 
 	@Modifying
-	@Query(value = "DELETE FROM elephant_user_liked_timeline_ids WHERE liked_timeline_ids = ?1", nativeQuery = true)
+	@Query(value = "DELETE FROM elephant_user_like WHERE type = 'TIMELINE' AND target_id = ?1", nativeQuery = true)
 	int deleteLikedTimelineIds(long id);
 
 	@Modifying
 	@Query(value = "DELETE FROM elephant_user_shared_timeline_ids WHERE shared_timeline_ids = ?1", nativeQuery = true)
 	int deleteSharedTimelineIds(long id);
 
-	@Modifying
-	@Query(value = "DELETE FROM elephant_user_statistics_recently_viewed_timeline_ids WHERE recently_viewed_timeline_ids = ?1", nativeQuery = true)
-	int deleteRecentlyViewedTimelineIds(long id);
-
 	@Modifying
 	@Query(value = "DELETE FROM folder_timeline_ids WHERE timeline_ids = ?1", nativeQuery = true)
 	int deleteFolderTimelineIds(long id);
 
+	@Modifying
+	@Query(value = "UPDATE timeline SET likes = likes + ?2 WHERE id = ?1", nativeQuery = true)
+	int addLikes(long id, int delta);
+
+	@Modifying
+	@Query(value = "UPDATE timeline SET likes = ?2 WHERE id = ?1", nativeQuery = true)
+	int setLikes(long id, int likes);
+
 	@Modifying
 	@Query("DELETE FROM Timeline t WHERE t.id = ?1")
 	int deleteById(long id);
@@ -12,6 +12,8 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.stats.medal.MedalService;
 import me.elephantsuite.stats.medal.MedalType;
+import me.elephantsuite.stats.recent.RecentlyViewedService;
+import me.elephantsuite.stats.recent.RecentlyViewedType;
 import me.elephantsuite.timeline.Timeline;
 import me.elephantsuite.timeline.TimelineRepository;
 import me.elephantsuite.timeline.TimelineRepositoryService;
@@ -23,6 +25,8 @@ import me.elephantsuite.timeline.marker.Marker;
 import me.elephantsuite.timeline.marker.MarkerRepositoryService;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.like.LikeService;
+import me.elephantsuite.user.like.LikeType;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -44,6 +48,10 @@ public class TimelineService {
 
     private final MedalService medalService;
 
+    private final LikeService likeService;
+
+    private final RecentlyViewedService recentlyViewedService;
+
     public Response createTimeline(TimelineRequest.CreateTimeline request) {
         long userId = request.getUserId();
         String name = request.getName();
@@ -86,7 +94,7 @@ public class TimelineService {
         timelineRepository.deleteLikedTimelineIds(id);
         timelineRepository.deleteSharedTimelineIds(id);
         timelineRepository.deleteFolderTimelineIds(id);
-        timelineRepository.deleteRecentlyViewedTimelineIds(id);
+        recentlyViewedService.deleteTarget(RecentlyViewedType.TIMELINE, id);
 
       //  timeline.setEvents(new ArrayList<>());
       //  timeline.setMarkers(new ArrayList<>());
@@ -157,6 +165,7 @@ public class TimelineService {
 
         Timeline timeline = getTimelineById(tlId);
 
+        timelineRepository.setLikes(timeline.getId(), likes);
         timeline.setLikes(likes);
         timeline.updateLastUpdated();
         timeline = timelineRepositoryService.save(timeline);
@@ -481,9 +490,9 @@ public class TimelineService {
 
     public Response getTimelineById(long userId, long timelineId) {
         Timeline timeline = getTimelineById(timelineId);
-        ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
+        ResponseUtil.checkUserEnabled(userId, userService);
 
-        if (timeline.getTimelineVisibility() == TimelineVisibility.PRIVATE && !timeline.getUser().equals(user)) {
+        if (timeline.getTimelineVisibility() == TimelineVisibility.PRIVATE && timeline.getUser().getId() != userId) {
            return ResponseBuilder
                .create()
                .addResponse(ResponseStatus.FAILURE, "Timeline was private and user was not the owner!")
@@ -506,19 +515,23 @@ public class TimelineService {
         long userId = request.getUserId();
         long timelineId = request.getTimelineId();
 
-        ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
+        ResponseUtil.checkUserEnabled(userId, userService);
         Timeline timeline = getTimelineById(timelineId);
 
-        timeline.incrementLikes();
-        user.getLikedTimelineIds().add(timelineId);
-        timeline.updateLastUpdated();
-        user = userService.saveUser(user);
-        timeline = timelineRepositoryService.save(timeline);
+        boolean liked = likeService.like(userId, LikeType.TIMELINE, timelineId);
+
+        if (liked) {
+            timelineRepository.addLikes(timelineId, 1);
+            timeline.incrementLikes();
+            timeline.updateLastUpdated();
+            timeline = timelineRepositoryService.save(timeline);
+        }
 
         return ResponseBuilder
             .create()
             .addResponse(ResponseStatus.SUCCESS, "Liked Timeline!")
             .addObject("timeline", timeline)
+            .addObject("changed", liked)
             .build();
     }
 
@@ -526,19 +539,23 @@ public class TimelineService {
         long userId = request.getUserId();
         long timelineId = request.getTimelineId();
 
-        ElephantUser user = ResponseUtil.checkUserValid(userId, userService);
+        ResponseUtil.checkUserEnabled(userId, userService);
         Timeline timeline = getTimelineById(timelineId);
 
-        timeline.decrementLikes();
-        user.getLikedTimelineIds().remove(timelineId);
-        timeline.updateLastUpdated();
-        user = userService.saveUser(user);
-        timeline = timelineRepositoryService.save(timeline);
+        boolean unliked = likeService.unlike(userId, LikeType.TIMELINE, timelineId);
+
+        if (unliked) {
+            timelineRepository.addLikes(timelineId, -1);
+            timeline.decrementLikes();
+            timeline.updateLastUpdated();
+            timeline = timelineRepositoryService.save(timeline);
+        }
 
         return ResponseBuilder
             .create()
             .addResponse(ResponseStatus.SUCCESS, "Liked Timeline!")
             .addObject("timeline", timeline)
+            .addObject("changed", unliked)
             .build();
     }
 }
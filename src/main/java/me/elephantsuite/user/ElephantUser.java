@@ -5,8 +5,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -20,6 +22,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -38,13 +41,16 @@ import me.elephantsuite.user.notification.Notification;
 import me.elephantsuite.user.password.ResetPasswordToken;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Where;
 
 @Getter
 @Setter
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @NoArgsConstructor
 @Entity
-@ToString
+// collections are lazy, see UserLoadProfile, so only plain columns go into toString
+@ToString(of = {"id", "firstName", "lastName", "email", "type"})
 public class ElephantUser {
 
 	@Id
@@ -80,11 +86,20 @@ public class ElephantUser {
 
 	private Integer elephantAnswersScore = 0;
 
+	// the liked id lists are read-only views of elephant_user_like, likes are written through LikeService
 	@ElementCollection
+	@CollectionTable(name = "elephant_user_like", joinColumns = @JoinColumn(name = "user_id"))
+	@Column(name = "target_id")
+	@Where(clause = "type = 'ANSWER'")
+	@Immutable
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Long> elephantAnswersLiked = new ArrayList<>();
 
 	@ElementCollection
+	@CollectionTable(name = "elephant_user_like", joinColumns = @JoinColumn(name = "user_id"))
+	@Column(name = "target_id")
+	@Where(clause = "type = 'COMMENT'")
+	@Immutable
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Long> commentsLiked = new ArrayList<>();
 
@@ -92,7 +107,7 @@ public class ElephantUser {
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Integer> elephantAnswersTags = new ArrayList<>();
 
-	@ElementCollection(fetch = FetchType.EAGER)
+	@ElementCollection(fetch = FetchType.LAZY)
 	@JoinColumn(nullable = false, name = "elephant_user_id")
 	@Fetch(value = FetchMode.SUBSELECT)
 	private List<Long> friendIds = new ArrayList<>();
@@ -101,53 +116,60 @@ public class ElephantUser {
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Long> sharedTimelineIds = new ArrayList<>();
 
-	@OneToMany(mappedBy = "recipient",  cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "recipient",  cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	@Fetch(value = FetchMode.SUBSELECT)
 	private List<Notification> notifications = new ArrayList<>();
 
-	@OneToMany(mappedBy = "author",  cascade = CascadeType.ALL, orphanRemoval = false, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "author",  cascade = CascadeType.ALL, orphanRemoval = false, fetch = FetchType.LAZY)
 	@Fetch(value = FetchMode.SUBSELECT)
 	private List<Deck> decks = new ArrayList<>();
 
-	@ElementCollection(fetch = FetchType.EAGER)
-	@JoinColumn(nullable = false, name = "elephant_user_id")
+	@ElementCollection(fetch = FetchType.LAZY)
+	@CollectionTable(name = "elephant_user_like", joinColumns = @JoinColumn(name = "user_id"))
+	@Column(name = "target_id")
+	@Where(clause = "type = 'DECK'")
+	@Immutable
 	@Fetch(value = FetchMode.SUBSELECT)
 	private List<Long> likedDecksIds = new ArrayList<>();
 
-	@ElementCollection(fetch = FetchType.EAGER)
+	@ElementCollection(fetch = FetchType.LAZY)
+	@CollectionTable(name = "elephant_user_like", joinColumns = @JoinColumn(name = "user_id"))
+	@Column(name = "target_id")
+	@Where(clause = "type = 'TIMELINE'")
+	@Immutable
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Long> likedTimelineIds = new ArrayList<>();
 
-	@ElementCollection(fetch = FetchType.EAGER)
+	@ElementCollection(fetch = FetchType.LAZY)
 	@JoinColumn(nullable = false, name = "elephant_user_id")
 	@Fetch(value = FetchMode.SUBSELECT)
 	private List<String> likedSongs = new ArrayList<>();
 
-	@ElementCollection(fetch = FetchType.EAGER)
+	@ElementCollection(fetch = FetchType.LAZY)
 	@Fetch(FetchMode.SUBSELECT)
 	private List<String> invitedUsers = new ArrayList<>();
 
-	@ElementCollection(fetch = FetchType.EAGER)
+	@ElementCollection(fetch = FetchType.LAZY)
 	@Fetch(value = FetchMode.SUBSELECT)
 	private List<Long> sharedDeckIds = new ArrayList<>();
 
-	@OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+	@OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Folder> folders = new ArrayList<>();
 
-	@OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+	@OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Timeline> timelines = new ArrayList<>();
 
-	@OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+	@OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
 	@Fetch(FetchMode.SUBSELECT)
 	private List<ElephantAnswer> answers = new ArrayList<>();
 
-	@OneToMany(mappedBy = "user", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+	@OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
 	@Fetch(FetchMode.SUBSELECT)
 	private List<Quiz> quizzes = new ArrayList<>();
 
-	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+	@OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
 	private ElephantUserStatistics elephantUserStatistics = new ElephantUserStatistics(this);
 
 	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
@@ -156,13 +178,18 @@ public class ElephantUser {
 	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
 	private ResetPasswordToken resetPasswordToken;
 
-	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+	@OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
 	@JoinColumn(name = "backpack_id")
 	private Backpack backpack = new Backpack(this);
 
 	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
 	private UserConfig config = new UserConfig(this);
 
+	// set by UserLoadProfile.load, decides which associations are written into the user's JSON
+	@Transient
+	@JsonIgnore
+	private UserLoadProfile loadProfile = UserLoadProfile.SUMMARY;
+
 	public ElephantUser(String firstName, String lastName, String email, String password, ElephantUserType type, Integer countryCode, Integer pfpId) {
 		this.firstName = Objects.requireNonNull(firstName, "firstName cannot be null");
 		this.email = Objects.requireNonNull(email, "email cannot be null");
@@ -171,7 +198,7 @@ public class ElephantUser {
 		this.type = Objects.requireNonNull(type, "type cannot be null");
 		this.countryCode = Objects.requireNonNull(countryCode, "countryCode cannot be null");
 		//for whatever reason if pfpId is null just set it to something random
-		this.pfpId = pfpId == null ? new Random().nextInt(ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("pfpIdMax", Integer::parseInt) + 1) : pfpId;
+		this.pfpId = pfpId == null ? new Random().nextInt(ElephantBackendApplication.ELEPHANT_CONFIG.getInt("pfpIdMax") + 1) : pfpId;
 	}
 
 	public String getFullName() {
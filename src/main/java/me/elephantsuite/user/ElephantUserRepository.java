@@ -3,6 +3,8 @@ package me.elephantsuite.user;
 import java.util.List;
 import java.util.Optional;
 
+import me.elephantsuite.user.search.UserIndexEntry;
+import me.elephantsuite.user.status.UserStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -22,8 +24,11 @@ public interface ElephantUserRepository extends JpaRepository<ElephantUser, Long
 	@Query(value = "SELECT * FROM elephant_user", nativeQuery = true)
 	List<ElephantUser> getAllUsers();
 
-	@Query(value = "SELECT * FROM elephant_user WHERE elephant_user.id = ?1", nativeQuery = true)
-	ElephantUser getById(long id);
+	@Query("SELECT new me.elephantsuite.user.status.UserStatus(e.id, e.enabled, e.locked, e.type) FROM ElephantUser e WHERE e.id = ?1")
+	Optional<UserStatus> getUserStatus(long id);
+
+	@Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, e.pfpId AS pfpId, e.countryCode AS countryCode FROM ElephantUser e")
+	List<UserIndexEntry> getUserIndexEntries();
 
 	@Transactional
 	@Modifying
@@ -32,7 +37,7 @@ public interface ElephantUserRepository extends JpaRepository<ElephantUser, Long
 
 	@Transactional
 	@Modifying
-	@Query(value = "DELETE FROM elephant_user_liked_decks_ids WHERE elephant_user_liked_decks_ids.liked_decks_ids = ?1", nativeQuery = true)
+	@Query(value = "DELETE FROM elephant_user_like WHERE type = 'DECK' AND target_id = ?1", nativeQuery = true)
 	int deleteLikedDecksFromUser(long deckId);
 
 	@Transactional
@@ -40,4 +45,14 @@ public interface ElephantUserRepository extends JpaRepository<ElephantUser, Long
 	@Query(value = "DELETE FROM elephant_user_shared_deck_ids WHERE elephant_user_shared_deck_ids.shared_deck_ids = ?1", nativeQuery = true)
 	int deleteSharedDecksFromUser(long deckId);
 
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO elephant_user_like (user_id, type, target_id) VALUES (?1, ?2, ?3) ON CONFLICT DO NOTHING", nativeQuery = true)
+	int insertLike(long userId, String type, long targetId);
+
+	@Transactional
+	@Modifying
+	@Query(value = "DELETE FROM elephant_user_like WHERE user_id = ?1 AND type = ?2 AND target_id = ?3", nativeQuery = true)
+	int deleteLike(long userId, String type, long targetId);
+
 }
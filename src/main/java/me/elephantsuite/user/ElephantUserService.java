@@ -2,17 +2,27 @@ package me.elephantsuite.user;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import me.elephantsuite.ElephantBackendApplication;
 import me.elephantsuite.backpack.BackpackRepositoryService;
-import me.elephantsuite.deck.Deck;
 import me.elephantsuite.deck.DeckRepository;
+import me.elephantsuite.deck.search.DeckNameIndex;
 import me.elephantsuite.registration.token.ConfirmationToken;
 import me.elephantsuite.registration.token.ConfirmationTokenService;
 import lombok.AllArgsConstructor;
 import me.elephantsuite.stats.ElephantUserStatisticsRepositoryService;
+import me.elephantsuite.stats.card.CardStatisticsService;
+import me.elephantsuite.stats.quiz_card.QuizCardStatisticsService;
+import me.elephantsuite.stats.recent.RecentlyViewedService;
+import me.elephantsuite.stats.usage.UsageTimeAccumulator;
 import me.elephantsuite.user.notification.NotificationRepository;
+import me.elephantsuite.user.search.UserNameIndex;
+import me.elephantsuite.user.search.UserSummary;
+import me.elephantsuite.user.status.UserStatus;
+import me.elephantsuite.user.status.UserStatusCache;
+import me.elephantsuite.util.AfterCommit;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +47,20 @@ public class ElephantUserService {
 
 	private final ElephantUserStatisticsRepositoryService elephantUserStatisticsRepositoryService;
 
+	private final CardStatisticsService cardStatisticsService;
+
+	private final QuizCardStatisticsService quizCardStatisticsService;
+
+	private final UsageTimeAccumulator usageTimeAccumulator;
+
+	private final RecentlyViewedService recentlyViewedService;
+
+	private final DeckNameIndex deckNameIndex;
+
+	private final UserNameIndex userNameIndex;
+
+	private final UserStatusCache userStatusCache;
+
 	public ConfirmationToken signUpUser(ElephantUser user) {
 
 		String encodedPassword = bCryptPasswordEncoder.encode(user.getPassword());
@@ -45,7 +69,7 @@ public class ElephantUserService {
 
 		String token = UUID.randomUUID().toString();
 
-		ConfirmationToken confirmationToken = new ConfirmationToken(token, LocalDateTime.now(), LocalDateTime.now().plusMinutes(ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("tokenExpiredLimitMinutes", Long::parseLong)), user);
+		ConfirmationToken confirmationToken = new ConfirmationToken(token, LocalDateTime.now(), LocalDateTime.now().plusMinutes(ElephantBackendApplication.ELEPHANT_CONFIG.getLong("tokenExpiredLimitMinutes")), user);
 
 		user.setConfirmationToken(confirmationToken);
 
@@ -55,7 +79,10 @@ public class ElephantUserService {
 
 		elephantUserStatisticsRepositoryService.save(user.getElephantUserStatistics());
 
-		elephantUserRepository.save(user);
+		user = elephantUserRepository.save(user);
+
+		userNameIndex.put(user);
+		invalidateUserStatus(user.getId());
 
 		return confirmationToken;
 	}
@@ -70,39 +97,72 @@ public class ElephantUserService {
 		return getUserById(elephantUserRepository.getId(email));
 	}
 
+	public ElephantUser getUserByEmail(String email, UserLoadProfile profile) {
+		return getUserById(elephantUserRepository.getId(email), profile);
+	}
+
 	public Long getUserId(String email) {
 		return elephantUserRepository.getId(email);
 	}
 
+	// plain read, the user's decks are the inverse side of Deck.author and are loaded from it when accessed
 	public ElephantUser getUserById(long id) {
-		ElephantUser elephantUser = elephantUserRepository.getById(id);
+		return elephantUserRepository.findById(id).orElse(null);
+	}
+
+	// empty if there is no user with that id
+	public Optional<UserStatus> getUserStatus(long id) {
+		return userStatusCache.get(id);
+	}
+
+	// must be called whenever enabled, locked or type of a user changes, takes effect once the transaction commits
+	public void invalidateUserStatus(long id) {
+		AfterCommit.run(() -> userStatusCache.invalidate(id));
+	}
 
-		if (elephantUser == null) {
-			return null;
-		}
+	public void invalidateAllUserStatuses() {
+		AfterCommit.run(userStatusCache::invalidateAll);
+	}
 
-		List<Deck> userDecks = deckRepository.getDecksByUserId(id);
+	// the profiled reads are what clients fetch users with, so pending usage time is written first for them
+	public ElephantUser getUserById(long id, UserLoadProfile profile) {
+		usageTimeAccumulator.flush(id);
 
-		if (!elephantUser.getDecks().equals(userDecks)) {
-			elephantUser.setDecks(userDecks);
-			elephantUser = saveUser(elephantUser);
-		}
+		ElephantUser user = getUserById(id);
 
-		return elephantUser;
+		return user == null ? null : profile.load(user);
 	}
 
 	public ElephantUser saveUser(ElephantUser user) {
-		return elephantUserRepository.save(user);
+		user = elephantUserRepository.save(user);
+
+		userNameIndex.put(user);
+		// enabled, locked and type are all saved through here
+		invalidateUserStatus(user.getId());
+
+		return user;
 	}
 
 	public void deleteUser(ElephantUser user) {
 		notificationRepository.deleteNotificationSenderId(user.getId());
 		deckRepository.deleteUserFromSharedDecks(user.getId());
 		elephantUserRepository.deleteUserFromFriends(user.getId());
+		cardStatisticsService.deleteUserStatistics(user.getId());
+		quizCardStatisticsService.deleteUserStatistics(user.getId());
+		usageTimeAccumulator.discard(user.getId());
+		recentlyViewedService.deleteUser(user.getId());
 		elephantUserRepository.delete(user);
+		deckNameIndex.removeUser(user.getId());
+		userNameIndex.remove(user.getId());
+		invalidateUserStatus(user.getId());
 	}
 
 	public List<ElephantUser> getAllUsers() {
 		return elephantUserRepository.getAllUsers();
 	}
+
+	// limit is capped at userSearchMax
+	public List<UserSummary> searchUsersByName(String name, long excludedUserId, int countryCode, int limit) {
+		return userNameIndex.search(name, excludedUserId, countryCode, Math.min(limit, ElephantBackendApplication.ELEPHANT_CONFIG.getInt("userSearchMax")));
+	}
 }
@@ -0,0 +1,106 @@
+package me.elephantsuite.user;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.Hibernate;
+
+/**
+ * Named sets of {@link ElephantUser} associations to load up front. Everything on the user is lazy, so a handler
+ * that needs more than its profile still gets it on access.
+ *
+ * <p>The profile alone decides a user's JSON: its own columns, its eager one to ones (config and tokens) and the
+ * associations of the profile it was last loaded with. Associations a handler touched beyond that are left out, and a
+ * user loaded without a profile is written as {@link #SUMMARY}. See
+ * {@link me.elephantsuite.response.json.LoadedPropertiesModule}.
+ *
+ * <p>Every endpoint that returns a user picks its profile: login and the user lookups take it as a parameter,
+ * statistics and answers score endpoints use {@link #STATS}, friend, notification and song endpoints {@link #SOCIAL},
+ * deck, folder and backpack mutations {@link #LIBRARY}, account settings {@link #SUMMARY} and registration
+ * {@link #FULL}, a new account's associations being empty anyway.
+ */
+public enum UserLoadProfile {
+
+	// only the user's own columns
+	SUMMARY(),
+
+	SOCIAL(
+		association("friendIds", ElephantUser::getFriendIds),
+		association("notifications", ElephantUser::getNotifications),
+		association("invitedUsers", ElephantUser::getInvitedUsers),
+		association("likedSongs", ElephantUser::getLikedSongs),
+		association("likedDecksIds", ElephantUser::getLikedDecksIds),
+		association("likedTimelineIds", ElephantUser::getLikedTimelineIds),
+		association("elephantAnswersLiked", ElephantUser::getElephantAnswersLiked),
+		association("commentsLiked", ElephantUser::getCommentsLiked)
+	),
+
+	LIBRARY(
+		association("decks", ElephantUser::getDecks),
+		association("folders", ElephantUser::getFolders),
+		association("timelines", ElephantUser::getTimelines),
+		association("quizzes", ElephantUser::getQuizzes),
+		association("answers", ElephantUser::getAnswers),
+		association("backpack", ElephantUser::getBackpack),
+		association("sharedDeckIds", ElephantUser::getSharedDeckIds),
+		association("sharedTimelineIds", ElephantUser::getSharedTimelineIds),
+		association("likedDecksIds", ElephantUser::getLikedDecksIds),
+		association("likedTimelineIds", ElephantUser::getLikedTimelineIds)
+	),
+
+	STATS(
+		association("elephantUserStatistics", ElephantUser::getElephantUserStatistics),
+		association("elephantAnswersTags", ElephantUser::getElephantAnswersTags)
+	),
+
+	FULL(SOCIAL, LIBRARY, STATS);
+
+	// getter by JSON property name
+	private final Map<String, Function<ElephantUser, Object>> associations;
+
+	UserLoadProfile(Association... associations) {
+		Map<String, Function<ElephantUser, Object>> map = new LinkedHashMap<>();
+
+		for (Association association : associations) {
+			map.put(association.property(), association.getter());
+		}
+
+		this.associations = Collections.unmodifiableMap(map);
+	}
+
+	// the union of the profiles
+	UserLoadProfile(UserLoadProfile first, UserLoadProfile... rest) {
+		Map<String, Function<ElephantUser, Object>> map = new LinkedHashMap<>(first.associations);
+
+		for (UserLoadProfile profile : rest) {
+			map.putAll(profile.associations);
+		}
+
+		this.associations = Collections.unmodifiableMap(map);
+	}
+
+	public ElephantUser load(ElephantUser user) {
+		associations.values().forEach(getter -> Hibernate.initialize(getter.apply(user)));
+		user.setLoadProfile(this);
+
+		return user;
+	}
+
+	// whether the user's JSON property is written for users loaded with this profile
+	public boolean includes(String property) {
+		return associations.containsKey(property);
+	}
+
+	// whether the user's JSON property is an association some profile loads, the other properties are always written
+	public static boolean isAssociation(String property) {
+		return FULL.includes(property);
+	}
+
+	private static Association association(String property, Function<ElephantUser, Object> getter) {
+		return new Association(property, getter);
+	}
+
+	private record Association(String property, Function<ElephantUser, Object> getter) {}
+}
@@ -11,6 +11,7 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import me.elephantsuite.user.config.UserConfig;
 import me.elephantsuite.user.config.UserConfigRepositoryService;
 import org.springframework.stereotype.Service;
@@ -53,7 +54,7 @@ public class UserConfigService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Set boolean term \"" + term + "\" to " + value)
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SUMMARY.load(user))
 			.build();
 	}
 }
@@ -14,6 +14,7 @@ import me.elephantsuite.stats.medal.MedalService;
 import me.elephantsuite.stats.medal.MedalType;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -58,8 +59,8 @@ public class ElephantFriendService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Friend added to User!")
-			.addObject("user", user)
-			.addObject("friend", friend)
+			.addObject("user", UserLoadProfile.SOCIAL.load(user))
+			.addObject("friend", UserLoadProfile.SOCIAL.load(friend))
 			.build();
 	}
 
@@ -91,8 +92,8 @@ public class ElephantFriendService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Friend removed from User!")
-			.addObject("user", user)
-			.addObject("friend", friend)
+			.addObject("user", UserLoadProfile.SOCIAL.load(user))
+			.addObject("friend", UserLoadProfile.SOCIAL.load(friend))
 			.build();
 	}
 }
@@ -0,0 +1,28 @@
+package me.elephantsuite.user.like;
+
+import lombok.AllArgsConstructor;
+import me.elephantsuite.user.ElephantUserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Likes are rows of {@code elephant_user_like} keyed by (user, type, target), so liking twice or unliking something
+ * that was never liked changes nothing. Callers only touch the target's like count when these methods return true.
+ */
+@Service
+@Transactional
+@AllArgsConstructor
+public class LikeService {
+
+	private final ElephantUserRepository elephantUserRepository;
+
+	// true if the like was added, false if the user already liked the target
+	public boolean like(long userId, LikeType type, long targetId) {
+		return elephantUserRepository.insertLike(userId, type.toString(), targetId) == 1;
+	}
+
+	// true if the like was removed, false if the user did not like the target
+	public boolean unlike(long userId, LikeType type, long targetId) {
+		return elephantUserRepository.deleteLike(userId, type.toString(), targetId) == 1;
+	}
+}
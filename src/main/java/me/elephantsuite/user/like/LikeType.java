@@ -0,0 +1,9 @@
+package me.elephantsuite.user.like;
+
+// what a row of elephant_user_like points at, stored by name
+public enum LikeType {
+	DECK,
+	TIMELINE,
+	ANSWER,
+	COMMENT
+}
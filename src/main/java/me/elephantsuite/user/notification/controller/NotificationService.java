@@ -1,11 +1,11 @@
 package me.elephantsuite.user.notification.controller;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 
 import lombok.AllArgsConstructor;
-import me.elephantsuite.ElephantBackendApplication;
 import me.elephantsuite.answers.ElephantAnswer;
 import me.elephantsuite.answers.ElephantAnswerRepositoryService;
 import me.elephantsuite.answers.comment.Comment;
@@ -13,6 +13,7 @@ import me.elephantsuite.answers.comment.CommentRepository;
 import me.elephantsuite.deck.Deck;
 import me.elephantsuite.deck.DeckRepositoryService;
 import me.elephantsuite.email.EmailService;
+import me.elephantsuite.email.template.EmailTemplates;
 import me.elephantsuite.registration.RegistrationService;
 import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
@@ -24,6 +25,7 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import me.elephantsuite.user.notification.Notification;
 import me.elephantsuite.user.notification.NotificationRepositoryService;
 import me.elephantsuite.user.notification.NotificationType;
@@ -43,6 +45,8 @@ public class NotificationService {
 
 	private final EmailService emailService;
 
+	private final EmailTemplates emailTemplates;
+
 	private final ElephantAnswerRepositoryService answerRepositoryService;
 
 	private final CommentRepository commentRepository;
@@ -80,7 +84,7 @@ public class NotificationService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Sent Notification To User!")
-			.addObject("user", recipient)
+			.addObject("user", UserLoadProfile.SOCIAL.load(recipient))
 			.addObject("notification", notification)
 			.build();
 	}
@@ -131,7 +135,7 @@ public class NotificationService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Sent Notification To User!")
-			.addObject("recipient", recipient)
+			.addObject("recipient", UserLoadProfile.SOCIAL.load(recipient))
 			.addObject("notification", notification)
 			.build();
 	}
@@ -172,7 +176,7 @@ public class NotificationService {
 
 		Notification notification = new Notification(type, message, recipient, request.getSenderId(), null, null, null);
 
-		emailService.send(recipient.getEmail(), ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("friendEmailHtmlFile").replace("[NAME]", sender.getFullName()), "You have received a friend request!" ,true);
+		emailService.send(recipient.getEmail(), emailTemplates.render("friendEmailHtmlFile", Map.of("NAME", sender.getFullName())), "You have received a friend request!" ,true);
 
 		recipient.getNotifications().add(notification);
 
@@ -183,8 +187,8 @@ public class NotificationService {
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Notification sent to user!")
 			.addObject("notification", notification)
-			.addObject("recipient", recipient)
-			.addObject("sender", sender)
+			.addObject("recipient", UserLoadProfile.SOCIAL.load(recipient))
+			.addObject("sender", UserLoadProfile.SOCIAL.load(sender))
 			.build();
 
 	}
@@ -211,7 +215,7 @@ public class NotificationService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Deleted Notification!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SOCIAL.load(user))
 			.addObject("notification", notification)
 			.build();
 	}
@@ -247,8 +251,8 @@ public class NotificationService {
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Notification sent to user!")
 			.addObject("notification", notification)
-			.addObject("recipient", recipient)
-			.addObject("sender", sender)
+			.addObject("recipient", UserLoadProfile.SOCIAL.load(recipient))
+			.addObject("sender", UserLoadProfile.SOCIAL.load(sender))
 			.build();
 	}
 }
@@ -3,6 +3,7 @@ package me.elephantsuite.user.password.controller;
 import lombok.AllArgsConstructor;
 import me.elephantsuite.ElephantBackendApplication;
 import me.elephantsuite.email.EmailService;
+import me.elephantsuite.email.template.EmailTemplates;
 import me.elephantsuite.response.api.Response;
 import me.elephantsuite.response.api.ResponseBuilder;
 import me.elephantsuite.response.exception.InvalidIdException;
@@ -11,15 +12,19 @@ import me.elephantsuite.response.util.ResponseStatus;
 import me.elephantsuite.response.util.ResponseUtil;
 import me.elephantsuite.user.ElephantUser;
 import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.UserLoadProfile;
 import me.elephantsuite.user.password.ResetPasswordToken;
 import me.elephantsuite.user.password.ResetPasswordTokenService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
+@Transactional
 @AllArgsConstructor
 public class ResetPasswordService {
 
@@ -29,6 +34,8 @@ public class ResetPasswordService {
 
 	private final EmailService emailService;
 
+	private final EmailTemplates emailTemplates;
+
 	private final BCryptPasswordEncoder encoder;
 
 	public Response sendEmail(long userId) {
@@ -36,9 +43,9 @@ public class ResetPasswordService {
 
 		//TODO add replace values
 
-		ResetPasswordToken token = new ResetPasswordToken(UUID.randomUUID().toString(), LocalDateTime.now().plusMinutes(ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("tokenExpiredLimitMinutes", Long::parseLong)), user);
+		ResetPasswordToken token = new ResetPasswordToken(UUID.randomUUID().toString(), LocalDateTime.now().plusMinutes(ElephantBackendApplication.ELEPHANT_CONFIG.getLong("tokenExpiredLimitMinutes")), user);
 
-		emailService.send(user.getEmail(), ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("forgotPasswordEmailHtmlFile").replace("[UUID]", token.getToken()), "Reset Your Password" ,true);
+		emailService.send(user.getEmail(), emailTemplates.render("forgotPasswordEmailHtmlFile", Map.of("UUID", token.getToken())), "Reset Your Password" ,true);
 
 
 		user.setResetPasswordToken(token);
@@ -65,11 +72,11 @@ public class ResetPasswordService {
 		}
 
 		if (resetToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-			resetToken.setExpiresAt(LocalDateTime.now().plusMinutes(ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("tokenExpiredLimitMinutes", Long::parseLong)));
+			resetToken.setExpiresAt(LocalDateTime.now().plusMinutes(ElephantBackendApplication.ELEPHANT_CONFIG.getLong("tokenExpiredLimitMinutes")));
 
 			resetToken = service.save(resetToken);
 
-			emailService.send(resetToken.getElephantUser().getEmail(), ElephantBackendApplication.ELEPHANT_CONFIG.getConfigOption("forgotPasswordEmailHtmlFile").replace("[UUID]", resetToken.getToken()), "Reset your password" ,true);
+			emailService.send(resetToken.getElephantUser().getEmail(), emailTemplates.render("forgotPasswordEmailHtmlFile", Map.of("UUID", resetToken.getToken())), "Reset your password" ,true);
 
 			return ResponseBuilder
 				.create()
@@ -102,7 +109,7 @@ public class ResetPasswordService {
 		return ResponseBuilder
 			.create()
 			.addResponse(ResponseStatus.SUCCESS, "Reset Password!")
-			.addObject("user", user)
+			.addObject("user", UserLoadProfile.SUMMARY.load(user))
 			.build();
 	}
 }
@@ -0,0 +1,15 @@
+package me.elephantsuite.user.search;
+
+// projection of the user columns the name index is rebuilt from
+public interface UserIndexEntry {
+
+	Long getId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	int getPfpId();
+
+	int getCountryCode();
+}
@@ -0,0 +1,135 @@
+package me.elephantsuite.user.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.search.NGramIndex;
+import me.elephantsuite.user.ElephantUser;
+import me.elephantsuite.user.ElephantUserRepository;
+import me.elephantsuite.util.AfterCommit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory search index over user full names, holding a {@link UserSummary} per user instead of the user aggregate.
+ * Kept up to date by {@link me.elephantsuite.user.ElephantUserService} whenever a user is saved or deleted, changes are
+ * applied once the surrounding transaction commits.
+ */
+@Component
+public class UserNameIndex {
+
+	private final ElephantUserRepository elephantUserRepository;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final NGramIndex names = new NGramIndex();
+
+	private final Map<Long, UserSummary> users = new HashMap<>();
+
+	public UserNameIndex(ElephantUserRepository elephantUserRepository) {
+		this.elephantUserRepository = elephantUserRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		List<UserIndexEntry> entries = elephantUserRepository.getUserIndexEntries();
+
+		lock.writeLock().lock();
+		try {
+			names.clear();
+			users.clear();
+
+			for (UserIndexEntry entry : entries) {
+				add(new UserSummary(entry.getId(), entry.getFirstName(), entry.getLastName(), entry.getPfpId(), entry.getCountryCode()));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		ElephantBackendApplication.LOGGER.info("Indexed " + entries.size() + " user names for search");
+	}
+
+	public void put(ElephantUser user) {
+		if (user.getId() == null) {
+			return;
+		}
+
+		UserSummary summary = UserSummary.of(user);
+
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				if (!summary.equals(users.get(summary.id()))) {
+					add(summary);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	public void remove(long userId) {
+		AfterCommit.run(() -> {
+			lock.writeLock().lock();
+			try {
+				users.remove(userId);
+				names.remove(userId);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Returns at most {@code limit} users whose full name contains {@code query} ignoring case, excluding
+	 * {@code excludedUserId}. Users from {@code countryCode} come first, ties are broken by id.
+	 * Pass -1 for either id or country code to not exclude or prefer anyone.
+	 */
+	public List<UserSummary> search(String query, long excludedUserId, int countryCode, int limit) {
+		if (limit <= 0) {
+			return new ArrayList<>();
+		}
+
+		Comparator<UserSummary> ranking = Comparator
+			.comparing((UserSummary summary) -> summary.countryCode() != countryCode)
+			.thenComparingLong(UserSummary::id);
+
+		// max-heap on the ranking so the worst of the current top k is evicted first
+		PriorityQueue<UserSummary> top = new PriorityQueue<>(ranking.reversed());
+
+		lock.readLock().lock();
+		try {
+			for (Long id : names.matches(query)) {
+				if (id == excludedUserId) {
+					continue;
+				}
+
+				top.offer(users.get(id));
+
+				if (top.size() > limit) {
+					top.poll();
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<UserSummary> result = new ArrayList<>(top);
+		result.sort(ranking);
+
+		return result;
+	}
+
+	private void add(UserSummary summary) {
+		users.put(summary.id(), summary);
+		names.put(summary.id(), summary.fullName());
+	}
+}
@@ -0,0 +1,15 @@
+package me.elephantsuite.user.search;
+
+import me.elephantsuite.user.ElephantUser;
+
+// the only user fields name search needs to hold and return
+public record UserSummary(long id, String firstName, String lastName, int pfpId, int countryCode) {
+
+	public static UserSummary of(ElephantUser user) {
+		return new UserSummary(user.getId(), user.getFirstName(), user.getLastName(), user.getPfpId(), user.getCountryCode());
+	}
+
+	public String fullName() {
+		return this.firstName + " " + this.lastName;
+	}
+}
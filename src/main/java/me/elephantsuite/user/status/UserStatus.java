@@ -0,0 +1,6 @@
+package me.elephantsuite.user.status;
+
+import me.elephantsuite.user.ElephantUserType;
+
+// the few columns needed to decide whether a user may make a request, without loading the user aggregate
+public record UserStatus(long id, boolean enabled, boolean locked, ElephantUserType type) {}
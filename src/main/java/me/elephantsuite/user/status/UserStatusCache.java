@@ -0,0 +1,41 @@
+package me.elephantsuite.user.status;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import me.elephantsuite.user.ElephantUserRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches {@link UserStatus} per user id, including ids that have no user. Entries are invalidated by
+ * {@link me.elephantsuite.user.ElephantUserService} once a transaction that created, saved or deleted a user has committed,
+ * and expire after a while as a backstop.
+ */
+@Component
+public class UserStatusCache {
+
+	private final LoadingCache<Long, Optional<UserStatus>> statuses;
+
+	public UserStatusCache(ElephantUserRepository elephantUserRepository) {
+		this.statuses = CacheBuilder
+			.newBuilder()
+			.maximumSize(10_000)
+			.expireAfterWrite(10, TimeUnit.MINUTES)
+			.build(CacheLoader.from(elephantUserRepository::getUserStatus));
+	}
+
+	public Optional<UserStatus> get(long userId) {
+		return statuses.getUnchecked(userId);
+	}
+
+	public void invalidate(long userId) {
+		statuses.invalidate(userId);
+	}
+
+	public void invalidateAll() {
+		statuses.invalidateAll();
+	}
+}
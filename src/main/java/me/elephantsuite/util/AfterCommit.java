@@ -0,0 +1,28 @@
+package me.elephantsuite.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of in-memory state (caches, indexes) that mirrors the database until the surrounding transaction has
+ * committed, so a rolled back transaction leaves no trace in it and concurrent readers can't reload the old rows into
+ * it before the commit. Runs the update right away outside of a transaction.
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {}
+
+	public static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
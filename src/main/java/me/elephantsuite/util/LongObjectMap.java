@@ -0,0 +1,156 @@
+package me.elephantsuite.util;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Open addressing hash map from primitive {@code long} keys to values, for hot lookups keyed by entity ids without
+ * boxing every key or hashing entities. Linear probing over power of two sized arrays, no removal.
+ *
+ * <p>Not thread safe.
+ */
+public class LongObjectMap<V> {
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private long[] keys;
+
+	private Object[] values;
+
+	// keys are only valid where used is set, so 0 can be a key
+	private boolean[] used;
+
+	private int size;
+
+	private int resizeAt;
+
+	public LongObjectMap() {
+		this(16);
+	}
+
+	public LongObjectMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR) + 1) - 1) << 1;
+		allocate(capacity);
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int slot = find(key);
+		return slot < 0 ? null : (V) values[slot];
+	}
+
+	public V getOrDefault(long key, V defaultValue) {
+		V value = get(key);
+		return value == null ? defaultValue : value;
+	}
+
+	public boolean containsKey(long key) {
+		return find(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+
+		while (used[slot]) {
+			if (keys[slot] == key) {
+				V old = (V) values[slot];
+				values[slot] = value;
+				return old;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		used[slot] = true;
+		keys[slot] = key;
+		values[slot] = value;
+
+		if (++size > resizeAt) {
+			rehash(keys.length << 1);
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<Long, V> consumer) {
+		for (int i = 0; i < keys.length; i++) {
+			if (used[i]) {
+				consumer.accept(keys[i], (V) values[i]);
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(used, false);
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+
+		while (used[slot]) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		boolean[] oldUsed = used;
+
+		allocate(capacity);
+		size = 0;
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				putForRehash(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	private void putForRehash(long key, Object value) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+
+		while (used[slot]) {
+			slot = (slot + 1) & mask;
+		}
+
+		used[slot] = true;
+		keys[slot] = key;
+		values[slot] = value;
+		size++;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		used = new boolean[capacity];
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	// sequential ids would otherwise fill neighbouring slots and make probe chains long
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,124 @@
+-- sequences below were created with increment 1, the pooled generators on their entities allocate 50 ids per call
+ALTER SEQUENCE IF EXISTS card_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS quiz_card_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS quiz_card_statistics_sequence INCREMENT BY 50;
+
+-- card statistics used to copy one of the card's decks, due cards are now listed through deck_cards
+ALTER TABLE IF EXISTS card_statistics DROP COLUMN IF EXISTS deck_id;
+
+-- card and quiz card statistics used to hang off elephant_user_statistics through join tables, they are keyed by
+-- (user id, card id) on their own rows now. rows no user pointed to were unreachable and are dropped. this runs
+-- before hibernate updates the tables, so the columns the copy needs are added here
+DO $$
+BEGIN
+    IF to_regclass('elephant_user_statistics_card_statistics_mapping') IS NOT NULL THEN
+        ALTER TABLE card_statistics ADD COLUMN IF NOT EXISTS user_id BIGINT;
+        ALTER TABLE card_statistics ADD COLUMN IF NOT EXISTS next_due_at TIMESTAMP(6);
+
+        UPDATE card_statistics s SET user_id = u.id, next_due_at = COALESCE(s.next_due_at, now())
+            FROM elephant_user_statistics_card_statistics_mapping m JOIN elephant_user u ON u.elephant_user_statistics_id = m.elephant_user_statistics_id
+            WHERE m.card_statistics_id = s.id AND s.user_id IS NULL;
+        DELETE FROM card_statistics WHERE user_id IS NULL;
+        DROP TABLE elephant_user_statistics_card_statistics_mapping;
+    END IF;
+
+    IF to_regclass('elephant_user_statistics_quiz_card_statistics_mapping') IS NOT NULL THEN
+        ALTER TABLE quiz_card_statistics ADD COLUMN IF NOT EXISTS user_id BIGINT;
+
+        UPDATE quiz_card_statistics s SET user_id = u.id
+            FROM elephant_user_statistics_quiz_card_statistics_mapping m JOIN elephant_user u ON u.elephant_user_statistics_id = m.elephant_user_statistics_id
+            WHERE m.quiz_card_statistics_id = s.id AND s.user_id IS NULL;
+        DELETE FROM quiz_card_statistics WHERE user_id IS NULL;
+        DROP TABLE elephant_user_statistics_quiz_card_statistics_mapping;
+    END IF;
+END $$;
+
+-- recently viewed history, one row per (user, type, target), see RecentlyViewed
+CREATE TABLE IF NOT EXISTS elephant_user_recently_viewed (
+    user_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    target_id BIGINT NOT NULL,
+    viewed_at TIMESTAMP(6),
+    PRIMARY KEY (user_id, type, target_id)
+);
+CREATE INDEX IF NOT EXISTS elephant_user_recently_viewed_order ON elephant_user_recently_viewed (user_id, type, viewed_at);
+CREATE INDEX IF NOT EXISTS elephant_user_recently_viewed_target ON elephant_user_recently_viewed (type, target_id);
+
+-- recently viewed ids used to live in one element collection table per type, copied in and dropped. the old lists
+-- were rewritten front to back on every view, so physical order is most recent first
+DO $$
+DECLARE
+    legacy RECORD;
+BEGIN
+    FOR legacy IN SELECT * FROM (VALUES
+        ('DECK', 'elephant_user_statistics_recently_viewed_deck_ids', 'recently_viewed_deck_ids'),
+        ('TIMELINE', 'elephant_user_statistics_recently_viewed_timeline_ids', 'recently_viewed_timeline_ids')
+    ) AS t(type, table_name, column_name) LOOP
+        IF to_regclass(legacy.table_name) IS NOT NULL THEN
+            EXECUTE format('INSERT INTO elephant_user_recently_viewed (user_id, type, target_id, viewed_at) '
+                || 'SELECT s.elephant_user_id, %L, l.%I, now() - row_number() OVER (PARTITION BY l.elephant_user_statistics_id ORDER BY l.ctid) * interval ''1 millisecond'' '
+                || 'FROM %I l JOIN elephant_user_statistics s ON s.id = l.elephant_user_statistics_id '
+                || 'WHERE l.%I IS NOT NULL AND s.elephant_user_id IS NOT NULL ON CONFLICT DO NOTHING',
+                legacy.type, legacy.column_name, legacy.table_name, legacy.column_name);
+            EXECUTE format('DROP TABLE %I', legacy.table_name);
+        END IF;
+    END LOOP;
+END $$;
+
+-- likes, one row per (user, target), ElephantUser maps read-only views of it per type
+CREATE TABLE IF NOT EXISTS elephant_user_like (
+    user_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    target_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, type, target_id)
+);
+CREATE INDEX IF NOT EXISTS elephant_user_like_target ON elephant_user_like (type, target_id);
+
+-- one-off data migrations below record themselves here so they run once
+CREATE TABLE IF NOT EXISTS elephant_schema_migration (
+    name VARCHAR(64) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- likes used to live in one element collection table per type, copied into elephant_user_like and dropped
+DO $$
+DECLARE
+    legacy RECORD;
+BEGIN
+    FOR legacy IN SELECT * FROM (VALUES
+        ('DECK', 'elephant_user_liked_decks_ids', 'liked_decks_ids'),
+        ('TIMELINE', 'elephant_user_liked_timeline_ids', 'liked_timeline_ids'),
+        ('ANSWER', 'elephant_user_elephant_answers_liked', 'elephant_answers_liked'),
+        ('COMMENT', 'elephant_user_comments_liked', 'comments_liked')
+    ) AS t(type, table_name, column_name) LOOP
+        IF to_regclass(legacy.table_name) IS NOT NULL THEN
+            EXECUTE format('INSERT INTO elephant_user_like (user_id, type, target_id) SELECT elephant_user_id, %L, %I FROM %I WHERE %I IS NOT NULL ON CONFLICT DO NOTHING',
+                legacy.type, legacy.column_name, legacy.table_name, legacy.column_name);
+            EXECUTE format('DROP TABLE %I', legacy.table_name);
+        END IF;
+    END LOOP;
+END $$;
+
+-- like counts used to be read, incremented and saved, so they can have drifted, recount them from the likes once
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM elephant_schema_migration WHERE name = 'recount_likes') THEN
+        IF to_regclass('deck') IS NOT NULL THEN
+            UPDATE deck d SET number_of_likes = (SELECT count(*) FROM elephant_user_like l WHERE l.type = 'DECK' AND l.target_id = d.id);
+        END IF;
+
+        IF to_regclass('timeline') IS NOT NULL THEN
+            UPDATE timeline t SET likes = (SELECT count(*) FROM elephant_user_like l WHERE l.type = 'TIMELINE' AND l.target_id = t.id);
+        END IF;
+
+        IF to_regclass('elephant_answer') IS NOT NULL THEN
+            UPDATE elephant_answer a SET number_of_likes = (SELECT count(*) FROM elephant_user_like l WHERE l.type = 'ANSWER' AND l.target_id = a.id);
+        END IF;
+
+        IF to_regclass('comment') IS NOT NULL THEN
+            UPDATE comment c SET number_of_likes = (SELECT count(*) FROM elephant_user_like l WHERE l.type = 'COMMENT' AND l.target_id = c.id);
+        END IF;
+
+        INSERT INTO elephant_schema_migration (name) VALUES ('recount_likes');
+    END IF;
+END $$;
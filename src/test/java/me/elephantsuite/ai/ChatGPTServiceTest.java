@@ -0,0 +1,283 @@
+package me.elephantsuite.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonElement;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.ai.guard.AIUpstreamGuard;
+import me.elephantsuite.ai.guard.CircuitState;
+import me.elephantsuite.response.exception.AIUnavailableException;
+import me.elephantsuite.response.exception.APIException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// runs ChatGPTService against a local stub of the chat completions endpoint
+class ChatGPTServiceTest {
+
+	private static final String COMPLETION = "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"hello\"}}]}";
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private HttpServer server;
+
+	private ExecutorService serverExecutor;
+
+	private AIUpstreamGuard guard;
+
+	private ChatGPTService service;
+
+	// what the stub answers with, set by each test
+	private volatile HttpHandler handler;
+
+	// holds back stub handlers that never finish on their own until the test is over
+	private final CountDownLatch testOver = new CountDownLatch(1);
+
+	private final Map<String, String> options = new HashMap<>();
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/v1/chat/completions", exchange -> {
+			requests.incrementAndGet();
+			handler.handle(exchange);
+		});
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.start();
+
+		setOption("chatGptApiUrl", "http://localhost:" + server.getAddress().getPort() + "/v1/chat/completions");
+
+		guard = new AIUpstreamGuard();
+		service = new ChatGPTService(guard);
+	}
+
+	@AfterEach
+	void stopServer() {
+		testOver.countDown();
+		service.shutdown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+		options.forEach(ElephantBackendApplication.AI_INTEGRATION::setConfigOption);
+	}
+
+	@Test
+	void returnsTheCompletion() {
+		answer(200, "application/json", COMPLETION);
+
+		JsonElement completion = service.sendMessage("hi").join();
+
+		assertEquals("hello", completion.getAsJsonObject().getAsJsonArray("choices").get(0).getAsJsonObject().getAsJsonObject("message").get("content").getAsString());
+	}
+
+	@Test
+	void keepsJsonErrorBodies() {
+		answer(400, "application/json", "{\"error\":{\"message\":\"bad request\"}}");
+
+		APIException exception = (APIException) causeOf(service.sendMessage("hi"));
+
+		assertEquals(400, exception.getStatusCode());
+		assertFalse(exception.isUpstreamFailure());
+	}
+
+	@Test
+	void survivesErrorBodiesThatAreNotJson() {
+		answer(502, "text/html", "<html><body>Bad Gateway</body></html>");
+
+		APIException exception = (APIException) causeOf(service.sendMessage("hi"));
+
+		assertEquals(502, exception.getStatusCode());
+	}
+
+	@Test
+	void fallsBackToTheStatusForEmptyOrMalformedBodies() {
+		assertEquals(503, ChatGPTService.toApiException(503, "").getStatusCode());
+		assertEquals(500, ChatGPTService.toApiException(500, "{not json").getStatusCode());
+		assertEquals(500, ChatGPTService.toApiException(500, "[1, 2]").getStatusCode());
+	}
+
+	@Test
+	void serverErrorsOpenTheCircuit() {
+		answer(500, "application/json", "{\"error\":{\"message\":\"internal error\"}}");
+
+		int threshold = ElephantBackendApplication.AI_INTEGRATION.getInt("aiCircuitFailureThreshold");
+
+		for (int i = 0; i < threshold; i++) {
+			causeOf(service.sendMessage("hi"));
+		}
+
+		assertEquals(CircuitState.OPEN, guard.getStats().circuitState());
+		assertTrue(causeOf(service.sendMessage("hi")) instanceof AIUnavailableException);
+		assertEquals(threshold, requests.get());
+	}
+
+	@Test
+	void clientErrorsKeepTheCircuitClosed() {
+		answer(401, "application/json", "{\"error\":{\"message\":\"invalid api key\"}}");
+
+		int threshold = ElephantBackendApplication.AI_INTEGRATION.getInt("aiCircuitFailureThreshold");
+
+		for (int i = 0; i < threshold * 2; i++) {
+			causeOf(service.sendMessage("hi"));
+		}
+
+		assertEquals(CircuitState.CLOSED, guard.getStats().circuitState());
+		assertEquals(threshold * 2, requests.get());
+	}
+
+	@Test
+	void unreachableApiFailsWithApiException() {
+		server.stop(0);
+
+		assertTrue(causeOf(service.sendMessage("hi")) instanceof APIException);
+	}
+
+	@Test
+	void streamsContentInOrder() {
+		handler = exchange -> {
+			exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+			exchange.sendResponseHeaders(200, 0);
+
+			try (OutputStream out = exchange.getResponseBody()) {
+				writeChunk(out, "{\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}");
+				writeChunk(out, "{\"choices\":[{\"delta\":{\"content\":\"- Atom - \"}}]}");
+				writeChunk(out, "{\"choices\":[{\"delta\":{\"content\":\"matter\\n\"}}]}");
+				out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+			}
+		};
+
+		List<String> pieces = new ArrayList<>();
+
+		service.streamMessage("hi", pieces::add).join();
+
+		assertEquals(List.of("- Atom - ", "matter\n"), pieces);
+		assertEquals(0, guard.getStats().inFlight());
+	}
+
+	@Test
+	void idleStreamFails() {
+		setOption("aiStreamIdleSeconds", "1");
+		handler = exchange -> {
+			exchange.sendResponseHeaders(200, 0);
+			writeChunk(exchange.getResponseBody(), "{\"choices\":[{\"delta\":{\"content\":\"- Atom\"}}]}");
+			awaitTestOver();
+		};
+
+		List<String> pieces = new ArrayList<>();
+		Throwable cause = causeOf(service.streamMessage("hi", pieces::add));
+
+		assertTrue(cause instanceof APIException);
+		assertTrue(((APIException) cause).isUpstreamFailure());
+		assertEquals(List.of("- Atom"), pieces);
+		assertEquals(0, guard.getStats().inFlight());
+		assertEquals(1, guard.getStats().consecutiveFailures());
+	}
+
+	@Test
+	void streamPastItsDeadlineFails() {
+		setOption("aiStreamDeadlineSeconds", "1");
+		handler = exchange -> {
+			exchange.sendResponseHeaders(200, 0);
+
+			// never silent for long, but never done either
+			while (testOver.getCount() > 0) {
+				writeChunk(exchange.getResponseBody(), "{\"choices\":[{\"delta\":{\"content\":\"x\"}}]}");
+				sleep(100);
+			}
+		};
+
+		assertTrue(causeOf(service.streamMessage("hi", piece -> {})) instanceof APIException);
+		assertEquals(0, guard.getStats().inFlight());
+	}
+
+	@Test
+	void cancelledStreamReleasesItsPermit() throws InterruptedException {
+		CountDownLatch streaming = new CountDownLatch(1);
+		handler = exchange -> {
+			exchange.sendResponseHeaders(200, 0);
+			writeChunk(exchange.getResponseBody(), "{\"choices\":[{\"delta\":{\"content\":\"x\"}}]}");
+			awaitTestOver();
+		};
+
+		CompletableFuture<Void> stream = service.streamMessage("hi", piece -> streaming.countDown());
+
+		assertTrue(streaming.await(5, TimeUnit.SECONDS));
+
+		stream.cancel(true);
+
+		assertEquals(0, guard.getStats().inFlight());
+		assertEquals(0, guard.getStats().consecutiveFailures());
+	}
+
+	private void answer(int status, String contentType, String body) {
+		handler = exchange -> respond(exchange, status, contentType, body);
+	}
+
+	private void setOption(String option, String value) {
+		options.putIfAbsent(option, ElephantBackendApplication.AI_INTEGRATION.getConfigOption(option));
+		ElephantBackendApplication.AI_INTEGRATION.setConfigOption(option, value);
+	}
+
+	private void awaitTestOver() {
+		try {
+			testOver.await(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void writeChunk(OutputStream out, String json) throws IOException {
+		out.write(("data: " + json + "\n\n").getBytes(StandardCharsets.UTF_8));
+		out.flush();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static Throwable causeOf(CompletableFuture<?> future) {
+		try {
+			future.join();
+		} catch (CompletionException e) {
+			return e.getCause();
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,222 @@
+package me.elephantsuite.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import me.elephantsuite.ElephantBackendApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PromptCacheTest {
+
+	private static final Duration TTL = Duration.ofHours(ElephantBackendApplication.AI_INTEGRATION.getLong("aiCacheTtlHours"));
+
+	private final Map<String, String> options = new HashMap<>();
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private Path directory;
+
+	@BeforeEach
+	void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("prompt-cache");
+		setOption("aiCacheDirectory", directory.toString());
+	}
+
+	@AfterEach
+	void deleteDirectory() throws IOException {
+		options.forEach(ElephantBackendApplication.AI_INTEGRATION::setConfigOption);
+
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Test
+	void promptsDifferingInCaseAndWhitespaceShareAnEntry() {
+		PromptCache cache = new PromptCache();
+
+		cache.put("gpt", "  Ten terms\n about   Cells ", "cells");
+
+		assertEquals("cells", cache.getIfPresent("gpt", "ten TERMS about cells"));
+		assertNull(cache.getIfPresent("gpt", "ten terms about cell"));
+		assertNull(cache.getIfPresent("other-model", "ten terms about cells"));
+	}
+
+	@Test
+	void concurrentMissesShareOneCall() {
+		PromptCache cache = new PromptCache();
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		Function<String, CompletableFuture<String>> loader = load(prompt -> upstream);
+
+		CompletableFuture<String> first = cache.get("gpt", "ten terms about cells", loader);
+		CompletableFuture<String> second = cache.get("gpt", "Ten Terms About Cells", loader);
+
+		assertSame(first, second);
+		assertEquals(1, calls.get());
+		assertEquals(1, cache.getStats().misses());
+		assertEquals(1, cache.getStats().coalesced());
+
+		upstream.complete("cells");
+
+		assertEquals("cells", first.join());
+		assertEquals("cells", cache.get("gpt", "ten terms about cells", loader).join());
+		assertEquals(1, calls.get());
+		assertEquals(1, cache.getStats().hits());
+	}
+
+	@Test
+	void failedCallsAreNotCached() throws IOException {
+		PromptCache cache = new PromptCache();
+		Function<String, CompletableFuture<String>> loader = load(prompt -> CompletableFuture.failedFuture(new IOException("timed out")));
+
+		CompletableFuture<String> failed = cache.get("gpt", "ten terms about cells", loader);
+
+		assertTrue(assertThrows(CompletionException.class, failed::join).getCause() instanceof IOException);
+		assertNull(cache.getIfPresent("gpt", "ten terms about cells"));
+		assertTrue(files().isEmpty());
+
+		// the next request calls again instead of joining the failed call
+		assertThrows(CompletionException.class, cache.get("gpt", "ten terms about cells", loader)::join);
+		assertEquals(2, calls.get());
+		assertEquals(2, cache.getStats().misses());
+		assertEquals(0, cache.getStats().coalesced());
+	}
+
+	@Test
+	void loaderThrowingIsNotCached() {
+		PromptCache cache = new PromptCache();
+		Function<String, CompletableFuture<String>> loader = load(prompt -> {
+			throw new IllegalStateException("no api key");
+		});
+
+		assertThrows(CompletionException.class, cache.get("gpt", "ten terms about cells", loader)::join);
+		assertThrows(CompletionException.class, cache.get("gpt", "ten terms about cells", loader)::join);
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void entriesSurviveARestart() throws IOException {
+		new PromptCache().put("gpt", "ten terms about cells", "cells");
+
+		PromptCache restarted = new PromptCache();
+		restarted.loadFromDisk();
+
+		assertEquals("cells", restarted.getIfPresent("gpt", "ten terms about cells"));
+		assertEquals(1, restarted.getStats().size());
+		assertEquals(1, files().size());
+	}
+
+	@Test
+	void expiredEntriesAreDroppedOnLoad() throws IOException {
+		new PromptCache().put("gpt", "ten terms about cells", "cells");
+		setCreatedAt(files().get(0), System.currentTimeMillis() - TTL.toMillis() - 1000);
+
+		PromptCache restarted = new PromptCache();
+		restarted.loadFromDisk();
+
+		assertNull(restarted.getIfPresent("gpt", "ten terms about cells"));
+		assertEquals(0, restarted.getStats().size());
+		assertTrue(files().isEmpty());
+	}
+
+	@Test
+	void reloadedEntriesExpireFromWhenTheyWereCached() throws IOException, InterruptedException {
+		new PromptCache().put("gpt", "ten terms about cells", "cells");
+		setCreatedAt(files().get(0), System.currentTimeMillis() - TTL.toMillis() + 200);
+
+		PromptCache restarted = new PromptCache();
+		restarted.loadFromDisk();
+
+		assertEquals("cells", restarted.getIfPresent("gpt", "ten terms about cells"));
+
+		Thread.sleep(400);
+
+		assertNull(restarted.getIfPresent("gpt", "ten terms about cells"));
+	}
+
+	@Test
+	void evictedEntriesLoseTheirFile() throws IOException {
+		setOption("aiCacheMaxEntries", "1");
+		PromptCache cache = new PromptCache();
+
+		cache.put("gpt", "ten terms about cells", "cells");
+		Path cells = files().get(0);
+
+		cache.put("gpt", "ten terms about atoms", "atoms");
+
+		assertNull(cache.getIfPresent("gpt", "ten terms about cells"));
+		assertFalse(Files.exists(cells));
+		assertEquals(1, files().size());
+	}
+
+	@Test
+	void replacedEntriesKeepTheirFile() throws IOException {
+		PromptCache cache = new PromptCache();
+
+		cache.put("gpt", "ten terms about cells", "cells");
+		cache.put("gpt", "ten terms about cells", "more cells");
+
+		List<Path> files = files();
+
+		assertEquals(1, files.size());
+		assertTrue(Files.readString(files.get(0), StandardCharsets.UTF_8).endsWith("\nmore cells"));
+	}
+
+	@Test
+	void halfWrittenFilesAreDeletedOnLoad() throws IOException {
+		Files.writeString(directory.resolve("abc.123.tmp"), "17", StandardCharsets.UTF_8);
+
+		PromptCache restarted = new PromptCache();
+		restarted.loadFromDisk();
+
+		assertEquals(0, restarted.getStats().size());
+		assertTrue(files().isEmpty());
+	}
+
+	// counts the calls it passes on
+	private Function<String, CompletableFuture<String>> load(Function<String, CompletableFuture<String>> loader) {
+		return prompt -> {
+			calls.incrementAndGet();
+			return loader.apply(prompt);
+		};
+	}
+
+	private List<Path> files() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.toList();
+		}
+	}
+
+	private static void setCreatedAt(Path file, long createdAt) throws IOException {
+		String text = Files.readString(file, StandardCharsets.UTF_8);
+		Files.writeString(file, createdAt + text.substring(text.indexOf('\n')), StandardCharsets.UTF_8);
+	}
+
+	private void setOption(String option, String value) {
+		options.putIfAbsent(option, ElephantBackendApplication.AI_INTEGRATION.getConfigOption(option));
+		ElephantBackendApplication.AI_INTEGRATION.setConfigOption(option, value);
+	}
+}
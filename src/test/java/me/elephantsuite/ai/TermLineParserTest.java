@@ -0,0 +1,74 @@
+package me.elephantsuite.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TermLineParserTest {
+
+	@Test
+	void parsesTermAndDefinition() {
+		assertEquals(new TermLineParser.ParsedTerm("Mitochondria", List.of("powerhouse of the cell")), TermLineParser.parseLine("Mitochondria - powerhouse of the cell").orElseThrow());
+	}
+
+	@Test
+	void stripsListMarkers() {
+		assertEquals("Atom", TermLineParser.parseLine("- Atom - smallest unit of matter").orElseThrow().term());
+		assertEquals("Atom", TermLineParser.parseLine("* Atom - smallest unit of matter").orElseThrow().term());
+		assertEquals("Atom", TermLineParser.parseLine("\u2022 Atom - smallest unit of matter").orElseThrow().term());
+		assertEquals("Atom", TermLineParser.parseLine("12. Atom - smallest unit of matter").orElseThrow().term());
+		assertEquals("Atom", TermLineParser.parseLine("3) Atom - smallest unit of matter").orElseThrow().term());
+	}
+
+	@Test
+	void keepsHyphenatedTermsWhole() {
+		TermLineParser.ParsedTerm term = TermLineParser.parseLine("X-ray - high energy radiation").orElseThrow();
+
+		assertEquals("X-ray", term.term());
+		assertEquals(List.of("high energy radiation"), term.definitions());
+	}
+
+	@Test
+	void fallsBackToUnspacedDashAndColon() {
+		assertEquals("Cell", TermLineParser.parseLine("Cell-basic unit of life").orElseThrow().term());
+		assertEquals("Cell", TermLineParser.parseLine("Cell: basic unit of life").orElseThrow().term());
+	}
+
+	@Test
+	void skipsLinesWithoutTermAndDefinition() {
+		assertTrue(TermLineParser.parseLine("Here are some terms about biology").isEmpty());
+		assertTrue(TermLineParser.parseLine("").isEmpty());
+		assertTrue(TermLineParser.parseLine("- Cell -").isEmpty());
+		assertTrue(TermLineParser.parseLine("<b>Cell</b> - basic unit of life").isEmpty());
+	}
+
+	@Test
+	void parsesLinesSplitAcrossChunks() {
+		TermLineParser parser = new TermLineParser();
+
+		assertTrue(parser.accept("- Ato").isEmpty());
+		assertTrue(parser.accept("m - smallest unit").isEmpty());
+
+		List<TermLineParser.ParsedTerm> terms = parser.accept(" of matter\n- Cell - basic");
+
+		assertEquals(1, terms.size());
+		assertEquals("smallest unit of matter", terms.get(0).definitions().get(0));
+
+		terms = parser.finish();
+
+		assertEquals(1, terms.size());
+		assertEquals("Cell", terms.get(0).term());
+		assertTrue(parser.finish().isEmpty());
+	}
+
+	@Test
+	void parseAllIncludesTheLastLine() {
+		List<TermLineParser.ParsedTerm> terms = TermLineParser.parseAll("Terms:\n- Atom - matter\n\n- Cell - life");
+
+		assertEquals(2, terms.size());
+		assertEquals("Cell", terms.get(1).term());
+	}
+}
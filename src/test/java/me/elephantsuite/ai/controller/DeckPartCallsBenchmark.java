@@ -0,0 +1,172 @@
+package me.elephantsuite.ai.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.ai.ChatGPTService;
+import me.elephantsuite.ai.TermLineParser;
+import me.elephantsuite.ai.guard.AIUpstreamGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Times generating a 200 term deck against a local stub of the chat completions endpoint whose latency grows with the
+ * number of terms asked for, like a real completion: one call for every term, the parts one after another, and the
+ * parts with aiDeckParallelism in flight. Run with {@code mvn test -Dbenchmarks=true -Dtest=DeckPartCallsBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class DeckPartCallsBenchmark {
+
+	private static final int TERMS = 200;
+
+	private static final int RUNS = 3;
+
+	private static final long BASE_LATENCY_MILLIS = 200;
+
+	private static final long LATENCY_PER_TERM_MILLIS = 20;
+
+	private static final Pattern TERM_NUMBER = Pattern.compile("of (\\d+) terms");
+
+	private HttpServer server;
+
+	private ExecutorService serverExecutor;
+
+	private ChatGPTService service;
+
+	private String apiUrl;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/v1/chat/completions", DeckPartCallsBenchmark::answer);
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.start();
+
+		apiUrl = ElephantBackendApplication.AI_INTEGRATION.getConfigOption("chatGptApiUrl");
+		ElephantBackendApplication.AI_INTEGRATION.setConfigOption("chatGptApiUrl", "http://localhost:" + server.getAddress().getPort() + "/v1/chat/completions");
+
+		service = new ChatGPTService(new AIUpstreamGuard());
+	}
+
+	@AfterEach
+	void stopServer() {
+		service.shutdown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+		ElephantBackendApplication.AI_INTEGRATION.setConfigOption("chatGptApiUrl", apiUrl);
+	}
+
+	@Test
+	void generate200Terms() {
+		int chunkTerms = ElephantBackendApplication.AI_INTEGRATION.getInt("aiDeckChunkTerms");
+		int parallelism = ElephantBackendApplication.AI_INTEGRATION.getInt("aiDeckParallelism");
+		List<String> parts = prompts(DeckPartCalls.getPartSizes(TERMS, chunkTerms));
+
+		double single = run(List.of("write a list of " + TERMS + " terms"), 1);
+		double sequential = run(parts, 1);
+		double parallel = run(parts, parallelism);
+
+		System.out.printf("%-28s %8.0f ms%n", "one call", single);
+		System.out.printf("%-28s %8.0f ms%n", parts.size() + " parts, one at a time", sequential);
+		System.out.printf("%-28s %8.0f ms (%.1fx)%n", parts.size() + " parts, " + parallelism + " at a time", parallel, sequential / parallel);
+	}
+
+	// milliseconds per deck
+	private double run(List<String> prompts, int parallelism) {
+		long start = System.nanoTime();
+
+		for (int i = 0; i < RUNS; i++) {
+			List<String> responses = DeckPartCalls.callAll(prompts, parallelism, this::getResponse).join();
+
+			assertEquals(TERMS, responses.stream().mapToInt(response -> TermLineParser.parseAll(response).size()).sum());
+		}
+
+		return (System.nanoTime() - start) / 1_000_000.0 / RUNS;
+	}
+
+	private CompletableFuture<String> getResponse(String prompt) {
+		return service.sendMessage(prompt).thenApply(element -> element
+			.getAsJsonObject()
+			.getAsJsonArray("choices")
+			.get(0)
+			.getAsJsonObject()
+			.getAsJsonObject("message")
+			.get("content")
+			.getAsString());
+	}
+
+	private static List<String> prompts(int[] partSizes) {
+		List<String> prompts = new ArrayList<>(partSizes.length);
+
+		for (int part = 0; part < partSizes.length; part++) {
+			prompts.add("write a list of " + partSizes[part] + " terms, part " + (part + 1) + " of " + partSizes.length);
+		}
+
+		return prompts;
+	}
+
+	// answers with as many terms as the prompt asks for, after a delay that grows with them
+	private static void answer(HttpExchange exchange) throws IOException {
+		String request;
+
+		try (InputStream in = exchange.getRequestBody()) {
+			request = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+
+		Matcher matcher = TERM_NUMBER.matcher(request);
+		int terms = matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+		StringBuilder content = new StringBuilder();
+
+		for (int term = 0; term < terms; term++) {
+			content.append("- term ").append(term).append(" - definition ").append(term).append('\n');
+		}
+
+		try {
+			Thread.sleep(BASE_LATENCY_MILLIS + LATENCY_PER_TERM_MILLIS * terms);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		JsonObject message = new JsonObject();
+		message.addProperty("role", "assistant");
+		message.addProperty("content", content.toString());
+
+		JsonObject choice = new JsonObject();
+		choice.add("message", message);
+
+		JsonArray choices = new JsonArray();
+		choices.add(choice);
+
+		JsonObject completion = new JsonObject();
+		completion.add("choices", choices);
+
+		byte[] bytes = completion.toString().getBytes(StandardCharsets.UTF_8);
+
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, bytes.length);
+
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package me.elephantsuite.ai.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.elephantsuite.response.exception.APIException;
+import org.junit.jupiter.api.Test;
+
+class DeckPartCallsTest {
+
+	@Test
+	void partsAreBoundedByTheChunkSize() {
+		assertArrayEquals(new int[]{10}, DeckPartCalls.getPartSizes(10, 25));
+		assertArrayEquals(new int[]{25}, DeckPartCalls.getPartSizes(25, 25));
+		assertArrayEquals(new int[]{13, 13}, DeckPartCalls.getPartSizes(26, 25));
+		assertArrayEquals(new int[]{25, 25, 25, 25, 25, 25, 25, 25}, DeckPartCalls.getPartSizes(200, 25));
+		assertArrayEquals(new int[]{24, 24, 24, 23, 23, 23, 23, 23, 23}, DeckPartCalls.getPartSizes(210, 25));
+	}
+
+	@Test
+	void keepsAtMostParallelismPartsInFlight() {
+		List<CompletableFuture<String>> pending = new ArrayList<>();
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		CompletableFuture<List<String>> result = DeckPartCalls.callAll(prompts(10), 3, prompt -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+			CompletableFuture<String> response = new CompletableFuture<>();
+			pending.add(response);
+
+			return response.whenComplete((text, throwable) -> inFlight.decrementAndGet());
+		});
+
+		assertEquals(3, pending.size());
+
+		// every answer starts the next part
+		for (int answered = 0; answered < 10; answered++) {
+			pending.get(answered).complete("response " + answered);
+		}
+
+		assertEquals(3, maxInFlight.get());
+		assertEquals(10, pending.size());
+		assertEquals(10, result.join().size());
+	}
+
+	@Test
+	void keepsThePartsThatSucceeded() {
+		List<String> responses = DeckPartCalls
+			.callAll(prompts(5), 2, prompt -> prompt.endsWith("1") || prompt.endsWith("3")
+				? CompletableFuture.failedFuture(new APIException("part failed"))
+				: CompletableFuture.completedFuture(prompt.replace("prompt", "response")))
+			.join();
+
+		assertEquals(List.of("response 0", "response 2", "response 4"), responses);
+	}
+
+	@Test
+	void failsWhenEveryPartFailed() {
+		AtomicInteger calls = new AtomicInteger();
+
+		CompletableFuture<List<String>> result = DeckPartCalls.callAll(prompts(4), 2, prompt -> {
+			calls.incrementAndGet();
+			throw new APIException("unreachable");
+		});
+
+		CompletionException exception = null;
+
+		try {
+			result.join();
+		} catch (CompletionException e) {
+			exception = e;
+		}
+
+		assertTrue(exception != null && exception.getCause() instanceof APIException);
+		assertEquals(4, calls.get());
+	}
+
+	private static List<String> prompts(int parts) {
+		List<String> prompts = new ArrayList<>(parts);
+
+		for (int part = 0; part < parts; part++) {
+			prompts.add("prompt " + part);
+		}
+
+		return prompts;
+	}
+}
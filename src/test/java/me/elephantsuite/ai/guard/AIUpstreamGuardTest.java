@@ -0,0 +1,139 @@
+package me.elephantsuite.ai.guard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.elephantsuite.ElephantBackendApplication;
+import me.elephantsuite.response.exception.AIUnavailableException;
+import me.elephantsuite.response.exception.APIException;
+import org.junit.jupiter.api.Test;
+
+class AIUpstreamGuardTest {
+
+	private final int failureThreshold = ElephantBackendApplication.AI_INTEGRATION.getInt("aiCircuitFailureThreshold");
+
+	private final int maxConcurrentCalls = ElephantBackendApplication.AI_INTEGRATION.getInt("aiMaxConcurrentCalls");
+
+	@Test
+	void serverErrorsOpenTheCircuit() {
+		AIUpstreamGuard guard = new AIUpstreamGuard();
+
+		for (int i = 0; i < failureThreshold; i++) {
+			guard.call(() -> CompletableFuture.failedFuture(new APIException(503, "unavailable")));
+		}
+
+		AtomicInteger calls = new AtomicInteger();
+		CompletableFuture<Object> rejected = guard.call(() -> {
+			calls.incrementAndGet();
+			return CompletableFuture.completedFuture(null);
+		});
+
+		assertEquals(CircuitState.OPEN, guard.getStats().circuitState());
+		assertEquals(0, calls.get());
+		assertTrue(causeOf(rejected) instanceof AIUnavailableException);
+	}
+
+	@Test
+	void clientErrorsDoNotOpenTheCircuit() {
+		AIUpstreamGuard guard = new AIUpstreamGuard();
+
+		for (int i = 0; i < failureThreshold * 2; i++) {
+			guard.call(() -> CompletableFuture.failedFuture(new APIException(400, "bad request")));
+		}
+
+		assertEquals(CircuitState.CLOSED, guard.getStats().circuitState());
+		assertEquals(0, guard.getStats().consecutiveFailures());
+	}
+
+	@Test
+	void cancelledCallsDoNotCount() {
+		AIUpstreamGuard guard = new AIUpstreamGuard();
+
+		for (int i = 0; i < failureThreshold * 2; i++) {
+			CompletableFuture<Object> future = new CompletableFuture<>();
+			guard.call(() -> future);
+			future.cancel(true);
+		}
+
+		assertEquals(CircuitState.CLOSED, guard.getStats().circuitState());
+		assertEquals(0, guard.getStats().inFlight());
+	}
+
+	@Test
+	void cancellingTheReturnedFutureCancelsTheCall() {
+		AIUpstreamGuard guard = new AIUpstreamGuard();
+		CompletableFuture<Object> call = new CompletableFuture<>();
+
+		guard.call(() -> call).cancel(true);
+
+		assertTrue(call.isCancelled());
+		assertEquals(0, guard.getStats().inFlight());
+		assertEquals(CircuitState.CLOSED, guard.getStats().circuitState());
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondTheLimit() {
+		AIUpstreamGuard guard = new AIUpstreamGuard();
+		List<CompletableFuture<Object>> inFlight = new ArrayList<>();
+
+		for (int i = 0; i < maxConcurrentCalls; i++) {
+			CompletableFuture<Object> future = new CompletableFuture<>();
+			inFlight.add(future);
+			guard.call(() -> future);
+		}
+
+		assertTrue(causeOf(guard.call(() -> CompletableFuture.completedFuture(null))) instanceof AIUnavailableException);
+		assertEquals(1, guard.getStats().rejectedByBulkhead());
+
+		inFlight.get(0).complete(null);
+
+		assertFalse(guard.call(() -> CompletableFuture.completedFuture(null)).isCompletedExceptionally());
+	}
+
+	@Test
+	void userIsChargedForEveryCall() {
+		AIUpstreamGuard guard = new AIUpstreamGuard();
+		int userPerMinute = ElephantBackendApplication.AI_INTEGRATION.getInt("aiUserRequestsPerMinute");
+
+		guard.checkUser(1, userPerMinute - 1);
+
+		assertThrows(AIUnavailableException.class, () -> guard.checkUser(1, 2));
+		guard.checkUser(1);
+		assertThrows(AIUnavailableException.class, () -> guard.checkUser(1));
+
+		// other users have their own bucket
+		guard.checkUser(2, userPerMinute);
+		assertEquals(2, guard.getStats().rejectedByUserLimit());
+	}
+
+	@Test
+	void classifiesUpstreamFailures() {
+		assertTrue(AIUpstreamGuard.isUpstreamFailure(new APIException("timed out")));
+		assertTrue(AIUpstreamGuard.isUpstreamFailure(new APIException(429, "slow down")));
+		assertTrue(AIUpstreamGuard.isUpstreamFailure(new APIException(502, "bad gateway")));
+		assertTrue(AIUpstreamGuard.isUpstreamFailure(new IOException("connection reset")));
+		assertTrue(AIUpstreamGuard.isUpstreamFailure(new HttpTimeoutException("request timed out")));
+		assertFalse(AIUpstreamGuard.isUpstreamFailure(new APIException(401, "bad key")));
+		assertFalse(AIUpstreamGuard.isUpstreamFailure(new IllegalStateException()));
+	}
+
+	private static Throwable causeOf(CompletableFuture<?> future) {
+		try {
+			future.join();
+		} catch (CompletionException e) {
+			return e.getCause();
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,112 @@
+package me.elephantsuite.ai.guard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+	private static final Duration OPEN_DURATION = Duration.ofMillis(50);
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		CircuitBreaker breaker = new CircuitBreaker(3, OPEN_DURATION);
+
+		breaker.onFailure(breaker.tryAcquire());
+		breaker.onFailure(breaker.tryAcquire());
+		assertEquals(CircuitState.CLOSED, breaker.getState());
+
+		breaker.onFailure(breaker.tryAcquire());
+		assertEquals(CircuitState.OPEN, breaker.getState());
+		assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+		assertEquals(1, breaker.getTimesOpened());
+	}
+
+	@Test
+	void successResetsFailureCount() {
+		CircuitBreaker breaker = new CircuitBreaker(2, OPEN_DURATION);
+
+		breaker.onFailure(breaker.tryAcquire());
+		breaker.onSuccess(breaker.tryAcquire());
+		breaker.onFailure(breaker.tryAcquire());
+
+		assertEquals(CircuitState.CLOSED, breaker.getState());
+		assertEquals(1, breaker.getConsecutiveFailures());
+	}
+
+	@Test
+	void halfOpenLetsOneTrialThrough() throws InterruptedException {
+		CircuitBreaker breaker = openBreaker();
+
+		Thread.sleep(OPEN_DURATION.toMillis() + 10);
+
+		long trial = breaker.tryAcquire();
+
+		assertNotEquals(CircuitBreaker.REJECTED, trial);
+		assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+		assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+
+		breaker.onSuccess(trial);
+
+		assertEquals(CircuitState.CLOSED, breaker.getState());
+	}
+
+	@Test
+	void failedTrialOpensAgain() throws InterruptedException {
+		CircuitBreaker breaker = openBreaker();
+
+		Thread.sleep(OPEN_DURATION.toMillis() + 10);
+		breaker.onFailure(breaker.tryAcquire());
+
+		assertEquals(CircuitState.OPEN, breaker.getState());
+		assertEquals(2, breaker.getTimesOpened());
+	}
+
+	@Test
+	void releasedTrialCanBeClaimedAgain() throws InterruptedException {
+		CircuitBreaker breaker = openBreaker();
+
+		Thread.sleep(OPEN_DURATION.toMillis() + 10);
+
+		breaker.release(breaker.tryAcquire());
+
+		assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+	}
+
+	@Test
+	void lateSuccessDoesNotCloseHalfOpenCircuit() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker(1, OPEN_DURATION);
+		long slow = breaker.tryAcquire();
+
+		breaker.onFailure(breaker.tryAcquire());
+		Thread.sleep(OPEN_DURATION.toMillis() + 10);
+		breaker.tryAcquire();
+
+		breaker.onSuccess(slow);
+
+		assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+	}
+
+	@Test
+	void lateFailureDoesNotExtendOpenPeriod() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker(1, OPEN_DURATION);
+		long slow = breaker.tryAcquire();
+
+		breaker.onFailure(breaker.tryAcquire());
+		Thread.sleep(OPEN_DURATION.toMillis() / 2);
+		breaker.onFailure(slow);
+		Thread.sleep(OPEN_DURATION.toMillis() / 2 + 10);
+
+		assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+		assertEquals(1, breaker.getTimesOpened());
+	}
+
+	private static CircuitBreaker openBreaker() {
+		CircuitBreaker breaker = new CircuitBreaker(1, OPEN_DURATION);
+		breaker.onFailure(breaker.tryAcquire());
+		return breaker;
+	}
+}
@@ -0,0 +1,52 @@
+package me.elephantsuite.ai.guard;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	@Test
+	void startsFullAndRunsDry() {
+		TokenBucket bucket = new TokenBucket(3, 0);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	void refillsOverTime() throws InterruptedException {
+		// one token per millisecond
+		TokenBucket bucket = new TokenBucket(1, 60_000);
+
+		assertTrue(bucket.tryAcquire());
+
+		Thread.sleep(20);
+
+		assertTrue(bucket.tryAcquire());
+	}
+
+	@Test
+	void neverHoldsMoreThanCapacity() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(2, 60_000);
+
+		Thread.sleep(20);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	void takesAllTokensOrNone() {
+		TokenBucket bucket = new TokenBucket(5, 0);
+
+		assertTrue(bucket.tryAcquire(3));
+		assertFalse(bucket.tryAcquire(3));
+		assertTrue(bucket.tryAcquire(2));
+		assertFalse(bucket.tryAcquire());
+	}
+}
@@ -0,0 +1,105 @@
+package me.elephantsuite.deck.card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import jakarta.persistence.EntityManager;
+import me.elephantsuite.deck.Deck;
+import me.elephantsuite.deck.DeckRepositoryService;
+import me.elephantsuite.deck.DeckVisibility;
+import me.elephantsuite.deck.controller.DeckService;
+import me.elephantsuite.user.ElephantUser;
+import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.ElephantUserType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Times creating decks of 10, 100 and 1000 cards against the configured database, once through the batched
+ * {@link DeckService#convertToCards} and once saving and flushing card by card the way decks used to be written.
+ * Everything it writes is rolled back. Run with {@code mvn test -Dbenchmarks=true -Dtest=CardInsertBenchmark}.
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CardInsertBenchmark {
+
+	private static final int[] DECK_SIZES = {10, 100, 1000};
+
+	private static final int RUNS = 5;
+
+	@Autowired
+	private ElephantUserService userService;
+
+	@Autowired
+	private DeckRepositoryService deckService;
+
+	@Autowired
+	private CardService cardService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void insertTimePerCard() {
+		long userId = userService.saveUser(new ElephantUser("Card", "Inserts", "card-insert-benchmark@elephantsuite.me", "password", ElephantUserType.STUDENT, 1, 0)).getId();
+
+		for (int size : DECK_SIZES) {
+			Map<String, List<String>> terms = terms(size);
+
+			double batched = time(userId, size, deck -> DeckService.convertToCards(terms, deck, cardService));
+			double oneByOne = time(userId, size, deck -> {
+				List<Card> cards = new ArrayList<>(size);
+
+				terms.forEach((term, definitions) -> {
+					cards.add(cardService.saveCard(new Card(term, definitions, deck)));
+					entityManager.flush();
+				});
+
+				return cards;
+			});
+
+			System.out.printf("%5d cards: batched %8.1f us/card, one by one %8.1f us/card%n", size, batched, oneByOne);
+		}
+	}
+
+	// microseconds per card of writing the deck and its cards, after one warm up deck
+	private double time(long userId, int size, Function<Deck, List<Card>> writeCards) {
+		writeDeck(userId, writeCards);
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < RUNS; i++) {
+			writeDeck(userId, writeCards);
+		}
+
+		return (System.nanoTime() - start) / 1_000.0 / RUNS / size;
+	}
+
+	private void writeDeck(long userId, Function<Deck, List<Card>> writeCards) {
+		// a fresh reference, the context is cleared after every deck
+		ElephantUser user = entityManager.getReference(ElephantUser.class, userId);
+		Deck deck = new Deck(null, user, "Card Insert Benchmark", DeckVisibility.PRIVATE);
+
+		deck.setCards(writeCards.apply(deck));
+		deckService.saveDeck(deck);
+
+		entityManager.flush();
+		// so later decks do not pay for dirty checking the earlier ones
+		entityManager.clear();
+	}
+
+	private static Map<String, List<String>> terms(int size) {
+		return IntStream
+			.range(0, size)
+			.boxed()
+			.collect(Collectors.toMap(i -> "term " + i, i -> List.of("definition " + i, "other definition " + i), (a, b) -> a));
+	}
+}
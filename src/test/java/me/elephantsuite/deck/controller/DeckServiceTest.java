@@ -0,0 +1,54 @@
+package me.elephantsuite.deck.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class DeckServiceTest {
+
+	private static final Map<Long, String> TERMS = Map.of(1L, "apple", 2L, "pear", 3L, "plum");
+
+	@Test
+	void renameOntoAnotherCardsTerm() {
+		assertEquals("pear", DeckService.findDuplicateTerm(TERMS, Map.of(1L, "pear"), Set.of(), List.of()));
+	}
+
+	@Test
+	void addAnExistingTerm() {
+		assertEquals("plum", DeckService.findDuplicateTerm(TERMS, Map.of(), Set.of(), List.of("fig", "plum")));
+	}
+
+	@Test
+	void renameAndAddTheSameTerm() {
+		assertEquals("fig", DeckService.findDuplicateTerm(TERMS, Map.of(1L, "fig"), Set.of(), List.of("fig")));
+	}
+
+	@Test
+	void twoRenamesToTheSameTerm() {
+		assertEquals("fig", DeckService.findDuplicateTerm(TERMS, Map.of(1L, "fig", 2L, "fig"), Set.of(), List.of()));
+	}
+
+	@Test
+	void swappingTermsIsAllowed() {
+		assertNull(DeckService.findDuplicateTerm(TERMS, Map.of(1L, "pear", 2L, "apple"), Set.of(), List.of()));
+	}
+
+	@Test
+	void removedCardsFreeTheirTerm() {
+		assertNull(DeckService.findDuplicateTerm(TERMS, Map.of(1L, "pear"), Set.of(2L), List.of()));
+		assertNull(DeckService.findDuplicateTerm(TERMS, Map.of(), Set.of(3L), List.of("plum")));
+	}
+
+	@Test
+	void duplicatesTheDeckAlreadyHadDoNotBlockOtherChanges() {
+		Map<Long, String> terms = Map.of(1L, "apple", 2L, "apple", 3L, "plum");
+
+		assertNull(DeckService.findDuplicateTerm(terms, Map.of(3L, "fig"), Set.of(), List.of("kiwi")));
+		assertEquals("apple", DeckService.findDuplicateTerm(terms, Map.of(3L, "apple"), Set.of(), List.of()));
+	}
+}
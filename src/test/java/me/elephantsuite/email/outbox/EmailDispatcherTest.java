@@ -0,0 +1,272 @@
+package me.elephantsuite.email.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import me.elephantsuite.ElephantBackendApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+// runs the dispatcher against an in-memory outbox and a mail sender that fails the way the test asks it to
+class EmailDispatcherTest {
+
+	private static final int MAX_ATTEMPTS = ElephantBackendApplication.ELEPHANT_CONFIG.getInt("emailMaxAttempts");
+
+	private static final Duration BASE_BACKOFF = Duration.ofSeconds(ElephantBackendApplication.ELEPHANT_CONFIG.getLong("emailRetryBaseSeconds"));
+
+	private final InMemoryOutboxEmailRepository table = new InMemoryOutboxEmailRepository();
+
+	private final OutboxEmailRepositoryService outbox = new OutboxEmailRepositoryService(table.repository());
+
+	private final StubMailSender mailSender = new StubMailSender();
+
+	private EmailDispatcher dispatcher;
+
+	@BeforeEach
+	void createDispatcher() {
+		dispatcher = new EmailDispatcher(outbox, mailSender);
+	}
+
+	@AfterEach
+	void shutdown() {
+		dispatcher.shutdown();
+	}
+
+	@Test
+	void sentEmailsAreDeleted() {
+		enqueue("a@elephantsuite.me", "b@elephantsuite.me", "c@elephantsuite.me");
+
+		dispatcher.dispatch();
+
+		assertTrue(table.all().isEmpty());
+		assertEquals(3, mailSender.sent.size());
+		assertEquals(3, dispatcher.getStats().sent());
+		assertEquals(0, dispatcher.getStats().pending());
+	}
+
+	@Test
+	void onlyRejectedMessagesAreRetried() {
+		enqueue("a@elephantsuite.me", "rejected@elephantsuite.me", "c@elephantsuite.me");
+
+		mailSender.failure = messages -> {
+			Map<Object, Exception> failed = new LinkedHashMap<>();
+
+			for (MimeMessage message : messages) {
+				if (recipientOf(message).startsWith("rejected")) {
+					failed.put(message, new MessagingException("550 mailbox unavailable"));
+				}
+			}
+
+			// the batch is split over the workers, chunks without a rejected recipient send fine
+			return failed.isEmpty() ? null : new MailSendException(failed);
+		};
+
+		LocalDateTime before = LocalDateTime.now();
+		dispatcher.dispatch();
+
+		OutboxEmail retried = single();
+
+		assertEquals("rejected@elephantsuite.me", retried.getRecipient());
+		assertEquals(1, retried.getAttempts());
+		assertEquals(OutboxEmailStatus.PENDING, retried.getStatus());
+		assertEquals("550 mailbox unavailable", retried.getLastError());
+		assertBackoff(BASE_BACKOFF, before, retried.getNextAttemptAt());
+		assertEquals(2, dispatcher.getStats().sent());
+		assertEquals(1, dispatcher.getStats().sendFailures());
+	}
+
+	@Test
+	void connectionFailureRetriesEveryMessage() {
+		enqueue("a@elephantsuite.me", "b@elephantsuite.me");
+
+		mailSender.failure = messages -> new MailSendException("Mail server connection failed");
+
+		dispatcher.dispatch();
+
+		assertEquals(2, table.all().size());
+
+		for (OutboxEmail email : table.all()) {
+			assertEquals(1, email.getAttempts());
+			assertEquals(OutboxEmailStatus.PENDING, email.getStatus());
+			assertEquals("Mail server connection failed", email.getLastError());
+		}
+
+		assertEquals(0, dispatcher.getStats().sent());
+	}
+
+	@Test
+	void retriedEmailsAreNotDueBeforeTheirBackoff() {
+		enqueue("a@elephantsuite.me");
+
+		mailSender.failure = messages -> new MailSendException("Mail server connection failed");
+		dispatcher.dispatch();
+
+		mailSender.failure = null;
+		dispatcher.dispatch();
+
+		assertEquals(1, table.all().size());
+		assertTrue(mailSender.sent.isEmpty());
+	}
+
+	@Test
+	void backoffDoublesUpToAnHour() {
+		OutboxEmail email = enqueue("a@elephantsuite.me").get(0);
+		Duration expected = BASE_BACKOFF;
+
+		for (int attempt = 1; attempt <= 20; attempt++) {
+			LocalDateTime before = LocalDateTime.now();
+			outbox.markFailed(email.getId(), "timeout", 100, BASE_BACKOFF);
+
+			assertBackoff(expected, before, email.getNextAttemptAt());
+
+			expected = expected.multipliedBy(2);
+			expected = expected.compareTo(Duration.ofHours(1)) > 0 ? Duration.ofHours(1) : expected;
+		}
+	}
+
+	@Test
+	void emailFailsForGoodAfterMaxAttempts() {
+		enqueue("a@elephantsuite.me");
+
+		mailSender.failure = messages -> new MailSendException("Mail server connection failed");
+
+		for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+			// make the retry due right away instead of waiting out the backoff
+			table.all().forEach(email -> email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+			dispatcher.dispatch();
+
+			assertEquals(attempt == MAX_ATTEMPTS ? OutboxEmailStatus.FAILED : OutboxEmailStatus.PENDING, single().getStatus());
+		}
+
+		assertEquals(MAX_ATTEMPTS, single().getAttempts());
+		assertEquals(1, dispatcher.getStats().failed());
+
+		// failed emails are never claimed again
+		mailSender.failure = null;
+		single().setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		dispatcher.dispatch();
+
+		assertTrue(mailSender.sent.isEmpty());
+	}
+
+	@Test
+	void failingUnknownEmailIsIgnored() {
+		outbox.markFailed(42, "gone", MAX_ATTEMPTS, BASE_BACKOFF);
+
+		assertNull(table.rows.get(42L));
+	}
+
+	private List<OutboxEmail> enqueue(String... recipients) {
+		List<OutboxEmail> emails = new ArrayList<>();
+
+		for (String recipient : recipients) {
+			emails.add(outbox.enqueue(recipient, "Subject", "<p>Body</p>", true));
+		}
+
+		return emails;
+	}
+
+	private OutboxEmail single() {
+		assertEquals(1, table.all().size());
+		return table.all().get(0);
+	}
+
+	private static void assertBackoff(Duration expected, LocalDateTime before, LocalDateTime nextAttemptAt) {
+		assertNotNull(nextAttemptAt);
+
+		Duration actual = Duration.between(before, nextAttemptAt);
+
+		// the clock moves on a little between taking before and scheduling the attempt
+		assertTrue(actual.compareTo(expected) >= 0 && actual.compareTo(expected.plusSeconds(5)) <= 0, "expected " + expected + " but was " + actual);
+	}
+
+	private static String recipientOf(MimeMessage message) {
+		try {
+			return message.getAllRecipients()[0].toString();
+		} catch (MessagingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// records what it sent, or throws what failure builds from the messages of the call, if anything
+	private static class StubMailSender implements JavaMailSender {
+
+		private final Set<String> sent = Collections.synchronizedSet(new HashSet<>());
+
+		private volatile Function<MimeMessage[], MailException> failure;
+
+		@Override
+		public MimeMessage createMimeMessage() {
+			return new MimeMessage((Session) null);
+		}
+
+		@Override
+		public MimeMessage createMimeMessage(InputStream contentStream) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void send(MimeMessage mimeMessage) {
+			send(new MimeMessage[]{mimeMessage});
+		}
+
+		@Override
+		public void send(MimeMessage... mimeMessages) {
+			MailException exception = failure == null ? null : failure.apply(mimeMessages);
+			Set<Object> failed = exception instanceof MailSendException sendException ? sendException.getFailedMessages().keySet() : Set.of();
+
+			for (MimeMessage message : mimeMessages) {
+				if (exception == null || !failed.isEmpty() && !failed.contains(message)) {
+					sent.add(recipientOf(message));
+				}
+			}
+
+			if (exception != null) {
+				throw exception;
+			}
+		}
+
+		@Override
+		public void send(MimeMessagePreparator mimeMessagePreparator) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void send(MimeMessagePreparator... mimeMessagePreparators) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void send(SimpleMailMessage simpleMessage) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void send(SimpleMailMessage... simpleMessages) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
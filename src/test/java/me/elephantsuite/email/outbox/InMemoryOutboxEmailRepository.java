@@ -0,0 +1,83 @@
+package me.elephantsuite.email.outbox;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+// the outbox table in a map, answers the repository methods the outbox uses the way their queries do
+class InMemoryOutboxEmailRepository implements InvocationHandler {
+
+	final Map<Long, OutboxEmail> rows = new TreeMap<>();
+
+	private final AtomicLong ids = new AtomicLong();
+
+	OutboxEmailRepository repository() {
+		return (OutboxEmailRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{OutboxEmailRepository.class}, this);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized Object invoke(Object proxy, Method method, Object[] args) {
+		switch (method.getName()) {
+			case "save" -> {
+				OutboxEmail email = (OutboxEmail) args[0];
+
+				if (email.getId() == null) {
+					email.setId(ids.incrementAndGet());
+				}
+
+				rows.put(email.getId(), email);
+				return email;
+			}
+			case "findById" -> {
+				return Optional.ofNullable(rows.get((Long) args[0]));
+			}
+			case "findAllById" -> {
+				return StreamSupport
+					.stream(((Iterable<Long>) args[0]).spliterator(), false)
+					.map(rows::get)
+					.filter(email -> email != null)
+					.toList();
+			}
+			case "lockDueIds" -> {
+				LocalDateTime now = (LocalDateTime) args[0];
+
+				return rows
+					.values()
+					.stream()
+					.filter(email -> email.getStatus() == OutboxEmailStatus.PENDING && !email.getNextAttemptAt().isAfter(now))
+					.sorted(Comparator.comparing(OutboxEmail::getNextAttemptAt))
+					.limit((Integer) args[1])
+					.map(OutboxEmail::getId)
+					.toList();
+			}
+			case "leaseUntil" -> {
+				Collection<Long> leased = (Collection<Long>) args[0];
+				leased.forEach(id -> rows.get(id).setNextAttemptAt((LocalDateTime) args[1]));
+				return leased.size();
+			}
+			case "deleteByIds" -> {
+				Collection<Long> deleted = (Collection<Long>) args[0];
+				deleted.forEach(rows::remove);
+				return deleted.size();
+			}
+			case "countByStatus" -> {
+				return rows.values().stream().filter(email -> email.getStatus() == args[0]).count();
+			}
+			default -> throw new UnsupportedOperationException(method.getName());
+		}
+	}
+
+	List<OutboxEmail> all() {
+		return List.copyOf(rows.values());
+	}
+}
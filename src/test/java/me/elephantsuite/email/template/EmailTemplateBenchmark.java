@@ -0,0 +1,71 @@
+package me.elephantsuite.email.template;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Renders the friend request email with a parsed template and the way it used to be done, reading the file and
+ * replacing each placeholder on every email. Run with {@code mvn test -Dbenchmarks=true -Dtest=EmailTemplateBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class EmailTemplateBenchmark {
+
+	private static final Path FILE = Path.of("src/main/resources/html/FriendEmailHtmlFile.html");
+
+	private static final Map<String, String> VALUES = Map.of("NAME", "Ann Example");
+
+	private static final int RUNS = 100_000;
+
+	@Test
+	void renderThroughput() throws IOException {
+		EmailTemplate template = EmailTemplate.parse(Files.readString(FILE));
+
+		print("parsed template", time(() -> template.render(VALUES)));
+		print("read and replace", time(() -> {
+			String html = Files.readString(FILE);
+
+			for (Map.Entry<String, String> value : VALUES.entrySet()) {
+				html = html.replace("[" + value.getKey() + "]", value.getValue());
+			}
+
+			return html;
+		}));
+	}
+
+	// renders per second, after as many warm up renders
+	private static double time(Render render) throws IOException {
+		long length = 0;
+
+		for (int i = 0; i < RUNS; i++) {
+			length += render.render().length();
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < RUNS; i++) {
+			length += render.render().length();
+		}
+
+		long elapsed = System.nanoTime() - start;
+
+		// the length keeps the JIT from dropping the renders
+		if (length == 0) {
+			throw new IllegalStateException("Nothing rendered");
+		}
+
+		return RUNS / (elapsed / 1_000_000_000.0);
+	}
+
+	private static void print(String name, double perSecond) {
+		System.out.printf("%-18s %,14.0f renders/s%n", name, perSecond);
+	}
+
+	private interface Render {
+		String render() throws IOException;
+	}
+}
@@ -0,0 +1,75 @@
+package me.elephantsuite.email.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateTest {
+
+	@Test
+	void replacesPlaceholders() {
+		EmailTemplate template = EmailTemplate.parse("<p>Hi [NAME], confirm with [TOKEN].</p>");
+
+		assertEquals("<p>Hi Ann, confirm with abc.</p>", template.render(Map.of("NAME", "Ann", "TOKEN", "abc")));
+	}
+
+	@Test
+	void keepsPlaceholdersWithoutValue() {
+		EmailTemplate template = EmailTemplate.parse("[NAME] sent you [THING]");
+
+		assertEquals("Ann sent you [THING]", template.render(Map.of("NAME", "Ann")));
+		assertEquals("[NAME] sent you [THING]", template.render(Map.of()));
+	}
+
+	@Test
+	void placeholdersAtTheEdgesAndNextToEachOther() {
+		EmailTemplate template = EmailTemplate.parse("[A][B] middle [C]");
+
+		assertEquals("12 middle 3", template.render(Map.of("A", "1", "B", "2", "C", "3")));
+	}
+
+	@Test
+	void templateWithoutPlaceholders() {
+		EmailTemplate template = EmailTemplate.parse("<p>Welcome!</p>");
+
+		assertEquals("<p>Welcome!</p>", template.render(Map.of("NAME", "Ann")));
+		assertEquals("", EmailTemplate.parse("").render(Map.of()));
+	}
+
+	@Test
+	void onlyUppercasePlaceholdersAreSlots() {
+		EmailTemplate template = EmailTemplate.parse("[name] [Name] [] [NAME]");
+
+		assertEquals("[name] [Name] [] Ann", template.render(Map.of("NAME", "Ann", "name", "x", "Name", "y")));
+	}
+
+	@Test
+	void valuesAreNotRendered() {
+		EmailTemplate template = EmailTemplate.parse("[NAME] [TOKEN]");
+
+		assertEquals("[TOKEN] abc", template.render(Map.of("NAME", "[TOKEN]", "TOKEN", "abc")));
+	}
+
+	@Test
+	void rendersShippedTemplatesLikeReplace() throws IOException {
+		Map<String, String> values = Map.of("TOKEN", "0b7e2c1a", "NAME", "Ann Example", "UUID", "6f1c9e52-0d3b-4a57-9a0e-2b1f3c4d5e6f");
+
+		try (var files = Files.list(Path.of("src/main/resources/html"))) {
+			for (Path file : files.toList()) {
+				String source = Files.readString(file);
+				String replaced = source;
+
+				for (Map.Entry<String, String> value : values.entrySet()) {
+					replaced = replaced.replace("[" + value.getKey() + "]", value.getValue());
+				}
+
+				assertEquals(replaced, EmailTemplate.parse(source).render(values), file.toString());
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package me.elephantsuite.quiz;
+
+import java.util.List;
+
+import me.elephantsuite.quiz.card.QuizCard;
+import me.elephantsuite.stats.quiz_card.QuizCardResult;
+import me.elephantsuite.util.LongObjectMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Times ordering the questions of a 1k card quiz, including building the results map the way
+ * {@code QuizCardStatisticsService.getQuizResults} does. Run with {@code mvn test -Dbenchmarks=true -Dtest=QuestionOrderingBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class QuestionOrderingBenchmark {
+
+    private static final int CARDS = 1_000;
+
+    private static final int RUNS = 10_000;
+
+    @Test
+    void order1kCards() {
+        List<QuizCard> cards = QuestionOrderingTest.cards(CARDS);
+
+        // the user answered two thirds of the quiz, half of those correctly
+        List<QuizCardResult> rows = cards
+            .stream()
+            .filter(card -> card.getId() % 3 != 0)
+            .map(card -> QuestionOrderingTest.result(card.getId(), card.getId() % 2 == 0))
+            .toList();
+
+        long checksum = 0;
+
+        for (int i = 0; i < RUNS; i++) {
+            checksum += run(cards, rows, i);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < RUNS; i++) {
+            checksum += run(cards, rows, i);
+        }
+
+        double micros = (System.nanoTime() - start) / 1_000.0 / RUNS;
+
+        // the checksum keeps the JIT from dropping the calls
+        System.out.printf("order %d cards %10.1f us (checksum %d)%n", CARDS, micros, checksum);
+    }
+
+    private static long run(List<QuizCard> cards, List<QuizCardResult> rows, long seed) {
+        LongObjectMap<QuizCardResult> results = new LongObjectMap<>(rows.size());
+
+        for (QuizCardResult row : rows) {
+            results.put(row.getQuizCardId(), row);
+        }
+
+        return QuestionOrdering.order(cards, results, seed).get(0).getId();
+    }
+}
@@ -0,0 +1,103 @@
+package me.elephantsuite.quiz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import me.elephantsuite.quiz.card.QuizCard;
+import me.elephantsuite.stats.quiz_card.QuizCardResult;
+import me.elephantsuite.util.LongObjectMap;
+import org.junit.jupiter.api.Test;
+
+class QuestionOrderingTest {
+
+    @Test
+    void sameSeedGivesTheSameOrderAndTypes() {
+        List<QuizCard> cards = cards(50);
+        List<QuizCard> reversed = new ArrayList<>(cards(50));
+        Collections.reverse(reversed);
+
+        List<String> first = describe(QuestionOrdering.order(cards, new LongObjectMap<>(), 42));
+        List<String> second = describe(QuestionOrdering.order(reversed, new LongObjectMap<>(), 42));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void differentSeedsShuffleDifferently() {
+        List<Long> first = ids(QuestionOrdering.order(cards(50), new LongObjectMap<>(), 1));
+        List<Long> second = ids(QuestionOrdering.order(cards(50), new LongObjectMap<>(), 2));
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void cardsAnsweredCorrectlyGoLast() {
+        LongObjectMap<QuizCardResult> results = new LongObjectMap<>();
+
+        for (long id = 1; id <= 20; id++) {
+            // even ids right, every third odd id wrong, the other odd ids never answered
+            if (id % 2 == 0) {
+                results.put(id, result(id, true));
+            } else if (id % 3 == 0) {
+                results.put(id, result(id, false));
+            }
+        }
+
+        List<Long> ordered = ids(QuestionOrdering.order(cards(20), results, 7));
+
+        for (int i = 0; i < ordered.size(); i++) {
+            assertEquals(i >= 10, ordered.get(i) % 2 == 0, "position " + i + " holds card " + ordered.get(i));
+        }
+    }
+
+    @Test
+    void everyCardKeepsExactlyOneQuestion() {
+        List<QuizCard> ordered = QuestionOrdering.order(cards(100), new LongObjectMap<>(), 3);
+        Set<Long> ids = new HashSet<>(ids(ordered));
+
+        assertEquals(100, ordered.size());
+        assertEquals(100, ids.size());
+        ordered.forEach(card -> assertNotNull(card.getType()));
+    }
+
+    static List<QuizCard> cards(int count) {
+        List<QuizCard> cards = new ArrayList<>(count);
+
+        for (long id = 1; id <= count; id++) {
+            QuizCard card = new QuizCard();
+            card.setId(id);
+            cards.add(card);
+        }
+
+        return cards;
+    }
+
+    static QuizCardResult result(long quizCardId, boolean answeredCorrectly) {
+        return new QuizCardResult() {
+            @Override
+            public Long getQuizCardId() {
+                return quizCardId;
+            }
+
+            @Override
+            public boolean getAnsweredCorrectly() {
+                return answeredCorrectly;
+            }
+        };
+    }
+
+    private static List<Long> ids(List<QuizCard> cards) {
+        return cards.stream().map(QuizCard::getId).toList();
+    }
+
+    private static List<String> describe(List<QuizCard> cards) {
+        return cards.stream().map(card -> card.getId() + " " + card.getType()).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package me.elephantsuite.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class NGramIndexTest {
+
+	@Test
+	void shortQueriesIgnoreCase() {
+		NGramIndex index = index();
+
+		assertEquals(Set.of(1L, 2L), matches(index, "AN"));
+		assertEquals(Set.of(1L, 2L, 3L), matches(index, "a"));
+		assertEquals(Set.of(3L), matches(index, "Hen"));
+	}
+
+	@Test
+	void longQueriesAreVerifiedAgainstTheName() {
+		NGramIndex index = index();
+
+		assertEquals(Set.of(2L), matches(index, "joanna"));
+		assertEquals(Set.of(1L, 2L), matches(index, "anna"));
+		// every trigram of "anna sale" is indexed, but no name contains it
+		assertTrue(matches(index, "anna sale").isEmpty());
+		assertTrue(matches(index, "zzzz").isEmpty());
+	}
+
+	@Test
+	void emptyQueryMatchesEverythingAndNullNothing() {
+		NGramIndex index = index();
+
+		assertEquals(Set.of(1L, 2L, 3L), matches(index, ""));
+		assertTrue(index.matches(null).isEmpty());
+	}
+
+	@Test
+	void putReplacesTheOldName() {
+		NGramIndex index = index();
+
+		index.put(1, "Bob");
+
+		assertEquals(Set.of(1L), matches(index, "bob"));
+		assertEquals(Set.of(2L), matches(index, "anna"));
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void removeAndNullNamesDropTheId() {
+		NGramIndex index = index();
+
+		index.remove(2);
+		index.put(3, null);
+
+		assertEquals(Set.of(1L), matches(index, ""));
+		assertEquals(Set.of(1L), matches(index, "an"));
+		assertEquals(1, index.size());
+
+		index.clear();
+
+		assertEquals(0, index.size());
+		assertTrue(matches(index, "a").isEmpty());
+	}
+
+	private static NGramIndex index() {
+		NGramIndex index = new NGramIndex();
+
+		index.put(1, "Anna Jones");
+		index.put(2, "Joanna Smith");
+		index.put(3, "Stephen Sale");
+
+		return index;
+	}
+
+	private static Set<Long> matches(NGramIndex index, String query) {
+		List<Long> matches = index.matches(query);
+		Set<Long> ids = new TreeSet<>(matches);
+
+		assertEquals(matches.size(), ids.size(), "duplicate matches for " + query);
+
+		return ids;
+	}
+}
@@ -0,0 +1,75 @@
+package me.elephantsuite.stats.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class CardStatisticsBatchWriterTest {
+
+	private static final Pattern PARAMETER = Pattern.compile("\\?(\\d+)");
+
+	@Test
+	void numbersEveryParameterOnceInOrder() {
+		String sql = CardStatisticsBatchWriter.upsertSql(3);
+
+		List<Integer> parameters = parameters(sql);
+
+		assertEquals(24, parameters.size());
+
+		for (int i = 0; i < parameters.size(); i++) {
+			assertEquals(i + 1, (int) parameters.get(i));
+		}
+	}
+
+	@Test
+	void everyRowHasAValueForEveryColumn() {
+		String sql = CardStatisticsBatchWriter.upsertSql(2);
+
+		int columns = sql.substring(sql.indexOf('(') + 1, sql.indexOf(')')).split(",").length;
+		String values = sql.substring(sql.indexOf("VALUES ") + 7, sql.indexOf(" ON CONFLICT"));
+
+		// rows are "(nextval('card_statistics_sequence'), ?1, ...)", split between them
+		String[] rows = values.split("\\), \\(");
+
+		assertEquals(2, rows.length);
+
+		for (String row : rows) {
+			// the sequence call has a comma free argument, so commas separate the values
+			assertEquals(columns, row.split(",").length, row);
+		}
+	}
+
+	@Test
+	void addsCountsAndOverwritesSchedule() {
+		String sql = CardStatisticsBatchWriter.upsertSql(1);
+
+		assertTrue(sql.contains("ON CONFLICT (user_id, card_id) DO UPDATE SET"));
+		assertTrue(sql.contains("answered_right = card_statistics.answered_right + EXCLUDED.answered_right"));
+		assertTrue(sql.contains("answered_wrong = card_statistics.answered_wrong + EXCLUDED.answered_wrong"));
+		assertTrue(sql.contains("next_due_at = EXCLUDED.next_due_at"));
+	}
+
+	@Test
+	void fullStatementStaysUnderTheBindParameterLimit() {
+		List<Integer> parameters = parameters(CardStatisticsBatchWriter.upsertSql(500));
+
+		assertTrue(parameters.get(parameters.size() - 1) < Short.MAX_VALUE);
+	}
+
+	private static List<Integer> parameters(String sql) {
+		List<Integer> parameters = new ArrayList<>();
+		Matcher matcher = PARAMETER.matcher(sql);
+
+		while (matcher.find()) {
+			parameters.add(Integer.parseInt(matcher.group(1)));
+		}
+
+		return parameters;
+	}
+}
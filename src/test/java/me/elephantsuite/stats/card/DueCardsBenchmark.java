@@ -0,0 +1,139 @@
+package me.elephantsuite.stats.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import jakarta.persistence.EntityManager;
+import me.elephantsuite.deck.Deck;
+import me.elephantsuite.deck.DeckRepositoryService;
+import me.elephantsuite.deck.DeckVisibility;
+import me.elephantsuite.deck.card.CardService;
+import me.elephantsuite.deck.controller.DeckService;
+import me.elephantsuite.user.ElephantUser;
+import me.elephantsuite.user.ElephantUserService;
+import me.elephantsuite.user.ElephantUserType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Times the due card listing of a user with 100k card statistics against the configured database, for a deck with
+ * about half of its 1k cards due and for a sparse deck of 20 cards none of which are due. Walking the user's due index
+ * reads every due row of the user before it gives up on the sparse deck, walking the deck's cards reads 20. Everything
+ * it writes is rolled back. Run with {@code mvn test -Dbenchmarks=true -Dtest=DueCardsBenchmark}.
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class DueCardsBenchmark {
+
+	private static final int STATISTICS = 100_000;
+
+	private static final int DECK_CARDS = 1_000;
+
+	private static final int SPARSE_DECK_CARDS = 20;
+
+	private static final int RUNS = 1_000;
+
+	@Autowired
+	private ElephantUserService userService;
+
+	@Autowired
+	private DeckRepositoryService deckService;
+
+	@Autowired
+	private CardService cardService;
+
+	@Autowired
+	private CardStatisticsService cardStatisticsService;
+
+	@Autowired
+	private CardStatisticsRepository cardStatisticsRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void dueCardsOfAUserWith100kStatistics() {
+		ElephantUser user = userService.saveUser(new ElephantUser("Due", "Cards", "due-cards-benchmark@elephantsuite.me", "password", ElephantUserType.STUDENT, 1, 0));
+
+		long deckId = createDeck(user, "Due Cards Benchmark", DECK_CARDS);
+		long sparseDeckId = createDeck(user, "Sparse Due Cards Benchmark", SPARSE_DECK_CARDS);
+		long userId = user.getId();
+
+		// the deck's cards due from 30 days ago to 30 days ahead, the sparse deck's cards not for another 30 to 60 days
+		insertDeckStatistics(userId, deckId, "random() * 60 - 30");
+		insertDeckStatistics(userId, sparseDeckId, "30 + random() * 30");
+
+		// cards of other decks, card ids of statistics are not foreign keys
+		jdbcTemplate.update("INSERT INTO card_statistics (id, user_id, card_id, answered_right, answered_wrong, next_due_at, ease, interval_days, repetitions) " +
+			"SELECT nextval('card_statistics_sequence'), ?, -g, 1, 0, now() + (random() * 60 - 30) * interval '1 day', 2.5, 1, 1 FROM generate_series(1, ?) g",
+			userId, STATISTICS - DECK_CARDS - SPARSE_DECK_CARDS);
+		jdbcTemplate.execute("ANALYZE card_statistics");
+		jdbcTemplate.execute("ANALYZE deck_cards");
+
+		print("due, limit 20", run(now -> cardStatisticsService.getDueCardIds(userId, deckId, now, 20)));
+		print("due, limit 200", run(now -> cardStatisticsService.getDueCardIds(userId, deckId, now, 200)));
+		print("due, due index", run(now -> cardStatisticsRepository.getDueCardIds(userId, deckId, now, 20)));
+		print("sparse, limit 20", run(now -> cardStatisticsService.getDueCardIds(userId, sparseDeckId, now, 20)));
+		print("sparse, due index", run(now -> cardStatisticsRepository.getDueCardIds(userId, sparseDeckId, now, 20)));
+		print("new, limit 20", run(now -> cardStatisticsService.getNewCardIds(userId, deckId, 20)));
+
+		System.out.println(String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE SELECT s.card_id FROM deck_cards dc JOIN card_statistics s ON s.user_id = ? AND s.card_id = dc.cards_id " +
+			"WHERE dc.deck_id = ? AND s.next_due_at <= now() ORDER BY s.next_due_at LIMIT 20", String.class, userId, sparseDeckId)));
+
+		assertEquals(STATISTICS, jdbcTemplate.queryForObject("SELECT count(*) FROM card_statistics WHERE user_id = ?", Long.class, userId));
+	}
+
+	private long createDeck(ElephantUser user, String name, int cards) {
+		Deck deck = new Deck(null, user, name, DeckVisibility.PRIVATE);
+		Map<String, List<String>> terms = IntStream
+			.range(0, cards)
+			.boxed()
+			.collect(Collectors.toMap(i -> name + " term " + i, i -> List.of("definition " + i), (a, b) -> a));
+
+		deck.setCards(DeckService.convertToCards(terms, deck, cardService));
+		long deckId = deckService.saveDeck(deck).getId();
+		entityManager.flush();
+
+		return deckId;
+	}
+
+	// one statistic per card of the deck, due dueInDays (an SQL expression) from now
+	private void insertDeckStatistics(long userId, long deckId, String dueInDays) {
+		jdbcTemplate.update("INSERT INTO card_statistics (id, user_id, card_id, answered_right, answered_wrong, next_due_at, ease, interval_days, repetitions) " +
+			"SELECT nextval('card_statistics_sequence'), ?, dc.cards_id, 1, 0, now() + (" + dueInDays + ") * interval '1 day', 2.5, 1, 1 FROM deck_cards dc WHERE dc.deck_id = ?",
+			userId, deckId);
+	}
+
+	// microseconds per call, after as many warm up calls
+	private static double run(Function<LocalDateTime, List<Long>> query) {
+		for (int i = 0; i < RUNS; i++) {
+			query.apply(LocalDateTime.now());
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < RUNS; i++) {
+			query.apply(LocalDateTime.now());
+		}
+
+		return (System.nanoTime() - start) / 1_000.0 / RUNS;
+	}
+
+	private static void print(String name, double micros) {
+		System.out.printf("%-16s %10.1f us%n", name, micros);
+	}
+}
@@ -0,0 +1,88 @@
+package me.elephantsuite.stats.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class SpacedRepetitionTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2022, 8, 1, 12, 0);
+
+	private static final int RELEARN_MINUTES = 10;
+
+	@Test
+	void rightAnswersGrowTheInterval() {
+		CardStatistics stats = new CardStatistics(1, 1);
+
+		SpacedRepetition.review(stats, true, NOW, RELEARN_MINUTES);
+
+		assertEquals(1, stats.getRepetitions());
+		assertEquals(1, stats.getIntervalDays());
+		assertEquals(NOW.plusDays(1), stats.getNextDueAt());
+
+		SpacedRepetition.review(stats, true, NOW, RELEARN_MINUTES);
+
+		assertEquals(2, stats.getRepetitions());
+		assertEquals(6, stats.getIntervalDays());
+		assertEquals(NOW.plusDays(6), stats.getNextDueAt());
+
+		SpacedRepetition.review(stats, true, NOW, RELEARN_MINUTES);
+
+		assertEquals(3, stats.getRepetitions());
+		assertEquals(15, stats.getIntervalDays());
+		assertEquals(NOW.plusDays(15), stats.getNextDueAt());
+	}
+
+	@Test
+	void rightAnswerKeepsTheEase() {
+		CardStatistics stats = new CardStatistics(1, 1);
+
+		SpacedRepetition.review(stats, true, NOW, RELEARN_MINUTES);
+
+		assertEquals(SpacedRepetition.INITIAL_EASE, stats.getEase(), 1e-9);
+	}
+
+	@Test
+	void wrongAnswerResetsAndRelearns() {
+		CardStatistics stats = new CardStatistics(1, 1);
+
+		SpacedRepetition.review(stats, true, NOW, RELEARN_MINUTES);
+		SpacedRepetition.review(stats, true, NOW, RELEARN_MINUTES);
+		SpacedRepetition.review(stats, false, NOW, RELEARN_MINUTES);
+
+		assertEquals(0, stats.getRepetitions());
+		assertEquals(0, stats.getIntervalDays());
+		assertEquals(NOW.plusMinutes(RELEARN_MINUTES), stats.getNextDueAt());
+		assertEquals(SpacedRepetition.INITIAL_EASE - 0.54, stats.getEase(), 1e-9);
+
+		// relearning starts over at one day
+		SpacedRepetition.review(stats, true, NOW, RELEARN_MINUTES);
+
+		assertEquals(1, stats.getIntervalDays());
+	}
+
+	@Test
+	void easeNeverDropsBelowTheMinimum() {
+		CardStatistics stats = new CardStatistics(1, 1);
+
+		for (int i = 0; i < 10; i++) {
+			SpacedRepetition.review(stats, false, NOW, RELEARN_MINUTES);
+		}
+
+		assertEquals(SpacedRepetition.MIN_EASE, stats.getEase(), 1e-9);
+	}
+
+	@Test
+	void reviewCountsTheAnswer() {
+		CardStatistics stats = new CardStatistics(1, 1);
+
+		stats.review(true, NOW, RELEARN_MINUTES);
+		stats.review(false, NOW, RELEARN_MINUTES);
+		stats.review(true, NOW, RELEARN_MINUTES);
+
+		assertEquals(2, stats.getAnsweredRight());
+		assertEquals(1, stats.getAnsweredWrong());
+	}
+}
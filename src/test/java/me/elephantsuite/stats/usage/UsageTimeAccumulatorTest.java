@@ -0,0 +1,157 @@
+package me.elephantsuite.stats.usage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class UsageTimeAccumulatorTest {
+
+	private final RecordingWriter writer = new RecordingWriter();
+
+	private final UsageTimeAccumulator accumulator = new UsageTimeAccumulator(writer);
+
+	@AfterEach
+	void endTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	void flushWritesOneTotalPerUser() {
+		accumulator.add(1, 10);
+		accumulator.add(1, 5);
+		accumulator.add(2, 3);
+
+		accumulator.flush();
+
+		assertEquals(List.of(Map.of(1L, 15.0, 2L, 3.0)), writer.writes);
+	}
+
+	@Test
+	void flushDrainsTheTotals() {
+		accumulator.add(1, 10);
+
+		accumulator.flush();
+		accumulator.flush();
+
+		assertEquals(1, writer.writes.size());
+	}
+
+	@Test
+	void onlyPositiveUsageTimeIsAccepted() {
+		assertEquals(10.0, accumulator.add(1, 10));
+		assertEquals(0.0, accumulator.add(1, 0));
+		assertEquals(0.0, accumulator.add(1, -5));
+		assertEquals(0.0, accumulator.add(1, Double.NaN));
+		assertEquals(0.0, accumulator.add(1, Double.POSITIVE_INFINITY));
+
+		accumulator.flush();
+
+		assertEquals(List.of(Map.of(1L, 10.0)), writer.writes);
+	}
+
+	@Test
+	void failedWriteIsRequeued() {
+		accumulator.add(1, 10);
+
+		writer.failures = 1;
+		accumulator.flush();
+
+		assertTrue(writer.writes.isEmpty());
+
+		accumulator.add(1, 5);
+		accumulator.flush();
+
+		assertEquals(List.of(Map.of(1L, 15.0)), writer.writes);
+	}
+
+	@Test
+	void flushingOneUserLeavesTheOthers() {
+		accumulator.add(1, 10);
+		accumulator.add(2, 3);
+
+		accumulator.flush(1);
+
+		assertEquals(List.of(Map.of(1L, 10.0)), writer.writes);
+
+		accumulator.flush();
+
+		assertEquals(Map.of(2L, 3.0), writer.writes.get(1));
+	}
+
+	@Test
+	void rolledBackWriteIsRequeued() {
+		accumulator.add(1, 10);
+
+		List<TransactionSynchronization> synchronizations = flushInTransaction(1);
+
+		assertEquals(List.of(Map.of(1L, 10.0)), writer.writes);
+
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		accumulator.flush();
+
+		assertEquals(List.of(Map.of(1L, 10.0), Map.of(1L, 10.0)), writer.writes);
+	}
+
+	@Test
+	void committedWriteIsNotRequeued() {
+		accumulator.add(1, 10);
+
+		List<TransactionSynchronization> synchronizations = flushInTransaction(1);
+
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		accumulator.flush();
+
+		assertEquals(1, writer.writes.size());
+	}
+
+	// flushes the user inside a transaction and ends it, returning what is to run after completion
+	private List<TransactionSynchronization> flushInTransaction(long userId) {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		accumulator.flush(userId);
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+
+		return synchronizations;
+	}
+
+	// records the deltas it is asked to write, failing the first failures writes
+	private static class RecordingWriter extends UsageTimeWriter {
+
+		private final List<Map<Long, Double>> writes = new ArrayList<>();
+
+		private int failures;
+
+		private RecordingWriter() {
+			super(null);
+		}
+
+		@Override
+		public int addUsageTimes(Map<Long, Double> deltas) {
+			if (failures > 0) {
+				failures--;
+				throw new IllegalStateException("connection lost");
+			}
+
+			writes.add(Map.copyOf(deltas));
+
+			return deltas.size();
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package me.elephantsuite.stats.usage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class UsageTimeWriterTest {
+
+	@Test
+	void oneUser() {
+		assertEquals("UPDATE elephant_user_statistics s SET usage_time = s.usage_time + v.delta FROM (VALUES (CAST(?1 AS bigint), CAST(?2 AS float8))) " +
+			"AS v(user_id, delta) WHERE s.elephant_user_id = v.user_id", UsageTimeWriter.addUsageTimesSql(1));
+	}
+
+	@Test
+	void pairsAreNumberedInOrder() {
+		String sql = UsageTimeWriter.addUsageTimesSql(3);
+
+		assertTrue(sql.contains("VALUES (CAST(?1 AS bigint), CAST(?2 AS float8)), (CAST(?3 AS bigint), CAST(?4 AS float8)), (CAST(?5 AS bigint), CAST(?6 AS float8))) AS v"));
+	}
+}
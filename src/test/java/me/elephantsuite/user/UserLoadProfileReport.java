@@ -0,0 +1,177 @@
+package me.elephantsuite.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import jakarta.persistence.EntityManagerFactory;
+import me.elephantsuite.deck.Deck;
+import me.elephantsuite.deck.DeckRepositoryService;
+import me.elephantsuite.deck.DeckVisibility;
+import me.elephantsuite.deck.card.CardService;
+import me.elephantsuite.deck.controller.DeckService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Prints the SQL statements and response bytes of fetching one user with each {@link UserLoadProfile}, then of the
+ * endpoints that return the user with their own profile, against the configured database. FULL is what every one of
+ * these requests used to load and write when all associations were eager. The users it creates are deleted afterwards.
+ * Run with {@code mvn test -Dbenchmarks=true -Dtest=UserLoadProfileReport}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class UserLoadProfileReport {
+
+	private static final int DECKS = 5;
+
+	private static final int CARDS_PER_DECK = 50;
+
+	private static final int FRIENDS = 20;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ElephantUserService userService;
+
+	@Autowired
+	private DeckRepositoryService deckService;
+
+	@Autowired
+	private CardService cardService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void sqlAndBytesPerProfile() throws Exception {
+		long userId = transactionTemplate.execute(status -> createUser("load-profile-report@elephantsuite.me", true));
+		long friendId = transactionTemplate.execute(status -> createUser("load-profile-report-friend@elephantsuite.me", false));
+		long cardId = transactionTemplate.execute(status -> userService.getUserById(userId).getDecks().get(0).getCards().get(0).getId());
+
+		try {
+			System.out.printf("%-40s %-8s %10s %10s%n", "endpoint", "profile", "statements", "bytes");
+
+			for (UserLoadProfile profile : UserLoadProfile.values()) {
+				String path = "/login/user?id=" + userId + "&profile=" + profile;
+				String json = report("GET /login/user?profile=" + profile, profile, get(path));
+
+				// the profile alone decides the payload
+				assertEquals(json, fetch(get(path)));
+			}
+
+			report("POST /statistics/statsOnLogin", UserLoadProfile.STATS, post("/statistics/statsOnLogin?id=" + userId));
+			report("POST /answers/setUserTags", UserLoadProfile.STATS, json(post("/answers/setUserTags"), "{\"userId\": " + userId + ", \"tags\": [1, 2]}"));
+			report("PUT /friends/add", UserLoadProfile.SOCIAL, json(put("/friends/add"), "{\"userId\": " + userId + ", \"friendId\": " + friendId + "}"));
+			report("DELETE /friends/remove", UserLoadProfile.SOCIAL, json(delete("/friends/remove"), "{\"userId\": " + userId + ", \"friendId\": " + friendId + "}"));
+			report("PUT /song/like", UserLoadProfile.SOCIAL, json(put("/song/like"), "{\"userId\": " + userId + ", \"songName\": \"Load Profile Report\"}"));
+			report("DELETE /song/unlike", UserLoadProfile.SOCIAL, json(delete("/song/unlike"), "{\"userId\": " + userId + ", \"songName\": \"Load Profile Report\"}"));
+			report("PUT /backpack/addCard", UserLoadProfile.LIBRARY, json(put("/backpack/addCard"), "{\"userId\": " + userId + ", \"cardId\": " + cardId + "}"));
+			report("DELETE /backpack/removeCard", UserLoadProfile.LIBRARY, json(delete("/backpack/removeCard"), "{\"userId\": " + userId + ", \"cardId\": " + cardId + "}"));
+			report("POST /misc/countryCode", UserLoadProfile.SUMMARY, json(post("/misc/countryCode"), "{\"userId\": " + userId + ", \"countryCode\": 1}"));
+		} finally {
+			transactionTemplate.executeWithoutResult(status -> {
+				deleteUser(userId);
+				deleteUser(friendId);
+			});
+		}
+
+		assertFalse(transactionTemplate.execute(status -> userService.getUserById(userId) != null));
+	}
+
+	// prints the statements and bytes of the request and checks the user in the response was written with the profile
+	private String report(String endpoint, UserLoadProfile profile, MockHttpServletRequestBuilder request) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		String json = fetch(request);
+		long statements = statistics.getPrepareStatementCount();
+
+		System.out.printf("%-40s %-8s %10d %10d%n", endpoint, profile, statements, json.length());
+
+		assertEquals(profile.includes("decks"), json.contains("\"decks\""), endpoint);
+		assertEquals(profile.includes("friendIds"), json.contains("\"friendIds\""), endpoint);
+		assertEquals(profile.includes("elephantUserStatistics"), json.contains("\"elephantUserStatistics\""), endpoint);
+
+		return json;
+	}
+
+	private String fetch(MockHttpServletRequestBuilder request) throws Exception {
+		String json = mockMvc
+			.perform(request)
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		assertTrue(json.contains("SUCCESS"), json);
+
+		return json;
+	}
+
+	private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+		return request.contentType(MediaType.APPLICATION_JSON).content(body);
+	}
+
+	private long createUser(String email, boolean withAccount) {
+		ElephantUser user = new ElephantUser("Load", "Profiles", email, "password", ElephantUserType.STUDENT, 1, 0);
+		user.setEnabled(true);
+
+		if (!withAccount) {
+			return userService.saveUser(user).getId();
+		}
+
+		// friends are plain ids, they do not need to exist
+		for (long friendId = 1; friendId <= FRIENDS; friendId++) {
+			user.getFriendIds().add(-friendId);
+		}
+
+		user = userService.saveUser(user);
+
+		for (int i = 0; i < DECKS; i++) {
+			Deck deck = new Deck(null, user, "Load Profile Report " + i, DeckVisibility.PRIVATE);
+			Map<String, List<String>> terms = IntStream
+				.range(0, CARDS_PER_DECK)
+				.boxed()
+				.collect(Collectors.toMap(card -> "term " + card, card -> List.of("definition " + card), (a, b) -> a));
+
+			deck.setCards(DeckService.convertToCards(terms, deck, cardService));
+			user.getDecks().add(deckService.saveDeck(deck));
+		}
+
+		return user.getId();
+	}
+
+	private void deleteUser(long userId) {
+		ElephantUser user = userService.getUserById(userId);
+
+		for (Deck deck : List.copyOf(user.getDecks())) {
+			deckService.deleteDeck(deck, cardService);
+		}
+
+		user.getDecks().clear();
+		userService.deleteUser(user);
+	}
+}
@@ -0,0 +1,56 @@
+package me.elephantsuite.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.junit.jupiter.api.Test;
+
+class UserLoadProfileTest {
+
+	// a lazy association no profile knows would be written for no user at all
+	@Test
+	void everyLazyAssociationBelongsToAProfile() {
+		for (Field field : ElephantUser.class.getDeclaredFields()) {
+			OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+			boolean lazy = field.isAnnotationPresent(ElementCollection.class)
+				|| field.isAnnotationPresent(OneToMany.class)
+				|| oneToOne != null && oneToOne.fetch() == FetchType.LAZY;
+
+			assertEquals(lazy, UserLoadProfile.isAssociation(field.getName()), field.getName());
+		}
+	}
+
+	@Test
+	void fullIncludesEveryProfile() {
+		for (Field field : ElephantUser.class.getDeclaredFields()) {
+			for (UserLoadProfile profile : UserLoadProfile.values()) {
+				if (profile.includes(field.getName())) {
+					assertTrue(UserLoadProfile.FULL.includes(field.getName()), profile + " " + field.getName());
+				}
+			}
+
+			assertFalse(UserLoadProfile.SUMMARY.includes(field.getName()), field.getName());
+		}
+	}
+
+	@Test
+	void usersAreSummariesUntilLoaded() {
+		ElephantUser user = new ElephantUser();
+
+		assertSame(UserLoadProfile.SUMMARY, user.getLoadProfile());
+		assertSame(user, UserLoadProfile.SOCIAL.load(user));
+		assertSame(UserLoadProfile.SOCIAL, user.getLoadProfile());
+
+		UserLoadProfile.LIBRARY.load(user);
+
+		assertSame(UserLoadProfile.LIBRARY, user.getLoadProfile());
+	}
+}
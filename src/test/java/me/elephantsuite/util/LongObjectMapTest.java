@@ -0,0 +1,112 @@
+package me.elephantsuite.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LongObjectMapTest {
+
+	@Test
+	void putAndGet() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+
+		assertNull(map.put(1, "one"));
+		assertNull(map.put(2, "two"));
+
+		assertEquals("one", map.get(1));
+		assertEquals("two", map.get(2));
+		assertNull(map.get(3));
+		assertEquals(2, map.size());
+	}
+
+	@Test
+	void putReplacesAndReturnsTheOldValue() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+
+		map.put(7, "old");
+
+		assertEquals("old", map.put(7, "new"));
+		assertEquals("new", map.get(7));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	void zeroAndNegativeKeys() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+
+		assertFalse(map.containsKey(0));
+
+		map.put(0, "zero");
+		map.put(-1, "minus one");
+		map.put(Long.MIN_VALUE, "min");
+
+		assertEquals("zero", map.get(0));
+		assertEquals("minus one", map.get(-1));
+		assertEquals("min", map.get(Long.MIN_VALUE));
+	}
+
+	@Test
+	void nullValuesAreKeys() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+
+		map.put(5, null);
+
+		assertTrue(map.containsKey(5));
+		assertNull(map.get(5));
+		assertEquals("default", map.getOrDefault(5, "default"));
+		assertEquals("default", map.getOrDefault(6, "default"));
+	}
+
+	@Test
+	void growsPastTheExpectedSize() {
+		LongObjectMap<Long> map = new LongObjectMap<>(0);
+		Map<Long, Long> expected = new HashMap<>();
+
+		// sequential ids and ids sharing their low bits
+		for (long i = 0; i < 10_000; i++) {
+			map.put(i, i * 2);
+			map.put(i << 32, i);
+			expected.put(i, i * 2);
+			expected.put(i << 32, i);
+		}
+
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+	}
+
+	@Test
+	void forEachVisitsEveryEntryOnce() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+		Map<Long, String> visited = new HashMap<>();
+
+		for (long i = 0; i < 100; i++) {
+			map.put(i, "value " + i);
+		}
+
+		map.forEach((key, value) -> assertNull(visited.put(key, value)));
+
+		assertEquals(100, visited.size());
+		assertEquals("value 42", visited.get(42L));
+	}
+
+	@Test
+	void clearEmptiesTheMap() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+
+		map.put(1, "one");
+		map.clear();
+
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(1));
+
+		map.put(1, "again");
+
+		assertEquals("again", map.get(1));
+	}
+}